@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf.benchmarks;
+
+import com.rarysoft.bf.BF;
+import com.rarysoft.bf.BatchResult;
+import com.rarysoft.bf.BatchRunner;
+import com.rarysoft.bf.StringInput;
+import com.rarysoft.bf.Unsigned8BitMemory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to run one program against a batch of inputs, once by creating a
+ * new interpreter for each input in turn, and once with a {@link BatchRunner}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+    private static final String CODE = ",[>++++++++[<++++>-]<.,]";
+
+    @Param({ "1000" })
+    public int inputs;
+
+    private List<String> data;
+    private BatchRunner runner;
+
+    /**
+     * Creates the inputs, each a line of text ending with 0, and a runner for the program.
+     */
+    @Setup
+    public void setUp() {
+        data = new ArrayList<>();
+        for (int index = 0; index < inputs; index ++) {
+            data.add("the quick brown fox jumps over the lazy dog " + index + "\0");
+        }
+        runner = BatchRunner.of(CODE);
+    }
+
+    /**
+     * Compiles and runs the program for each input in turn with a new interpreter.
+     *
+     * @return A checksum of the output, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public int serial() {
+        int[] checksum = new int[1];
+        for (String input : data) {
+            new BF(new StringInput(input, true), value -> checksum[0] += value, new Unsigned8BitMemory()).run(CODE);
+        }
+        return checksum[0];
+    }
+
+    /**
+     * Runs the program for every input with the batch runner.
+     *
+     * @return A checksum of the output, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public int batch() {
+        int checksum = 0;
+        for (BatchResult result : runner.runStrings(data)) {
+            for (int value : result.values()) {
+                checksum += value;
+            }
+        }
+        return checksum;
+    }
+}
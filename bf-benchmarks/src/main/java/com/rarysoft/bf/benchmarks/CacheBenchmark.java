@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf.benchmarks;
+
+import com.rarysoft.bf.BF;
+import com.rarysoft.bf.NullInput;
+import com.rarysoft.bf.ProgramCache;
+import com.rarysoft.bf.Unsigned8BitMemory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to run a mix of short programs, each of which is run many times,
+ * once by compiling every program on every run, and once with a {@link ProgramCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+    @Param({ "100" })
+    public int programs;
+
+    private List<String> codes;
+    private ProgramCache cache;
+
+    /**
+     * Creates the programs, each of which prints a few characters, and a cache large enough to
+     * hold all of them.
+     */
+    @Setup
+    public void setUp() {
+        codes = new ArrayList<>();
+        for (int index = 0; index < programs; index ++) {
+            codes.add("print " + index + ": ++++++++[>++++++++<-]>" + repeat('+', index % 26) + ".+.+.[-]<");
+        }
+        cache = new ProgramCache(programs);
+    }
+
+    /**
+     * Compiles and runs every program with a new interpreter.
+     *
+     * @return A checksum of the output, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public int uncached() {
+        int[] checksum = new int[1];
+        for (String code : codes) {
+            new BF(new NullInput(), value -> checksum[0] += value, new Unsigned8BitMemory()).run(code);
+        }
+        return checksum[0];
+    }
+
+    /**
+     * Runs every program with a new interpreter, compiling each program only the first time.
+     *
+     * @return A checksum of the output, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public int cached() {
+        int[] checksum = new int[1];
+        for (String code : codes) {
+            new BF(new NullInput(), value -> checksum[0] += value, new Unsigned8BitMemory()).execute(cache.compile(code));
+        }
+        return checksum[0];
+    }
+
+    private static String repeat(char command, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int index = 0; index < count; index ++) {
+            builder.append(command);
+        }
+        return builder.toString();
+    }
+}
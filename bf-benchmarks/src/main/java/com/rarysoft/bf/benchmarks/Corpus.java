@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Loads the brainfuck programs that the benchmarks run. The programs bundled with the benchmarks
+ * are referred to by name, such as <code>squares</code>, and any other program can be run by
+ * passing its file name as a benchmark parameter instead, for example
+ * <code>-p program=/path/to/mandelbrot.b</code>. Every bundled program leaves each cell it uses at
+ * 0 and the pointer where it started, so it can be run again and again against the same memory.
+ */
+final class Corpus {
+    private Corpus() {
+    }
+
+    /**
+     * Loads a program, either from the bundled corpus or from a file.
+     *
+     * @param name The name of a bundled program, or the name of a file.
+     * @return The brainfuck code.
+     */
+    static String load(String name) {
+        try (InputStream resource = Corpus.class.getResourceAsStream("/corpus/" + name + ".b")) {
+            if (resource == null) {
+                return new String(Files.readAllBytes(Paths.get(name)), StandardCharsets.UTF_8);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int count;
+            while ((count = resource.read(buffer)) >= 0) {
+                bytes.write(buffer, 0, count);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Unable to load program " + name, e);
+        }
+    }
+}
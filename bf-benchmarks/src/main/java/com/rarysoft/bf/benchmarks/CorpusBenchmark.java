@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf.benchmarks;
+
+import com.rarysoft.bf.BF;
+import com.rarysoft.bf.BFExecutor;
+import com.rarysoft.bf.BFOptimizer;
+import com.rarysoft.bf.BytecodeBF;
+import com.rarysoft.bf.IndexedLooper;
+import com.rarysoft.bf.NullInput;
+import com.rarysoft.bf.Output;
+import com.rarysoft.bf.Program;
+import com.rarysoft.bf.Unsigned8BitMemory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to run each program in the corpus. The <code>run</code> benchmark
+ * measures {@link BF#run(String)} from scratch, including compiling the code and allocating the
+ * memory, while the <code>execute</code> benchmarks measure a program that has already been
+ * compiled, once for each engine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CorpusBenchmark {
+    @Param({ "hello-world", "squares", "nested-loops" })
+    public String program;
+
+    private String code;
+    private int checksum;
+    private Output output;
+    private BF bf;
+    private Program compiled;
+    private BF executorBF;
+    private BytecodeBF bytecodeBF;
+    private Program bytecodeCompiled;
+
+    /**
+     * Loads the program and prepares an instance of each engine with the program compiled.
+     */
+    @Setup
+    public void setUp() {
+        code = Corpus.load(program);
+        output = value -> checksum += value;
+        bf = new BF(new NullInput(), output, new Unsigned8BitMemory());
+        compiled = bf.compile(code);
+        executorBF = new BF(new BFExecutor(new NullInput(), output, new Unsigned8BitMemory(), 0), new IndexedLooper(), new BFOptimizer());
+        bytecodeBF = new BytecodeBF(new NullInput(), output, new Unsigned8BitMemory());
+        bytecodeCompiled = bytecodeBF.compile(code);
+    }
+
+    /**
+     * Compiles and runs the program with a new interpreter.
+     *
+     * @return A checksum of the output, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public int run() {
+        new BF(new NullInput(), output, new Unsigned8BitMemory()).run(code);
+        return checksum;
+    }
+
+    /**
+     * Executes the compiled program with the interpreter.
+     *
+     * @return A checksum of the output, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public int execute() {
+        bf.execute(compiled);
+        return checksum;
+    }
+
+    /**
+     * Executes the compiled program with an interpreter that performs every instruction through
+     * the {@link BFExecutor}, rather than working on the memory's cells directly.
+     *
+     * @return A checksum of the output, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public int executeExecutor() {
+        executorBF.execute(compiled);
+        return checksum;
+    }
+
+    /**
+     * Executes the compiled program as a generated class.
+     *
+     * @return A checksum of the output, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public int executeBytecode() {
+        bytecodeBF.execute(bytecodeCompiled);
+        return checksum;
+    }
+}
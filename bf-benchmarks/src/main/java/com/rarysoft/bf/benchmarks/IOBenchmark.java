@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf.benchmarks;
+
+import com.rarysoft.bf.ConcurrentPipe;
+import com.rarysoft.bf.FileInput;
+import com.rarysoft.bf.FileOutput;
+import com.rarysoft.bf.Pipe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the file and pipe implementations of input and output, by reading or
+ * writing a fixed number of values in each operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IOBenchmark {
+    @Param({ "1000", "100000" })
+    public int values;
+
+    private File inputFile;
+    private File outputFile;
+
+    /**
+     * Creates a file to read values from, and a file to write values to.
+     *
+     * @throws IOException If the files can not be created.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        inputFile = File.createTempFile("bf-input", ".bin");
+        byte[] data = new byte[values];
+        for (int index = 0; index < values; index ++) {
+            data[index] = (byte) index;
+        }
+        Files.write(inputFile.toPath(), data);
+        outputFile = File.createTempFile("bf-output", ".bin");
+    }
+
+    /**
+     * Deletes the files.
+     */
+    @TearDown
+    public void tearDown() {
+        inputFile.delete();
+        outputFile.delete();
+    }
+
+    /**
+     * Reads every value from the input file.
+     *
+     * @return The sum of the values read.
+     */
+    @Benchmark
+    public int fileInput() {
+        try (FileInput input = new FileInput(inputFile.getPath(), true)) {
+            int sum = 0;
+            for (int index = 0; index < values; index ++) {
+                sum += input.read();
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Writes the values to the output file, and closes it so that every value reaches the file.
+     *
+     * @return The output, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public FileOutput fileOutput() {
+        try (FileOutput output = new FileOutput(outputFile.getPath())) {
+            for (int index = 0; index < values; index ++) {
+                output.write(index & 0xFF);
+            }
+            return output;
+        }
+    }
+
+    /**
+     * Reads every value from the input file in blocks of up to 4,096 bytes.
+     *
+     * @return The sum of the values read.
+     */
+    @Benchmark
+    public int fileInputBlocks() {
+        try (FileInput input = new FileInput(inputFile.getPath(), true)) {
+            byte[] block = new byte[4096];
+            int sum = 0;
+            int count;
+            while ((count = input.read(block, 0, block.length)) > 0) {
+                for (int index = 0; index < count; index ++) {
+                    sum += block[index] & 0xFF;
+                }
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Writes the values to the output file in blocks of up to 4,096 bytes, and closes it.
+     *
+     * @return The output, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public FileOutput fileOutputBlocks() {
+        try (FileOutput output = new FileOutput(outputFile.getPath())) {
+            byte[] block = new byte[4096];
+            for (int start = 0; start < values; start += block.length) {
+                int count = Math.min(block.length, values - start);
+                for (int index = 0; index < count; index ++) {
+                    block[index] = (byte) (start + index);
+                }
+                output.write(block, 0, count);
+            }
+            return output;
+        }
+    }
+
+    /**
+     * Writes the values to a pipe, then reads them all back.
+     *
+     * @return The sum of the values read.
+     */
+    @Benchmark
+    public int pipe() {
+        Pipe pipe = new Pipe(true);
+        for (int index = 0; index < values; index ++) {
+            pipe.write(index & 0xFF);
+        }
+        int sum = 0;
+        for (int index = 0; index < values; index ++) {
+            sum += pipe.read();
+        }
+        return sum;
+    }
+
+    /**
+     * Writes the values to a concurrent pipe on a separate thread, while reading them all back on
+     * this thread.
+     *
+     * @return The sum of the values read.
+     * @throws InterruptedException If the writing thread is interrupted.
+     */
+    @Benchmark
+    public int concurrentPipe() throws InterruptedException {
+        ConcurrentPipe pipe = new ConcurrentPipe();
+        Thread writer = new Thread(() -> {
+            for (int index = 0; index < values; index ++) {
+                pipe.write(index & 0xFF);
+            }
+            pipe.close();
+        });
+        writer.start();
+        int sum = 0;
+        for (int index = 0; index < values; index ++) {
+            sum += pipe.read();
+        }
+        writer.join();
+        return sum;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf.benchmarks;
+
+import com.rarysoft.bf.BFLooper;
+import com.rarysoft.bf.BFCompiler;
+import com.rarysoft.bf.IndexedLooper;
+import com.rarysoft.bf.Looper;
+import com.rarysoft.bf.Program;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the cost of matching loop commands grows with the depth of loop nesting. The code
+ * is a single loop nested to the given depth, with each level separated by a few other commands,
+ * so the outermost loop has to be matched across the whole program. Each {@link Looper}
+ * implementation is measured, since the {@link BFLooper} scans the code for every loop command
+ * while the {@link IndexedLooper} pairs every loop command once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LooperBenchmark {
+    @Param({ "1", "10", "100", "1000" })
+    public int depth;
+
+    @Param({ "BFLooper", "IndexedLooper" })
+    public String implementation;
+
+    private String code;
+    private Looper looper;
+    private BFCompiler compiler;
+
+    /**
+     * Builds the nested loops.
+     */
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        for (int level = 0; level < depth; level ++) {
+            builder.append("[>+");
+        }
+        for (int level = 0; level < depth; level ++) {
+            builder.append("<-]");
+        }
+        code = builder.toString();
+        looper = implementation.equals("IndexedLooper") ? new IndexedLooper() : new BFLooper();
+        compiler = new BFCompiler(looper);
+    }
+
+    /**
+     * Finds the end of the outermost loop.
+     *
+     * @return The delta to the end of the loop.
+     */
+    @Benchmark
+    public int findEndOfLoop() {
+        return looper.findEndOfLoopDelta(code, 0);
+    }
+
+    /**
+     * Finds the start of the outermost loop.
+     *
+     * @return The delta to the start of the loop.
+     */
+    @Benchmark
+    public int findStartOfLoop() {
+        return looper.findStartOfLoopDelta(code, code.length() - 1);
+    }
+
+    /**
+     * Compiles the code, which matches every loop command in it.
+     *
+     * @return The compiled program.
+     */
+    @Benchmark
+    public Program compile() {
+        return compiler.compile(code);
+    }
+}
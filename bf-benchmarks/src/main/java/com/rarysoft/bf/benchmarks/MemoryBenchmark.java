@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf.benchmarks;
+
+import com.rarysoft.bf.HashMapMemory;
+import com.rarysoft.bf.IntArrayMemory;
+import com.rarysoft.bf.MappedFileMemory;
+import com.rarysoft.bf.Memory;
+import com.rarysoft.bf.PagedMemory;
+import com.rarysoft.bf.Unsigned16BitMemory;
+import com.rarysoft.bf.Unsigned8BitMemory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of reading and incrementing every cell of each kind of {@link Memory}, once in
+ * address order and once in a random order. Every kind of memory is given the same 30,000
+ * addresses and 8-bit value range as {@link Unsigned8BitMemory}, so that the results can be
+ * compared directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemoryBenchmark {
+    private static final int CELLS = 30000;
+
+    @Param({ "byte-array", "short-array", "int-array", "hash-map", "paged", "mapped-file" })
+    public String memoryType;
+
+    private Memory memory;
+    private int[] randomAddresses;
+    private File file;
+
+    /**
+     * Creates the memory and the random order of addresses.
+     *
+     * @throws IOException If the file for the mapped file memory can not be created.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        memory = createMemory();
+        randomAddresses = new int[CELLS];
+        for (int address = 0; address < CELLS; address ++) {
+            randomAddresses[address] = address;
+        }
+        Random random = new Random(CELLS);
+        for (int index = CELLS - 1; index > 0; index --) {
+            int other = random.nextInt(index + 1);
+            int address = randomAddresses[index];
+            randomAddresses[index] = randomAddresses[other];
+            randomAddresses[other] = address;
+        }
+    }
+
+    /**
+     * Closes and deletes the file for the mapped file memory.
+     */
+    @TearDown
+    public void tearDown() {
+        if (memory instanceof MappedFileMemory) {
+            ((MappedFileMemory) memory).close();
+        }
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Increments every cell in address order.
+     *
+     * @return The memory, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public Memory sequential() {
+        for (int address = 0; address < CELLS; address ++) {
+            increment(address);
+        }
+        return memory;
+    }
+
+    /**
+     * Increments every cell in a random order.
+     *
+     * @return The memory, so that the work can not be optimized away.
+     */
+    @Benchmark
+    public Memory random() {
+        for (int address : randomAddresses) {
+            increment(address);
+        }
+        return memory;
+    }
+
+    private void increment(int address) {
+        memory.write(address, (memory.read(address) + 1) & 0xFF);
+    }
+
+    private Memory createMemory() throws IOException {
+        switch (memoryType) {
+            case "byte-array":
+                return new Unsigned8BitMemory();
+            case "short-array":
+                return new Unsigned16BitMemory();
+            case "int-array":
+                return new IntArrayMemory(0, CELLS - 1, 0, 0xFF) {};
+            case "hash-map":
+                return new HashMapMemory(0, CELLS - 1, 0, 0xFF) {};
+            case "paged":
+                return new PagedMemory(0, CELLS - 1, 0, 0xFF) {};
+            case "mapped-file":
+                file = File.createTempFile("bf-memory", ".bin");
+                return new MappedFileMemory(file.getPath(), 0, CELLS - 1, 0, 0xFF);
+            default:
+                throw new IllegalArgumentException("Unknown memory type " + memoryType);
+        }
+    }
+}
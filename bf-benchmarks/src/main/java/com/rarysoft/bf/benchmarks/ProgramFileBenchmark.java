@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf.benchmarks;
+
+import com.rarysoft.bf.BFOptimizer;
+import com.rarysoft.bf.BFCompiler;
+import com.rarysoft.bf.IndexedLooper;
+import com.rarysoft.bf.Program;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to get a large program ready to run, once by compiling and
+ * optimizing its code, and once by loading the program from a file it was saved to. The program
+ * is a bundled program repeated many times over.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProgramFileBenchmark {
+    @Param({ "squares" })
+    public String program;
+
+    @Param({ "1000" })
+    public int copies;
+
+    private String code;
+    private BFCompiler compiler;
+    private Path path;
+
+    /**
+     * Builds the code, and saves its compiled program to a temporary file.
+     *
+     * @throws IOException If the temporary file can not be created.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        String single = Corpus.load(program);
+        StringBuilder builder = new StringBuilder();
+        for (int copy = 0; copy < copies; copy ++) {
+            builder.append(single);
+        }
+        code = builder.toString();
+        compiler = new BFCompiler(new IndexedLooper(), new BFOptimizer());
+        path = Files.createTempFile("program", ".bfp");
+        compiler.compile(code).save(path);
+    }
+
+    /**
+     * Deletes the temporary file.
+     *
+     * @throws IOException If the file can not be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Compiles and optimizes the code.
+     *
+     * @return The compiled program.
+     */
+    @Benchmark
+    public Program compile() {
+        return compiler.compile(code);
+    }
+
+    /**
+     * Loads the saved program.
+     *
+     * @return The loaded program.
+     */
+    @Benchmark
+    public Program load() {
+        return Program.load(path);
+    }
+}
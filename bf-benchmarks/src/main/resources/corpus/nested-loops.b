@@ -0,0 +1,4 @@
+Runs five levels of nested loops that each repeat sixteen times so that the
+innermost loop body runs just over one million times
+
+++++++++++++++++[>++++++++++++++++[>++++++++++++++++[>++++++++++++++++[>++++++++++++++++[>+>[-]<<-]<-]<-]<-]<-]>>>>>[-]<<<<<
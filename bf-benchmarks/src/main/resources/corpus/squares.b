@@ -0,0 +1,8 @@
+Prints the squares of the numbers from 0 to 15 in decimal on separate lines
+using nested multiplication loops and a division based number printer
+
+++++++++++++++++[>[->>+>+>+<<<<]>>>>[-<<<<+>>>>]<<[>[-<<+>>>+<]>[-<+>]<<-]>[-]<+
++++++++++<[->-[>+>>]>[+[-<+>]>+>>]<<<<<]>[-]>>>++++++++++<[->-[>+>>]>[+[-<+>]>+>
+>]<<<<<]>[-]>>[>+>+<<-]>[<++++++++[->++++++<]>.[-]]<<[>>>+>+<<<<-]>>>>[<<<<+>>>>
+-]<[[-]>++++++++[-<<<<++++++>>>>]<<<<.[-]>>>]>++++++++[-<<<<<<<++++++>>>>>>>]<<<
+<<<<.[-]<++++++++++.[-]<<+<-]>[-]<
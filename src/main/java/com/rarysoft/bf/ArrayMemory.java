@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * An abstract {@link Memory} implementation for memory that stores its cells in a dense array
+ * with one element for every address, and simply returns an automatic 0 value when an address that
+ * has not been written to is read from. This class manages the address and value ranges, and leaves
+ * the choice of array type to its subclasses. Since every cell is allocated up front, the address
+ * range should be no larger than the number of cells that will actually be used.
+ */
+public abstract class ArrayMemory implements Memory {
+    private static final long MAX_CELLS = Integer.MAX_VALUE - 8;
+
+    private final int minAddress;
+    private final int maxAddress;
+    private final int minValue;
+    private final int maxValue;
+
+    /**
+     * Creates an instance with a given address range and value range. An {@link STB} will be thrown
+     * if either range is empty, or if the address range is too large to be stored in an array.
+     *
+     * @param minAddress The lowest address value.
+     * @param maxAddress The highest address value.
+     * @param minValue The lowest memory cell value.
+     * @param maxValue The highest memory cell value.
+     */
+    protected ArrayMemory(int minAddress, int maxAddress, int minValue, int maxValue) {
+        if (maxAddress < minAddress) {
+            throw new STB("Address range is empty");
+        }
+        if (maxValue < minValue) {
+            throw new STB("Value range is empty");
+        }
+        if ((long) maxAddress - minAddress + 1 > MAX_CELLS) {
+            throw new STB("Address range is too large");
+        }
+        this.minAddress = minAddress;
+        this.maxAddress = maxAddress;
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+    }
+
+    /**
+     * Gets the number of cells, which is the number of elements the array must have.
+     *
+     * @return The number of cells.
+     */
+    protected int cellCount() {
+        return maxAddress - minAddress + 1;
+    }
+
+    /**
+     * Gets the index in the array of the cell at the provided address. An {@link STB} will be
+     * thrown if the address is out of range.
+     *
+     * @param address The address of the cell.
+     * @return The index of the cell in the array.
+     */
+    protected int indexOf(int address) {
+        if (address > maxAddress || address < minAddress) {
+            throw new STB("Address out of range");
+        }
+        return address - minAddress;
+    }
+
+    /**
+     * Checks that the provided value can be stored in a cell. An {@link STB} will be thrown if the
+     * value is out of range.
+     *
+     * @param value The value to check.
+     */
+    protected void checkValue(int value) {
+        if (value > maxValue || value < minValue) {
+            throw new STB("Value out of range");
+        }
+    }
+
+    @Override
+    public int minAddress() {
+        return minAddress;
+    }
+
+    @Override
+    public int maxAddress() {
+        return maxAddress;
+    }
+
+    @Override
+    public int minValue() {
+        return minValue;
+    }
+
+    @Override
+    public int maxValue() {
+        return maxValue;
+    }
+}
@@ -23,50 +23,116 @@
  */
 package com.rarysoft.bf;
 
+import java.io.Reader;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
 /**
  * This is the core of the BF library, the brainfuck interpreter class. This is the class to
  * instantiate in order to execute brainfuck code. It requires an implementation of the {@link Executor}
- * interface and an implementation of {@link Looper}, but the default implementations ({@link BFExecutor}
- * and {@link BFLooper}) will be instantiated and used if the {@link BFExecutor}'s dependencies are
- * provided instead. These dependencies are implementations of {@link Input}, {@link Output}, and
- * {@link Memory}.
+ * interface and an implementation of {@link Looper}, and optionally an implementation of {@link Optimizer},
+ * but the default implementations ({@link BFExecutor}, {@link IndexedLooper}, and {@link BFOptimizer}) will be
+ * instantiated and used if the {@link BFExecutor}'s dependencies are provided instead. These dependencies
+ * are implementations of {@link Input}, {@link Output}, and {@link Memory}.
  */
 public class BF {
     private final Executor executor;
-    private final Looper looper;
+    private final BFCompiler compiler;
+    private final Output output;
+    private final Monitor monitor;
+    private final ByteInterpreter bytes;
 
     /**
-     * Creates an instance of the interpreter that uses a {@link BFExecutor} and a {@link BFLooper}. The
-     * {@link BFExecutor} instance will use the {@link NullInput}, {@link ConsoleOutput}, and
-     * {@link Unsigned8BitMemory} implementations.
+     * Creates an instance of the interpreter that uses a {@link BFExecutor}, an {@link IndexedLooper}, and a
+     * {@link BFOptimizer}. The {@link BFExecutor} instance will use the {@link NullInput},
+     * {@link BufferedConsoleOutput}, and {@link Unsigned8BitMemory} implementations. Output is
+     * printed whenever a newline is output, and at the end of every run.
      */
     public BF() {
-        this(new NullInput(), new ConsoleOutput(), new Unsigned8BitMemory());
+        this(new NullInput(), new BufferedConsoleOutput(), new Unsigned8BitMemory());
     }
 
     /**
      * Creates an instance of the interpreter that uses the provided {@link Executor} and {@link Looper}
-     * implementations.
+     * implementations. Programs will not be optimized, so the {@link Executor} will be called once for
+     * every command in the code.
      *
      * @param executor The {@link Executor} to use.
      * @param looper The {@link Looper} to use.
      */
     public BF(Executor executor, Looper looper) {
-        this.executor = executor;
-        this.looper = looper;
+        this(executor, looper, new NullOptimizer());
+    }
+
+    /**
+     * Creates an instance of the interpreter that uses the provided {@link Executor}, {@link Looper}, and
+     * {@link Optimizer} implementations.
+     *
+     * @param executor The {@link Executor} to use.
+     * @param looper The {@link Looper} to use.
+     * @param optimizer The {@link Optimizer} to use.
+     */
+    public BF(Executor executor, Looper looper, Optimizer optimizer) {
+        this(executor, looper, optimizer, new NullOutput(), null);
     }
 
     /**
-     * Creates an instance of the interpreter that uses a {@link BFExecutor} and a {@link BFLooper}. The
-     * {@link BFExecutor} instance will use the provided {@link Input}, {@link Output}, and {@link Memory}
-     * implementations.
+     * Creates an instance of the interpreter that uses a {@link BFExecutor}, an {@link IndexedLooper}, and a
+     * {@link BFOptimizer}. The {@link BFExecutor} instance will use the provided {@link Input},
+     * {@link Output}, and {@link Memory} implementations. Values output by a program are passed on
+     * to the {@link Output} in blocks, through {@link Output#write(int[], int, int)}, whenever a
+     * block is full and before every input is read. The {@link Output} is flushed at the end of
+     * every run, so all output is complete when the run finishes. When the {@link Memory} is an
+     * 8-bit {@link ByteArrayMemory}, such as {@link Unsigned8BitMemory}, programs run without
+     * limits work on the memory's cells directly, which is much faster, with the same results.
      *
      * @param input The {@link Input} implementation for the {@link BFExecutor} to use.
      * @param output The {@link Output} implementation for the {@link BFExecutor} to use.
      * @param memory The {@link Memory} implementation for the {@link BFExecutor} to use.
      */
     public BF(Input input, Output output, Memory memory) {
-        this(new BFExecutor(input, output, memory, memory.minAddress()), new BFLooper());
+        this(new BatchingOutput(output), input, memory, null);
+    }
+
+    /**
+     * Creates an instance of the interpreter in the same way as
+     * {@link #BF(Input, Output, Memory)}, which also counts the programs it compiles and runs,
+     * the instructions it performs, and the values it reads and writes, in the provided
+     * {@link BFMetrics}, and records Java Flight Recorder events while doing so. Counting slows
+     * programs down a little, so this should only be used when the counts are wanted. An
+     * {@link STB} will be thrown if the metrics are missing.
+     *
+     * @param input The {@link Input} implementation for the {@link BFExecutor} to use.
+     * @param output The {@link Output} implementation for the {@link BFExecutor} to use.
+     * @param memory The {@link Memory} implementation for the {@link BFExecutor} to use.
+     * @param metrics The {@link BFMetrics} to count in.
+     */
+    public BF(Input input, Output output, Memory memory, BFMetrics metrics) {
+        this(new Monitor(metrics), input, output, memory);
+    }
+
+    private BF(Monitor monitor, Input input, Output output, Memory memory) {
+        this(new BatchingOutput(monitor.output(output)), monitor.input(input), monitor.memory(memory), monitor);
+    }
+
+    private BF(BatchingOutput output, Input input, Memory memory, Monitor monitor) {
+        this(new BFExecutor(output.draining(input), output, memory, memory.minAddress()), memory, output, monitor);
+    }
+
+    private BF(BFExecutor executor, Memory memory, Output output, Monitor monitor) {
+        this(executor, new IndexedLooper(), new BFOptimizer(), output, monitor, ByteInterpreter.of(memory, executor));
+    }
+
+    private BF(Executor executor, Looper looper, Optimizer optimizer, Output output, Monitor monitor) {
+        this(executor, looper, optimizer, output, monitor, null);
+    }
+
+    private BF(Executor executor, Looper looper, Optimizer optimizer, Output output, Monitor monitor, ByteInterpreter bytes) {
+        this.executor = executor;
+        this.compiler = new BFCompiler(looper, optimizer);
+        this.output = output;
+        this.monitor = monitor;
+        this.bytes = bytes;
     }
 
     /**
@@ -82,51 +148,186 @@ public class BF {
         if (code == null) {
             throw new STB("Code is missing");
         }
-        execute(code);
+        execute(compile(code));
+    }
+
+    /**
+     * Runs a brainfuck program that has already been compiled. Compiling a program once and running
+     * it many times avoids the cost of compiling the code on every run.
+     *
+     * @param program The compiled program to execute.
+     * @see #compile(String)
+     */
+    public void execute(Program program) {
+        if (program == null) {
+            throw new STB("Program is missing");
+        }
+        try {
+            if (bytes != null) {
+                bytes.interpret(program);
+            }
+            else if (monitor == null) {
+                Interpreter.interpret(program, executor);
+            }
+            else {
+                monitor.execute(program, executor, output, Limits.NONE);
+            }
+        }
+        finally {
+            output.flush();
+        }
+    }
+
+    /**
+     * Runs a brainfuck program, in the same way as {@link #run(String)}, but stops it with a
+     * {@link LimitExceeded} if it reaches any of the provided limits.
+     *
+     * @param code The brainfuck code to execute.
+     * @param limits The limits that the run must stay within.
+     */
+    public void run(String code, Limits limits) {
+        if (code == null) {
+            throw new STB("Code is missing");
+        }
+        execute(compile(code), limits);
+    }
+
+    /**
+     * Runs a brainfuck program that has already been compiled, in the same way as
+     * {@link #execute(Program)}, but stops it with a {@link LimitExceeded} if it reaches any of
+     * the provided limits. Checking the limits slows the program down a little, but programs run
+     * without limits are never slowed down by it. An {@link STB} will be thrown if the program or
+     * the limits are missing.
+     *
+     * @param program The compiled program to execute.
+     * @param limits The limits that the run must stay within.
+     */
+    public void execute(Program program, Limits limits) {
+        if (program == null) {
+            throw new STB("Program is missing");
+        }
+        if (limits == null) {
+            throw new STB("Limits are missing");
+        }
+        try {
+            if (monitor == null) {
+                Interpreter.interpret(program, executor, limits, new long[1]);
+            }
+            else {
+                monitor.execute(program, executor, output, limits);
+            }
+        }
+        finally {
+            output.flush();
+        }
     }
 
-    private void execute(String code) {
-        int position = 0;
-        while (position < code.length()) {
-            int delta = perform(code, position);
-            position += delta;
+    /**
+     * Runs a brainfuck program that has already been compiled, in the same way as
+     * {@link #execute(Program)}, while counting how many times each instruction is performed and
+     * how many times and for how long each loop runs. Counting slows the program down, but
+     * programs run through {@link #execute(Program)} are never slowed down by it.
+     *
+     * @param program The compiled program to profile.
+     * @return The counts collected while the program ran.
+     */
+    public Profile profile(Program program) {
+        if (program == null) {
+            throw new STB("Program is missing");
+        }
+        try {
+            return Interpreter.profile(program, executor);
+        }
+        finally {
+            output.flush();
         }
     }
 
-    private int perform(String code, int position) {
-        char token = code.charAt(position);
-        switch (token) {
-            case BFDialect.INCREMENT:
-                executor.performIncrement();
-                break;
-            case BFDialect.DECREMENT:
-                executor.performDecrement();
-                break;
-            case BFDialect.INCREMENT_POINTER:
-                executor.performIncrementPointer();
-                break;
-            case BFDialect.DECREMENT_POINTER:
-                executor.performDecrementPointer();
-                break;
-            case BFDialect.START_LOOP:
-                if (executor.performStartLoop()) {
-                    return looper.findEndOfLoopDelta(code, position);
-                }
-                break;
-            case BFDialect.END_LOOP:
-                if (executor.performEndLoop()) {
-                    return looper.findStartOfLoopDelta(code, position);
-                }
-                break;
-            case BFDialect.INPUT:
-                executor.performInput();
-                break;
-            case BFDialect.OUTPUT:
-                executor.performOutput();
-                break;
-            default:
-                break;
+    /**
+     * Compiles a brainfuck program, using this interpreter's {@link Looper} to locate the jump
+     * target of every loop command and this interpreter's {@link Optimizer} to optimize it. The
+     * resulting {@link Program} can be passed to {@link #execute(Program)} any number of times. An
+     * {@link STB} will be thrown if the code is missing or contains incorrect matching of
+     * <code>[</code> and <code>]</code> commands.
+     *
+     * @param code The brainfuck code to compile.
+     * @return The compiled program.
+     */
+    public Program compile(String code) {
+        if (monitor == null) {
+            return compiler.compile(code);
         }
-        return 1;
+        return monitor.compile(() -> compiler.compile(code), code == null ? 0 : code.length());
+    }
+
+    /**
+     * Runs a brainfuck program read from a file, without ever holding the code in full, so that
+     * very large code that is mostly comments or whitespace can be run without first loading it
+     * into a <code>String</code>. An {@link STB} will be thrown if the file can not be read or
+     * contains incorrect matching of <code>[</code> and <code>]</code> commands.
+     *
+     * @param path The file containing the brainfuck code to execute.
+     * @see BFCompiler#compile(Path)
+     */
+    public void run(Path path) {
+        execute(compile(path));
+    }
+
+    /**
+     * Runs a brainfuck program read from a <code>Reader</code>, in the same way as
+     * {@link #run(Path)}.
+     *
+     * @param reader The reader to read the brainfuck code from.
+     * @see BFCompiler#compile(Reader)
+     */
+    public void run(Reader reader) {
+        execute(compile(reader));
+    }
+
+    /**
+     * Runs a brainfuck program read from a channel, in the same way as {@link #run(Path)}.
+     *
+     * @param channel The channel to read the brainfuck code from.
+     * @see BFCompiler#compile(ReadableByteChannel)
+     */
+    public void run(ReadableByteChannel channel) {
+        execute(compile(channel));
+    }
+
+    /**
+     * Compiles a brainfuck program read from a file, a block at a time, in the same way as
+     * {@link #compile(String)} except that the jump targets of loop commands are located as the
+     * code is read rather than by this interpreter's {@link Looper}.
+     *
+     * @param path The file containing the brainfuck code to compile.
+     * @return The compiled program.
+     * @see BFCompiler#compile(Path)
+     */
+    public Program compile(Path path) {
+        return monitor == null ? compiler.compile(path) : monitor.compile(() -> compiler.compile(path), -1);
+    }
+
+    /**
+     * Compiles a brainfuck program read from a <code>Reader</code>, in the same way as
+     * {@link #compile(Path)}.
+     *
+     * @param reader The reader to read the brainfuck code from.
+     * @return The compiled program.
+     * @see BFCompiler#compile(Reader)
+     */
+    public Program compile(Reader reader) {
+        return monitor == null ? compiler.compile(reader) : monitor.compile(() -> compiler.compile(reader), -1);
+    }
+
+    /**
+     * Compiles a brainfuck program read from a channel, in the same way as
+     * {@link #compile(Path)}.
+     *
+     * @param channel The channel to read the brainfuck code from.
+     * @return The compiled program.
+     * @see BFCompiler#compile(ReadableByteChannel)
+     */
+    public Program compile(ReadableByteChannel channel) {
+        return monitor == null ? compiler.compile(channel) : monitor.compile(() -> compiler.compile(channel), -1);
     }
 }
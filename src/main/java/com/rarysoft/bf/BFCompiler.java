@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compiles brainfuck code into a {@link Program}. Any characters that are not brainfuck commands
+ * are dropped, and the jump target of every loop command is located once, using the provided
+ * {@link Looper}, and stored in the program. The program is then passed through the provided
+ * {@link Optimizer}. A program can then be run any number of times without the code ever being
+ * scanned again. Code can also be compiled from a file, a <code>Reader</code>, or a channel, in
+ * which case it is read a block at a time and never held in full, so that very large code that
+ * is mostly comments or whitespace can be compiled without first loading it into a
+ * <code>String</code>. A compiler keeps no state between compilations, so it can be used by many
+ * threads at once as long as its {@link Looper} and {@link Optimizer} can, which is true of all
+ * of the provided implementations.
+ */
+public class BFCompiler {
+    private static final int BLOCK_SIZE = 65536;
+
+    private final Looper looper;
+    private final Optimizer optimizer;
+
+    /**
+     * Creates an instance that uses the provided {@link Looper} implementation to locate the jump
+     * targets of loop commands, and a {@link NullOptimizer}, so that the compiled program contains
+     * exactly one instruction for each command in the code.
+     *
+     * @param looper The {@link Looper} to use.
+     */
+    public BFCompiler(Looper looper) {
+        this(looper, new NullOptimizer());
+    }
+
+    /**
+     * Creates an instance that uses the provided {@link Looper} implementation to locate the jump
+     * targets of loop commands, and the provided {@link Optimizer} implementation to optimize the
+     * compiled program.
+     *
+     * @param looper The {@link Looper} to use.
+     * @param optimizer The {@link Optimizer} to use.
+     */
+    public BFCompiler(Looper looper, Optimizer optimizer) {
+        this.looper = looper;
+        this.optimizer = optimizer;
+    }
+
+    /**
+     * Compiles brainfuck code into a {@link Program}. An {@link STB} will be thrown if the code is
+     * missing, or if the {@link Looper} is unable to locate the matching command for any
+     * <code>[</code> or <code>]</code> command. Every loop command is located by the looper that
+     * the {@link Looper} returns from {@link Looper#index(String)} for the code, which is asked for
+     * once, when the first loop command is reached.
+     *
+     * @param code The brainfuck code to compile.
+     * @return The compiled program.
+     */
+    public Program compile(String code) {
+        if (code == null) {
+            throw new STB("Code is missing");
+        }
+        int[] indices = new int[code.length() + 1];
+        int size = 0;
+        for (int position = 0; position < code.length(); position ++) {
+            indices[position] = size;
+            if (opcodeOf(code.charAt(position)) >= 0) {
+                size ++;
+            }
+        }
+        indices[code.length()] = size;
+
+        Looper loops = null;
+        int[] opcodes = new int[size];
+        int[] operands = new int[size];
+        int[] positions = new int[size];
+        for (int position = 0; position < code.length(); position ++) {
+            int opcode = opcodeOf(code.charAt(position));
+            if (opcode < 0) {
+                continue;
+            }
+            int index = indices[position];
+            opcodes[index] = opcode;
+            positions[index] = position;
+            if ((opcode == Opcode.START_LOOP || opcode == Opcode.END_LOOP) && loops == null) {
+                loops = looper.index(code);
+            }
+            if (opcode == Opcode.START_LOOP) {
+                int delta = loops.findEndOfLoopDelta(code, position);
+                operands[index] = indexOf(indices, position + delta);
+            }
+            if (opcode == Opcode.END_LOOP) {
+                int delta = loops.findStartOfLoopDelta(code, position);
+                operands[index] = indexOf(indices, position + delta);
+            }
+        }
+        return optimizer.optimize(new Program(opcodes, operands, positions, Program.NO_TABLES, Program.NO_TABLES, false));
+    }
+
+    /**
+     * Compiles brainfuck code read from a file, a block at a time. Since brainfuck commands are
+     * all ASCII characters, the file is scanned byte by byte without being decoded, which works
+     * for files in UTF-8 or any other encoding that is compatible with ASCII, and the position of
+     * each instruction is its byte offset in the file. The jump target of every loop command is
+     * located as the file is read rather than by the {@link Looper}, in the same way as a
+     * {@link LoopIndex}. An {@link STB} will be thrown if the path is missing or the file can not
+     * be read, and a {@link LoopMismatch} reporting every <code>[</code> or <code>]</code> command
+     * that has no match will be thrown once the whole file has been read.
+     *
+     * @param path The file containing the code to compile.
+     * @return The compiled program.
+     */
+    public Program compile(Path path) {
+        if (path == null) {
+            throw new STB("Code is missing");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return compile(channel);
+        }
+        catch (NoSuchFileException e) {
+            throw new STB("File not found");
+        }
+        catch (IOException e) {
+            throw new STB("Unrecoverable code read error", e);
+        }
+    }
+
+    /**
+     * Compiles brainfuck code read from a channel, a block at a time, in the same way as
+     * {@link #compile(Path)}. The channel is read until it ends, but is not closed.
+     *
+     * @param channel The channel to read the code from.
+     * @return The compiled program.
+     */
+    public Program compile(ReadableByteChannel channel) {
+        if (channel == null) {
+            throw new STB("Code is missing");
+        }
+        SourceLexer lexer = new SourceLexer();
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+        try {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    lexer.accept((char) (buffer.get() & 0xFF));
+                }
+                buffer.clear();
+            }
+        }
+        catch (IOException e) {
+            throw new STB("Unrecoverable code read error", e);
+        }
+        return optimizer.optimize(lexer.finish());
+    }
+
+    /**
+     * Compiles brainfuck code read from a <code>Reader</code>, a block at a time, in the same way
+     * as {@link #compile(Path)}, except that the position of each instruction is its character
+     * offset. The reader is read until it ends, but is not closed.
+     *
+     * @param reader The reader to read the code from.
+     * @return The compiled program.
+     */
+    public Program compile(Reader reader) {
+        if (reader == null) {
+            throw new STB("Code is missing");
+        }
+        SourceLexer lexer = new SourceLexer();
+        char[] buffer = new char[BLOCK_SIZE];
+        try {
+            int count;
+            while ((count = reader.read(buffer)) >= 0) {
+                lexer.accept(buffer, 0, count);
+            }
+        }
+        catch (IOException e) {
+            throw new STB("Unrecoverable code read error", e);
+        }
+        return optimizer.optimize(lexer.finish());
+    }
+
+    private int indexOf(int[] indices, int position) {
+        if (position < 0 || position >= indices.length) {
+            throw new STB("Loop target out of range");
+        }
+        return indices[position];
+    }
+
+    static int opcodeOf(char token) {
+        switch (token) {
+            case BFDialect.INCREMENT:
+                return Opcode.INCREMENT;
+            case BFDialect.DECREMENT:
+                return Opcode.DECREMENT;
+            case BFDialect.INCREMENT_POINTER:
+                return Opcode.INCREMENT_POINTER;
+            case BFDialect.DECREMENT_POINTER:
+                return Opcode.DECREMENT_POINTER;
+            case BFDialect.START_LOOP:
+                return Opcode.START_LOOP;
+            case BFDialect.END_LOOP:
+                return Opcode.END_LOOP;
+            case BFDialect.INPUT:
+                return Opcode.INPUT;
+            case BFDialect.OUTPUT:
+                return Opcode.OUTPUT;
+            default:
+                return -1;
+        }
+    }
+}
@@ -133,4 +133,50 @@ public class BFExecutor implements Executor {
     public void performOutput() {
         output.write(memory.read(pointer));
     }
+
+    @Override
+    public void performAdd(int amount) {
+        memory.write(pointer, wrap((long) memory.read(pointer) + amount, memory.minValue(), memory.maxValue()));
+    }
+
+    @Override
+    public void performMove(int distance) {
+        pointer = wrap((long) pointer + distance, memory.minAddress(), memory.maxAddress());
+    }
+
+    @Override
+    public void performClear() {
+        memory.write(pointer, 0);
+    }
+
+    @Override
+    public void performScan(int step) {
+        while (memory.read(pointer) != 0) {
+            performMove(step);
+        }
+    }
+
+    @Override
+    public void performMultiply(int[] offsets, int[] factors) {
+        int value = memory.read(pointer);
+        if (value == 0) {
+            return;
+        }
+        for (int offset : offsets) {
+            if (wrap((long) pointer + offset, memory.minAddress(), memory.maxAddress()) == pointer) {
+                Executor.super.performMultiply(offsets, factors);
+                return;
+            }
+        }
+        for (int target = 0; target < offsets.length; target ++) {
+            int address = wrap((long) pointer + offsets[target], memory.minAddress(), memory.maxAddress());
+            long sum = memory.read(address) + (long) value * factors[target];
+            memory.write(address, wrap(sum, memory.minValue(), memory.maxValue()));
+        }
+        memory.write(pointer, 0);
+    }
+
+    private int wrap(long value, int min, int max) {
+        return (int) (min + Math.floorMod(value - min, (long) max - min + 1));
+    }
 }
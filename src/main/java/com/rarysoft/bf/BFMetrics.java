@@ -0,0 +1,208 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the programs compiled and run by every {@link BF} created with an instance of this
+ * class, which can be published over JMX so that a long running service can see how much time it
+ * spends running brainfuck, and how much of that is spent on input and output. One instance can be
+ * shared by any number of {@link BF} instances, on any number of threads.
+ * <p>
+ * A {@link BF} created with an instance of this class also records Java Flight Recorder events
+ * for each compilation, run, and failure, and for each read or write that waits for more than 10
+ * milliseconds, when running on Java 11 or later. The events are named
+ * <code>com.rarysoft.bf.Compile</code>, <code>com.rarysoft.bf.Run</code>,
+ * <code>com.rarysoft.bf.Failure</code>, <code>com.rarysoft.bf.InputStall</code>, and
+ * <code>com.rarysoft.bf.OutputStall</code>, and cost almost nothing unless a recording is
+ * running.
+ *
+ * <pre>
+ * BFMetrics metrics = BFMetrics.register("service");
+ * BF bf = new BF(input, output, new Unsigned8BitMemory(), metrics);
+ * </pre>
+ */
+public class BFMetrics implements BFMetricsMBean {
+    /**
+     * The domain of the names that instances are registered under.
+     */
+    public static final String DOMAIN = "com.rarysoft.bf";
+
+    private final LongAdder compilations = new LongAdder();
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder instructionsExecuted = new LongAdder();
+    private final LongAdder valuesRead = new LongAdder();
+    private final LongAdder valuesWritten = new LongAdder();
+    private final LongAdder addressSpan = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final LongAdder totalInputNanos = new LongAdder();
+    private final LongAdder totalOutputNanos = new LongAdder();
+
+    private ObjectName name;
+
+    /**
+     * Creates a new instance, which is not registered with JMX, and has every counter at 0.
+     */
+    public BFMetrics() {
+    }
+
+    /**
+     * Creates a new instance and registers it with the platform MBean server, under the name
+     * <code>com.rarysoft.bf:type=BFMetrics,name=</code> followed by the provided name. An
+     * {@link STB} will be thrown if the name is missing, or if it can not be registered, such as
+     * when another instance is already registered with the same name.
+     *
+     * @param name The name to tell this instance apart from any others.
+     * @return The registered instance.
+     */
+    public static BFMetrics register(String name) {
+        if (name == null) {
+            throw new STB("Name is missing");
+        }
+        BFMetrics metrics = new BFMetrics();
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=BFMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+            metrics.name = objectName;
+        }
+        catch (JMException e) {
+            throw new STB("Metrics could not be registered: " + e.getMessage(), e);
+        }
+        return metrics;
+    }
+
+    /**
+     * Removes this instance from the platform MBean server, if it was registered. The counters
+     * keep counting.
+     */
+    public void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (name != null && server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        }
+        catch (JMException e) {
+            throw new STB("Metrics could not be unregistered: " + e.getMessage(), e);
+        }
+        name = null;
+    }
+
+    @Override
+    public long getCompilations() {
+        return compilations.sum();
+    }
+
+    @Override
+    public long getRuns() {
+        return runs.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getInstructionsExecuted() {
+        return instructionsExecuted.sum();
+    }
+
+    @Override
+    public long getValuesRead() {
+        return valuesRead.sum();
+    }
+
+    @Override
+    public long getValuesWritten() {
+        return valuesWritten.sum();
+    }
+
+    @Override
+    public long getAddressSpan() {
+        return addressSpan.sum();
+    }
+
+    @Override
+    public long getTotalRunNanos() {
+        return totalRunNanos.sum();
+    }
+
+    @Override
+    public long getTotalInputNanos() {
+        return totalInputNanos.sum();
+    }
+
+    @Override
+    public long getTotalOutputNanos() {
+        return totalOutputNanos.sum();
+    }
+
+    @Override
+    public long getAverageRunNanos() {
+        long count = runs.sum();
+        return count == 0 ? 0 : totalRunNanos.sum() / count;
+    }
+
+    @Override
+    public void reset() {
+        compilations.reset();
+        runs.reset();
+        failures.reset();
+        instructionsExecuted.reset();
+        valuesRead.reset();
+        valuesWritten.reset();
+        addressSpan.reset();
+        totalRunNanos.reset();
+        totalInputNanos.reset();
+        totalOutputNanos.reset();
+    }
+
+    void recordCompilation(boolean failed) {
+        compilations.increment();
+        if (failed) {
+            failures.increment();
+        }
+    }
+
+    void recordRun(long elapsedNanos, long inputNanos, long outputNanos, long instructions, long read, long written, long span, boolean failed) {
+        runs.increment();
+        if (failed) {
+            failures.increment();
+        }
+        instructionsExecuted.add(instructions);
+        valuesRead.add(read);
+        valuesWritten.add(written);
+        addressSpan.add(span);
+        totalRunNanos.add(elapsedNanos);
+        totalInputNanos.add(inputNanos);
+        totalOutputNanos.add(outputNanos);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * The management interface of {@link BFMetrics}, through which its counters are published over
+ * JMX.
+ */
+public interface BFMetricsMBean {
+    /**
+     * Gets the number of programs compiled.
+     *
+     * @return The number of compilations.
+     */
+    long getCompilations();
+
+    /**
+     * Gets the number of runs started, including runs that failed.
+     *
+     * @return The number of runs.
+     */
+    long getRuns();
+
+    /**
+     * Gets the number of runs and compilations that failed with an exception.
+     *
+     * @return The number of failures.
+     */
+    long getFailures();
+
+    /**
+     * Gets the total number of instructions performed over every run.
+     *
+     * @return The number of instructions performed.
+     */
+    long getInstructionsExecuted();
+
+    /**
+     * Gets the total number of values read from input over every run.
+     *
+     * @return The number of values read.
+     */
+    long getValuesRead();
+
+    /**
+     * Gets the total number of values written to output over every run.
+     *
+     * @return The number of values written.
+     */
+    long getValuesWritten();
+
+    /**
+     * Gets the total address span over every run, where the address span of a run is the number of
+     * memory cells from the lowest address it read or wrote to the highest, whether or not every
+     * cell in between was used.
+     *
+     * @return The total address span.
+     */
+    long getAddressSpan();
+
+    /**
+     * Gets the total time spent in every run, including time spent waiting for input and output.
+     *
+     * @return The total time in nanoseconds.
+     */
+    long getTotalRunNanos();
+
+    /**
+     * Gets the part of the total run time spent waiting for input to be read.
+     *
+     * @return The total input time in nanoseconds.
+     */
+    long getTotalInputNanos();
+
+    /**
+     * Gets the part of the total run time spent waiting for output to be written or flushed.
+     *
+     * @return The total output time in nanoseconds.
+     */
+    long getTotalOutputNanos();
+
+    /**
+     * Gets the average time spent in a run.
+     *
+     * @return The average time in nanoseconds, or 0 if nothing has been run.
+     */
+    long getAverageRunNanos();
+
+    /**
+     * Sets every counter back to 0.
+     */
+    void reset();
+}
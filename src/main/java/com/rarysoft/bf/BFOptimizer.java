@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The default implementation of the {@link Optimizer} interface. This implementation folds each
+ * run of increment and decrement commands into a single {@link Opcode#ADD} instruction, and each
+ * run of increment pointer and decrement pointer commands into a single {@link Opcode#MOVE}
+ * instruction. Runs that cancel each other out completely are removed, and runs that amount to a
+ * single command are left as that command. Once the runs are folded, loops that match one of the
+ * following common idioms are each replaced with a single instruction:
+ * <ul>
+ *     <li>Loops that only step the cell at the pointer by 1, such as <code>[-]</code> and
+ *     <code>[+]</code>, are replaced with an {@link Opcode#CLEAR} instruction.</li>
+ *     <li>Loops that only move the pointer, such as <code>[&gt;]</code> and <code>[&lt;&lt;]</code>,
+ *     are replaced with an {@link Opcode#SCAN} instruction.</li>
+ *     <li>Loops that step the cell at the pointer by 1, otherwise only add to other cells, and end
+ *     with the pointer where it started, such as <code>[-&gt;+&lt;]</code> and
+ *     <code>[-&gt;+&gt;++&lt;&lt;]</code>, are replaced with an {@link Opcode#MULTIPLY}
+ *     instruction.</li>
+ * </ul>
+ *
+ * @see com.rarysoft.bf.Optimizer
+ */
+public class BFOptimizer implements Optimizer {
+    @Override
+    public Program optimize(Program program) {
+        if (program == null) {
+            throw new STB("Program is missing");
+        }
+        return recognizeIdioms(foldRuns(program));
+    }
+
+    private Program foldRuns(Program program) {
+        int size = program.size();
+        ProgramBuilder builder = new ProgramBuilder(size);
+        int[] indices = new int[size + 1];
+        int index = 0;
+        while (index < size) {
+            int opcode = program.opcode(index);
+            if (isAdd(opcode) || isMove(opcode)) {
+                boolean move = isMove(opcode);
+                int position = program.position(index);
+                long total = 0;
+                while (index < size && (move ? isMove(program.opcode(index)) : isAdd(program.opcode(index)))) {
+                    indices[index] = builder.size();
+                    total += amountOf(program, index);
+                    index ++;
+                }
+                addRun(builder, move, total, position);
+                continue;
+            }
+            indices[index] = builder.size();
+            builder.addCopy(program, index);
+            index ++;
+        }
+        indices[size] = builder.size();
+        builder.relink(indices);
+        return builder.build();
+    }
+
+    private Program recognizeIdioms(Program program) {
+        int size = program.size();
+        ProgramBuilder builder = new ProgramBuilder(size);
+        int[] indices = new int[size + 1];
+        int index = 0;
+        while (index < size) {
+            if (program.opcode(index) == Opcode.START_LOOP) {
+                int end = program.operand(index);
+                if (isLoop(program, index, end) && addIdiom(builder, program, index, end)) {
+                    for (int covered = index; covered <= end; covered ++) {
+                        indices[covered] = builder.size() - 1;
+                    }
+                    index = end + 1;
+                    continue;
+                }
+            }
+            indices[index] = builder.size();
+            builder.addCopy(program, index);
+            index ++;
+        }
+        indices[size] = builder.size();
+        builder.relink(indices);
+        return builder.build();
+    }
+
+    private boolean isLoop(Program program, int start, int end) {
+        return end > start && end < program.size() && program.opcode(end) == Opcode.END_LOOP && program.operand(end) == start;
+    }
+
+    private boolean addIdiom(ProgramBuilder builder, Program program, int start, int end) {
+        int position = program.position(start);
+        if (end == start + 2 && isMove(program.opcode(start + 1))) {
+            int step = amountOf(program, start + 1);
+            if (step == 0) {
+                return false;
+            }
+            builder.add(Opcode.SCAN, step, position);
+            return true;
+        }
+        Map<Integer, Long> changes = new LinkedHashMap<>();
+        long offset = 0;
+        for (int index = start + 1; index < end; index ++) {
+            int opcode = program.opcode(index);
+            if (isMove(opcode)) {
+                offset += amountOf(program, index);
+            }
+            else if (isAdd(opcode)) {
+                if (offset < Integer.MIN_VALUE || offset > Integer.MAX_VALUE) {
+                    return false;
+                }
+                changes.merge((int) offset, (long) amountOf(program, index), Long::sum);
+            }
+            else {
+                return false;
+            }
+        }
+        Long step = changes.remove(0);
+        if (offset != 0 || step == null || (step != 1 && step != -1)) {
+            return false;
+        }
+        changes.values().removeIf(change -> change == 0);
+        if (changes.isEmpty()) {
+            builder.add(Opcode.CLEAR, 0, position);
+            return true;
+        }
+        int[] offsets = new int[changes.size()];
+        int[] factors = new int[changes.size()];
+        int target = 0;
+        for (Map.Entry<Integer, Long> change : changes.entrySet()) {
+            long factor = step == -1 ? change.getValue() : -change.getValue();
+            if (factor < Integer.MIN_VALUE || factor > Integer.MAX_VALUE) {
+                return false;
+            }
+            offsets[target] = change.getKey();
+            factors[target] = (int) factor;
+            target ++;
+        }
+        builder.addMultiply(offsets, factors, position);
+        return true;
+    }
+
+    private void addRun(ProgramBuilder builder, boolean move, long total, int position) {
+        while (total > Integer.MAX_VALUE || total < Integer.MIN_VALUE) {
+            int part = total > 0 ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+            builder.add(move ? Opcode.MOVE : Opcode.ADD, part, position);
+            total -= part;
+        }
+        if (total == 1) {
+            builder.add(move ? Opcode.INCREMENT_POINTER : Opcode.INCREMENT, 0, position);
+        }
+        else if (total == -1) {
+            builder.add(move ? Opcode.DECREMENT_POINTER : Opcode.DECREMENT, 0, position);
+        }
+        else if (total != 0) {
+            builder.add(move ? Opcode.MOVE : Opcode.ADD, (int) total, position);
+        }
+    }
+
+    private boolean isAdd(int opcode) {
+        return opcode == Opcode.INCREMENT || opcode == Opcode.DECREMENT || opcode == Opcode.ADD;
+    }
+
+    private boolean isMove(int opcode) {
+        return opcode == Opcode.INCREMENT_POINTER || opcode == Opcode.DECREMENT_POINTER || opcode == Opcode.MOVE;
+    }
+
+    private int amountOf(Program program, int index) {
+        switch (program.opcode(index)) {
+            case Opcode.INCREMENT:
+            case Opcode.INCREMENT_POINTER:
+                return 1;
+            case Opcode.DECREMENT:
+            case Opcode.DECREMENT_POINTER:
+                return -1;
+            default:
+                return program.operand(index);
+        }
+    }
+}
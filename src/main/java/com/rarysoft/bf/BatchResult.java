@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * The output collected from one run of a {@link BatchRunner}, along with the position of the
+ * input that the run read from.
+ */
+public class BatchResult {
+    private final int index;
+    private final int[] values;
+    private final long elapsedNanos;
+
+    /**
+     * Creates an instance with the provided output.
+     *
+     * @param index The position of the input in the batch, starting at 0.
+     * @param values The values the program wrote, in the order they were written.
+     * @param elapsedNanos The time the run took, in nanoseconds.
+     */
+    public BatchResult(int index, int[] values, long elapsedNanos) {
+        this.index = index;
+        this.values = values.clone();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the position of the input in the batch, starting at 0.
+     *
+     * @return The position of the input.
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Gets the values the program wrote, in the order they were written.
+     *
+     * @return A copy of the values written.
+     */
+    public int[] values() {
+        return values.clone();
+    }
+
+    /**
+     * Gets the values the program wrote as bytes, keeping only the lowest 8 bits of each value.
+     *
+     * @return The values written, as bytes.
+     */
+    public byte[] bytes() {
+        byte[] bytes = new byte[values.length];
+        for (int index = 0; index < values.length; index ++) {
+            bytes[index] = (byte) values[index];
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets the values the program wrote as a <code>String</code>, with each value as one
+     * character, in the same way that {@link ConsoleOutput} prints them.
+     *
+     * @return The values written, as text.
+     */
+    public String text() {
+        StringBuilder text = new StringBuilder(values.length);
+        for (int value : values) {
+            text.append((char) value);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Gets the time the run took, not including any time spent waiting for a thread to run on.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "Input " + index + ": " + values.length + " written in " + elapsedNanos + " ns";
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Runs one brainfuck program against each of a batch of inputs, with the runs spread across the
+ * threads of an <code>ExecutorService</code>. The program is compiled once and shared by every
+ * run, while each run gets its own {@link Memory}, and its output is collected into a
+ * {@link BatchResult}. Results are returned in the same order as the inputs, no matter which run
+ * finishes first.
+ * <p>
+ * If any run fails, the remaining runs are still completed, and an {@link STB} describing the
+ * failure of the earliest failed input is thrown once every run has finished.
+ *
+ * <pre>
+ * List&lt;BatchResult&gt; results = BatchRunner.of(code)
+ *         .memory(Unsigned8BitMemory::new)
+ *         .runStrings(Arrays.asList("first", "second", "third"));
+ * </pre>
+ */
+public class BatchRunner {
+    private final Program program;
+
+    private Supplier<Memory> memory = Unsigned8BitMemory::new;
+    private Limits limits = Limits.NONE;
+    private ExecutorService pool = ForkJoinPool.commonPool();
+
+    private BatchRunner(Program program) {
+        this.program = program;
+    }
+
+    /**
+     * Creates a runner for the provided brainfuck code, which is compiled and optimized
+     * immediately. An {@link STB} will be thrown if the code is missing or invalid.
+     *
+     * @param code The brainfuck code to run.
+     * @return The runner.
+     */
+    public static BatchRunner of(String code) {
+        return new BatchRunner(new BFCompiler(new IndexedLooper(), new BFOptimizer()).compile(code));
+    }
+
+    /**
+     * Creates a runner for a program that has already been compiled. An {@link STB} will be
+     * thrown if the program is missing.
+     *
+     * @param program The compiled program to run.
+     * @return The runner.
+     */
+    public static BatchRunner of(Program program) {
+        if (program == null) {
+            throw new STB("Program is missing");
+        }
+        return new BatchRunner(program);
+    }
+
+    /**
+     * Sets how the {@link Memory} for each run is created. By default, every run gets a new
+     * {@link Unsigned8BitMemory}.
+     *
+     * @param memory Creates the memory for a run each time it is called.
+     * @return This runner.
+     */
+    public BatchRunner memory(Supplier<Memory> memory) {
+        this.memory = memory;
+        return this;
+    }
+
+    /**
+     * Sets the <code>ExecutorService</code> that the runs are submitted to. By default, the
+     * common <code>ForkJoinPool</code> is used. On Java versions that support them, a virtual
+     * thread per task executor can be used instead. The executor is not shut down by the runner.
+     *
+     * @param pool The executor to run on.
+     * @return This runner.
+     */
+    public BatchRunner pool(ExecutorService pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Sets the limits that each run must stay within. A run that reaches a limit fails with a
+     * {@link LimitExceeded}, which does not stop any other run, unless the limits include a
+     * {@link CancellationToken} that is then cancelled. By default, runs have no limits.
+     *
+     * @param limits The limits for each run.
+     * @return This runner.
+     */
+    public BatchRunner limits(Limits limits) {
+        if (limits == null) {
+            throw new STB("Limits are missing");
+        }
+        this.limits = limits;
+        return this;
+    }
+
+    /**
+     * Runs the program once for each <code>String</code>, which is read one character at a time
+     * without a header, in the same way as a {@link StringInput} created to skip its header.
+     *
+     * @param inputs The data for each run.
+     * @return The result of each run, in the same order as the inputs.
+     */
+    public List<BatchResult> runStrings(Collection<String> inputs) {
+        return run(inputs, data -> new StringInput(data, true));
+    }
+
+    /**
+     * Runs the program once for each byte array, which is read one unsigned byte at a time
+     * without a header. Reading past the end of an array throws an {@link STB}.
+     *
+     * @param inputs The data for each run.
+     * @return The result of each run, in the same order as the inputs.
+     */
+    public List<BatchResult> runBytes(Collection<byte[]> inputs) {
+        return run(inputs, ByteArrayInput::new);
+    }
+
+    /**
+     * Runs the program once for each file, which is read in the same way as a {@link FileInput}
+     * created to skip its header. Each file is opened when its run starts, and closed when it
+     * ends.
+     *
+     * @param filenames The files to read for each run.
+     * @return The result of each run, in the same order as the files.
+     */
+    public List<BatchResult> runFiles(Collection<String> filenames) {
+        return run(filenames, filename -> new FileInput(filename, true));
+    }
+
+    /**
+     * Runs the program once for each of the provided inputs, each of which is turned into an
+     * {@link Input} by the provided function when its run starts. The {@link Input} is closed
+     * when the run ends. This method waits for every run to finish, and an {@link STB} will be
+     * thrown if any run fails, or if the waiting thread is interrupted, in which case any runs
+     * that have not yet finished are cancelled.
+     *
+     * @param inputs The data for each run.
+     * @param input Creates the {@link Input} for a run from its data.
+     * @param <T> The type of data for each run.
+     * @return The result of each run, in the same order as the inputs.
+     */
+    public <T> List<BatchResult> run(Collection<? extends T> inputs, Function<? super T, ? extends Input> input) {
+        if (inputs == null) {
+            throw new STB("Input is missing");
+        }
+        List<Callable<BatchResult>> runs = new ArrayList<>(inputs.size());
+        for (T data : inputs) {
+            int index = runs.size();
+            runs.add(() -> runOne(index, input.apply(data)));
+        }
+        return runAll(runs);
+    }
+
+    /**
+     * Runs the program once for each element of the provided stream, in the same way as
+     * {@link #run(Collection, Function)}. The stream is read in full, in its encounter order,
+     * before any run starts, and is not closed.
+     *
+     * @param inputs The data for each run.
+     * @param input Creates the {@link Input} for a run from its data.
+     * @param <T> The type of data for each run.
+     * @return The result of each run, in the same order as the inputs.
+     */
+    public <T> List<BatchResult> run(Stream<? extends T> inputs, Function<? super T, ? extends Input> input) {
+        if (inputs == null) {
+            throw new STB("Input is missing");
+        }
+        List<Callable<BatchResult>> runs = new ArrayList<>();
+        Iterator<? extends T> iterator = inputs.iterator();
+        while (iterator.hasNext()) {
+            T data = iterator.next();
+            int index = runs.size();
+            runs.add(() -> runOne(index, input.apply(data)));
+        }
+        return runAll(runs);
+    }
+
+    private List<BatchResult> runAll(List<Callable<BatchResult>> runs) {
+        List<Future<BatchResult>> futures;
+        try {
+            futures = pool.invokeAll(runs);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new STB("Batch interrupted");
+        }
+        List<BatchResult> results = new ArrayList<>(futures.size());
+        for (int index = 0; index < futures.size(); index ++) {
+            results.add(resultOf(index, futures.get(index)));
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    private BatchResult runOne(int index, Input input) {
+        CollectedOutput output = new CollectedOutput();
+        long start = System.nanoTime();
+        try (Input closing = input) {
+            ExecutionContext context = new ExecutionContext(closing, output, memory.get());
+            if (limits == Limits.NONE) {
+                context.execute(program);
+            }
+            else {
+                context.execute(program, limits);
+            }
+        }
+        return new BatchResult(index, output.values(), System.nanoTime() - start);
+    }
+
+    private BatchResult resultOf(int index, Future<BatchResult> future) {
+        try {
+            return future.get();
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new STB("Input " + index + " failed: " + cause.getMessage(), cause);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new STB("Batch interrupted");
+        }
+    }
+
+    private static class ByteArrayInput implements Input {
+        private final byte[] data;
+
+        private int index = 0;
+
+        private ByteArrayInput(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read() {
+            if (index >= data.length) {
+                throw new STB("Read past end of data");
+            }
+            return data[index ++] & 0xFF;
+        }
+    }
+
+    private static class CollectedOutput implements Output {
+        private int[] values = new int[16];
+        private int size = 0;
+
+        @Override
+        public void write(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size ++] = value;
+        }
+
+        private int[] values() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
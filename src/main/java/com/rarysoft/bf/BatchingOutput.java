@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * Collects the values written by a running program and passes them on to another {@link Output}
+ * in blocks, through {@link Output#write(int[], int, int)}, rather than making one call for every
+ * value written. Values are passed on when the block is full, when the output is flushed, and,
+ * through an {@link Input} created by {@link #draining(Input)}, just before every read, so that
+ * an interactive program's prompts are always seen before it waits for an answer. A block of only
+ * one value is passed on through {@link Output#write(int)}.
+ */
+final class BatchingOutput implements Output {
+    /**
+     * The largest number of values that are held before being passed on.
+     */
+    static final int BATCH_SIZE = 1024;
+
+    private final Output output;
+    private final int[] values = new int[BATCH_SIZE];
+
+    private int size = 0;
+
+    BatchingOutput(Output output) {
+        this.output = output;
+    }
+
+    /**
+     * Creates an input that passes on any values held by this output before each read from the
+     * provided input.
+     *
+     * @param input The input to read from.
+     * @return The input that passes on held values before reading.
+     */
+    Input draining(Input input) {
+        return () -> {
+            drain();
+            return input.read();
+        };
+    }
+
+    @Override
+    public void write(int value) {
+        values[size ++] = value;
+        if (size == BATCH_SIZE) {
+            drain();
+        }
+    }
+
+    @Override
+    public void flush() {
+        drain();
+        output.flush();
+    }
+
+    private void drain() {
+        int count = size;
+        size = 0;
+        if (count == 1) {
+            output.write(values[0]);
+        }
+        else if (count > 1) {
+            output.write(values, 0, count);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * An {@link Output} implementation that prints to the system console, in the same way as
+ * {@link ConsoleOutput}, but holds the characters written in a buffer and writes them to standard
+ * output in blocks, directly through a channel rather than through <code>System.out</code>. When
+ * the held characters are written is decided by a {@link FlushPolicy}, and they are always written
+ * when the buffer is full or the output is closed. Anything already printed through
+ * <code>System.out</code> is flushed before each block is written, so the two stay in order.
+ * <p>
+ * To have the held characters written before the program waits for input, as
+ * {@link FlushPolicy#INPUT_READ} and {@link FlushPolicy#NEWLINE} require, the program's
+ * {@link Input} must be passed through {@link #flushingBefore(Input)}.
+ *
+ * <pre>
+ * BufferedConsoleOutput output = new BufferedConsoleOutput(FlushPolicy.INPUT_READ);
+ * new BF(output.flushingBefore(input), output, new Unsigned8BitMemory()).run(code);
+ * </pre>
+ */
+public class BufferedConsoleOutput implements Output {
+    /**
+     * The number of characters held, when no size is specified, before they must be written.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * The events, other than a full buffer or the output being closed, that cause held characters
+     * to be written. Each policy writes held characters in every situation that the policies
+     * after it do.
+     */
+    public enum FlushPolicy {
+        /**
+         * Held characters are written whenever a newline is written, as well as before input is
+         * read and whenever the output is flushed. This matches a line buffered console.
+         */
+        NEWLINE,
+        /**
+         * Held characters are written before input is read, and whenever the output is flushed,
+         * which includes the end of every run of a {@link BF} created with this output.
+         */
+        INPUT_READ,
+        /**
+         * Held characters are written whenever the output is flushed, which includes the end of
+         * every run of a {@link BF} created with this output.
+         */
+        PROGRAM_END,
+        /**
+         * Held characters are written only when the buffer is full or the output is closed, so
+         * the output must be closed once it is no longer needed.
+         */
+        BUFFER_FULL
+    }
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final CharBuffer characters;
+    private final ByteBuffer bytes;
+    private final FlushPolicy policy;
+
+    /**
+     * Creates an instance that writes held characters whenever a newline is written, using a
+     * buffer of the default size.
+     */
+    public BufferedConsoleOutput() {
+        this(FlushPolicy.NEWLINE);
+    }
+
+    /**
+     * Creates an instance that writes held characters according to the provided policy, using a
+     * buffer of the default size.
+     *
+     * @param policy When held characters are written.
+     */
+    public BufferedConsoleOutput(FlushPolicy policy) {
+        this(policy, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates an instance that writes held characters according to the provided policy, holding
+     * up to the specified number of characters. An {@link STB} will be thrown if the policy is
+     * missing or the buffer size is not positive.
+     *
+     * @param policy When held characters are written.
+     * @param bufferSize The number of characters that can be held.
+     */
+    public BufferedConsoleOutput(FlushPolicy policy, int bufferSize) {
+        this(new FileOutputStream(FileDescriptor.out).getChannel(), consoleCharset(), policy, bufferSize);
+    }
+
+    BufferedConsoleOutput(WritableByteChannel channel, Charset charset, FlushPolicy policy, int bufferSize) {
+        if (policy == null) {
+            throw new STB("Flush policy is missing");
+        }
+        if (bufferSize < 1) {
+            throw new STB("Buffer size is invalid");
+        }
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.characters = CharBuffer.allocate(Math.max(bufferSize, 2));
+        this.bytes = ByteBuffer.allocate(Math.max(bufferSize, 16));
+        this.policy = policy;
+    }
+
+    /**
+     * Creates an input that writes any held characters before each read from the provided input,
+     * when the policy is {@link FlushPolicy#INPUT_READ} or {@link FlushPolicy#NEWLINE}. For any
+     * other policy, the provided input is returned unchanged.
+     *
+     * @param input The input to read from.
+     * @return The input to give to the program.
+     */
+    public Input flushingBefore(Input input) {
+        if (policy != FlushPolicy.INPUT_READ && policy != FlushPolicy.NEWLINE) {
+            return input;
+        }
+        return new Input() {
+            @Override
+            public int read() {
+                writeHeld();
+                return input.read();
+            }
+
+            @Override
+            public void close() {
+                input.close();
+            }
+        };
+    }
+
+    @Override
+    public void write(int value) {
+        if (! characters.hasRemaining()) {
+            writeHeld();
+        }
+        characters.put((char) value);
+        if (value == '\n' && policy == FlushPolicy.NEWLINE) {
+            writeHeld();
+        }
+    }
+
+    @Override
+    public void write(int[] values, int offset, int length) {
+        boolean newline = false;
+        for (int index = offset; index < offset + length; index ++) {
+            if (! characters.hasRemaining()) {
+                writeHeld();
+            }
+            characters.put((char) values[index]);
+            newline |= values[index] == '\n';
+        }
+        if (newline && policy == FlushPolicy.NEWLINE) {
+            writeHeld();
+        }
+    }
+
+    /**
+     * Writes any held characters to the console, unless the policy is
+     * {@link FlushPolicy#BUFFER_FULL}.
+     */
+    @Override
+    public void flush() {
+        if (policy != FlushPolicy.BUFFER_FULL) {
+            writeHeld();
+        }
+    }
+
+    /**
+     * Writes any held characters to the console. Standard output itself is left open.
+     */
+    @Override
+    public void close() {
+        writeHeld();
+    }
+
+    private void writeHeld() {
+        characters.flip();
+        while (encoder.encode(characters, bytes, false).isOverflow()) {
+            drain();
+        }
+        characters.compact();
+        drain();
+    }
+
+    private void drain() {
+        bytes.flip();
+        if (bytes.hasRemaining()) {
+            System.out.flush();
+        }
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        catch (IOException e) {
+            throw new STB("Unrecoverable console write error");
+        }
+        finally {
+            bytes.clear();
+        }
+    }
+
+    private static Charset consoleCharset() {
+        String name = System.getProperty("stdout.encoding", System.getProperty("sun.stdout.encoding"));
+        try {
+            return name == null ? Charset.defaultCharset() : Charset.forName(name);
+        }
+        catch (IllegalArgumentException e) {
+            return Charset.defaultCharset();
+        }
+    }
+}
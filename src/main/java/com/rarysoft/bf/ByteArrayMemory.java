@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * An abstract {@link ArrayMemory} implementation that stores each cell in a single byte. The value
+ * range must fit within either a signed byte (-128 to 127) or an unsigned byte (0 to 255). If the
+ * lowest value is negative, cells are stored as signed bytes, and otherwise they are stored as
+ * unsigned bytes.
+ */
+public abstract class ByteArrayMemory extends ArrayMemory {
+    private final byte[] cells;
+    private final boolean signed;
+
+    /**
+     * Creates an instance with a given address range and value range. An {@link STB} will be thrown
+     * if the value range does not fit within a signed or unsigned byte.
+     *
+     * @param minAddress The lowest address value.
+     * @param maxAddress The highest address value.
+     * @param minValue The lowest memory cell value.
+     * @param maxValue The highest memory cell value.
+     */
+    protected ByteArrayMemory(int minAddress, int maxAddress, int minValue, int maxValue) {
+        super(minAddress, maxAddress, minValue, maxValue);
+        this.signed = minValue < 0;
+        if (signed ? minValue < Byte.MIN_VALUE || maxValue > Byte.MAX_VALUE : maxValue > 0xFF) {
+            throw new STB("Value range is too large");
+        }
+        this.cells = new byte[cellCount()];
+    }
+
+    @Override
+    public int read(int address) {
+        byte value = cells[indexOf(address)];
+        return signed ? value : value & 0xFF;
+    }
+
+    @Override
+    public void write(int address, int value) {
+        int index = indexOf(address);
+        checkValue(value);
+        cells[index] = (byte) value;
+    }
+
+    /**
+     * Gets the array that the cells are stored in, with the cell at the lowest address first. This
+     * gives faster execution engines direct access to the cells, and must not be used to store values
+     * that are out of range.
+     *
+     * @return The array of cells.
+     */
+    byte[] cells() {
+        return cells;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * Runs compiled programs directly against the cells of a {@link ByteArrayMemory} that holds
+ * exactly 256 values, such as {@link Unsigned8BitMemory} and {@link Signed8BitMemory}, instead of
+ * passing each instruction to an {@link Executor}. Every cell is a single byte, so adding to a
+ * cell wraps around in exactly the same way as the memory's own range does, and cells are updated
+ * with plain byte arithmetic, with no calls through the {@link Memory} interface and no range
+ * checks. Only pointer moves are checked, so that the pointer wraps around from one end of the
+ * memory to the other in the same way as it does with a {@link BFExecutor}. Input and output are
+ * still performed by the {@link BFExecutor} that shares the memory, which also holds the pointer
+ * between runs, so the results are always exactly the same as those of the executor. Programs
+ * are run from the flat code produced by {@link Superinstructions}, so that the most common
+ * sequences of instructions each cost a single dispatch.
+ */
+final class ByteInterpreter {
+    private final byte[] cells;
+    private final boolean signed;
+    private final int minAddress;
+    private final BFExecutor executor;
+
+    private ByteInterpreter(ByteArrayMemory memory, BFExecutor executor) {
+        this.cells = memory.cells();
+        this.signed = memory.minValue() < 0;
+        this.minAddress = memory.minAddress();
+        this.executor = executor;
+    }
+
+    /**
+     * Creates an interpreter for the provided memory, if the memory's cells can be worked on
+     * directly, sharing the provided executor. Memory that is wrapped by anything else, such as
+     * the memory of a {@link BF} that counts its runs in {@link BFMetrics}, is never worked on
+     * directly.
+     *
+     * @param memory The memory that programs run in.
+     * @param executor The executor that works on the same memory, which holds the pointer and
+     *                 performs input and output.
+     * @return The interpreter, or <code>null</code> if the memory's cells can not be worked on
+     *         directly.
+     */
+    static ByteInterpreter of(Memory memory, BFExecutor executor) {
+        if (! (memory instanceof ByteArrayMemory) || (long) memory.maxValue() - memory.minValue() != 0xFF) {
+            return null;
+        }
+        return new ByteInterpreter((ByteArrayMemory) memory, executor);
+    }
+
+    /**
+     * Runs a program from start to finish, starting with the executor's pointer, and leaving the
+     * executor's pointer wherever the program leaves it, even if the program fails. The program is
+     * run from its translated code, in which common sequences of instructions are fused into
+     * single superinstructions, with the program counter and the pointer kept in local variables.
+     *
+     * @param program The program to run.
+     * @see Superinstructions
+     */
+    void interpret(Program program) {
+        byte[] cells = this.cells;
+        int[] code = program.code();
+        int pointer = executor.getPointer() - minAddress;
+        int counter = 0;
+        int end = code.length;
+        try {
+            while (counter < end) {
+                switch (code[counter]) {
+                    case Superinstructions.ADD:
+                        cells[pointer] += code[counter + 1];
+                        break;
+                    case Superinstructions.MOVE:
+                        pointer = moved(pointer, code[counter + 1]);
+                        break;
+                    case Superinstructions.START_LOOP:
+                        if (cells[pointer] == 0) {
+                            counter = code[counter + 1];
+                            continue;
+                        }
+                        break;
+                    case Superinstructions.END_LOOP:
+                        if (cells[pointer] != 0) {
+                            counter = code[counter + 1];
+                            continue;
+                        }
+                        break;
+                    case Superinstructions.INPUT:
+                        executor.setPointer(pointer + minAddress);
+                        executor.performInput();
+                        break;
+                    case Superinstructions.OUTPUT:
+                        executor.setPointer(pointer + minAddress);
+                        executor.performOutput();
+                        break;
+                    case Superinstructions.CLEAR:
+                        cells[pointer] = 0;
+                        break;
+                    case Superinstructions.SCAN:
+                        int step = code[counter + 1];
+                        while (cells[pointer] != 0) {
+                            pointer = moved(pointer, step);
+                        }
+                        break;
+                    case Superinstructions.MULTIPLY:
+                        int index = code[counter + 1];
+                        multiply(pointer, program.offsets(index), program.factors(index));
+                        break;
+                    case Superinstructions.MOVE_ADD:
+                        pointer = moved(pointer, code[counter + 1]);
+                        cells[pointer] += code[counter + 2];
+                        break;
+                    case Superinstructions.ADD_MOVE:
+                        cells[pointer] += code[counter + 1];
+                        pointer = moved(pointer, code[counter + 2]);
+                        break;
+                    case Superinstructions.MOVE_ADD_MOVE:
+                        pointer = moved(pointer, code[counter + 1]);
+                        cells[pointer] += code[counter + 2];
+                        pointer = moved(pointer, code[counter + 3]);
+                        break;
+                    case Superinstructions.ADD_MOVE_ADD:
+                        cells[pointer] += code[counter + 1];
+                        pointer = moved(pointer, code[counter + 2]);
+                        cells[pointer] += code[counter + 3];
+                        break;
+                    case Superinstructions.CLEAR_MOVE:
+                        cells[pointer] = 0;
+                        pointer = moved(pointer, code[counter + 1]);
+                        break;
+                    case Superinstructions.MOVE_CLEAR:
+                        pointer = moved(pointer, code[counter + 1]);
+                        cells[pointer] = 0;
+                        break;
+                    case Superinstructions.MOVE_OUTPUT:
+                        pointer = moved(pointer, code[counter + 1]);
+                        executor.setPointer(pointer + minAddress);
+                        executor.performOutput();
+                        break;
+                    case Superinstructions.ADD_OUTPUT:
+                        cells[pointer] += code[counter + 1];
+                        executor.setPointer(pointer + minAddress);
+                        executor.performOutput();
+                        break;
+                    case Superinstructions.MOVE_END_LOOP:
+                        pointer = moved(pointer, code[counter + 1]);
+                        if (cells[pointer] != 0) {
+                            counter = code[counter + 2];
+                            continue;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                counter += Superinstructions.SLOT_SIZE;
+            }
+        }
+        finally {
+            executor.setPointer(pointer + minAddress);
+        }
+    }
+
+    private int moved(int pointer, int distance) {
+        long target = (long) pointer + distance;
+        if (target >= 0 && target < cells.length) {
+            return (int) target;
+        }
+        return (int) Math.floorMod(target, (long) cells.length);
+    }
+
+    private void multiply(int pointer, int[] offsets, int[] factors) {
+        int value = signed ? cells[pointer] : cells[pointer] & 0xFF;
+        if (value == 0) {
+            return;
+        }
+        for (int offset : offsets) {
+            if (moved(pointer, offset) == pointer) {
+                executor.setPointer(pointer + minAddress);
+                executor.performMultiply(offsets, factors);
+                return;
+            }
+        }
+        for (int target = 0; target < offsets.length; target ++) {
+            int address = moved(pointer, offsets[target]);
+            cells[address] += value * factors[target];
+        }
+        cells[pointer] = 0;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An alternative to the {@link BF} interpreter that translates each program into a JVM class, so
+ * that the program runs as plain Java code that the JVM can optimize like any other. Translation
+ * is only possible for memory that extends {@link ByteArrayMemory} and holds exactly 256 values,
+ * such as {@link Unsigned8BitMemory} and {@link Signed8BitMemory}. The generated code works
+ * directly on the memory's cells, and only calls the {@link Input} and {@link Output} for the
+ * <code>,</code> and <code>.</code> commands. Any program that can not be translated, including
+ * every program when any other kind of memory is used, is run by a {@link BF} interpreter
+ * instead, so the results are always the same as those of the interpreter.
+ * <p>
+ * Translating a program takes much longer than interpreting it once, so this class is best suited
+ * to long running programs, or to programs that are compiled once and then executed many times.
+ * The class for a compiled {@link Program} is kept for as long as the program itself is in use.
+ */
+public class BytecodeBF {
+    private static final AtomicInteger CLASS_NUMBER = new AtomicInteger();
+    private static final MethodType RUN_TYPE = MethodType.methodType(int.class, byte[].class, int.class, Input.class, Output.class);
+    private static final MethodHandle UNTRANSLATABLE = MethodHandles.constant(int.class, 0);
+
+    private final Input input;
+    private final Output output;
+    private final Memory memory;
+    private final BFExecutor executor;
+    private final BF interpreter;
+    private final byte[] cells;
+    private final Map<Program, MethodHandle> classes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Creates an instance that uses the provided {@link Input}, {@link Output}, and {@link Memory}
+     * implementations, in the same way as a {@link BF} instance created with them. Output is
+     * passed on in blocks, and the {@link Output} is flushed at the end of every run.
+     *
+     * @param input The {@link Input} implementation to use.
+     * @param output The {@link Output} implementation to use.
+     * @param memory The {@link Memory} implementation to use.
+     */
+    public BytecodeBF(Input input, Output output, Memory memory) {
+        BatchingOutput batching = new BatchingOutput(output);
+        Input draining = batching.draining(input);
+        this.input = () -> checked(draining.read());
+        this.output = batching;
+        this.memory = memory;
+        this.executor = new BFExecutor(draining, batching, memory, memory.minAddress());
+        this.interpreter = new BF(executor, new IndexedLooper(), new BFOptimizer());
+        this.cells = isTranslatable(memory) ? ((ByteArrayMemory) memory).cells() : null;
+    }
+
+    /**
+     * Runs a brainfuck program. The program is compiled and translated on every call, so
+     * {@link #compile(String)} and {@link #execute(Program)} should be used instead to run the
+     * same code more than once.
+     *
+     * @param code The brainfuck code to execute.
+     * @see BF#run(String)
+     */
+    public void run(String code) {
+        if (code == null) {
+            throw new STB("Code is missing");
+        }
+        execute(compile(code));
+    }
+
+    /**
+     * Runs a brainfuck program that has already been compiled. The program is translated the
+     * first time it is executed, and the translation is used again on every later call.
+     *
+     * @param program The compiled program to execute.
+     * @see BF#execute(Program)
+     */
+    public void execute(Program program) {
+        if (program == null) {
+            throw new STB("Program is missing");
+        }
+        MethodHandle generated = cells == null ? null : classes.computeIfAbsent(program, this::translate);
+        try {
+            if (generated == null || generated == UNTRANSLATABLE) {
+                interpreter.execute(program);
+                return;
+            }
+            int pointer = (int) generated.invokeExact(cells, executor.getPointer() - memory.minAddress(), input, output);
+            executor.setPointer(pointer + memory.minAddress());
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new STB("Unrecoverable program error", t);
+        }
+        finally {
+            output.flush();
+        }
+    }
+
+    /**
+     * Compiles a brainfuck program, with the jump target of every loop command located by a
+     * {@link IndexedLooper} and the program optimized by a {@link BFOptimizer}.
+     *
+     * @param code The brainfuck code to compile.
+     * @return The compiled program.
+     * @see BF#compile(String)
+     */
+    public Program compile(String code) {
+        return interpreter.compile(code);
+    }
+
+    /**
+     * Checks whether a program has been through translation, whether or not it could be translated.
+     *
+     * @param program The program to check.
+     * @return True if the program will not be translated again.
+     */
+    boolean isTranslated(Program program) {
+        return classes.containsKey(program);
+    }
+
+    private MethodHandle translate(Program program) {
+        String className = "com/rarysoft/bf/generated/Program" + CLASS_NUMBER.incrementAndGet();
+        byte[] bytes = new ProgramClassWriter(program, cells.length, memory.minValue() < 0).write(className);
+        if (bytes == null) {
+            return UNTRANSLATABLE;
+        }
+        Class<?> generated = new ProgramClassLoader(BytecodeBF.class.getClassLoader()).define(className.replace('/', '.'), bytes);
+        try {
+            return MethodHandles.publicLookup().findStatic(generated, ProgramClassWriter.METHOD_NAME, RUN_TYPE);
+        }
+        catch (ReflectiveOperationException e) {
+            throw new STB("Unrecoverable class generation error", e);
+        }
+    }
+
+    private int checked(int value) {
+        if (value > memory.maxValue() || value < memory.minValue()) {
+            throw new STB("Value out of range");
+        }
+        return value;
+    }
+
+    private static boolean isTranslatable(Memory memory) {
+        return memory instanceof ByteArrayMemory && (long) memory.maxValue() - memory.minValue() == 0xFF;
+    }
+
+    private static class ProgramClassLoader extends ClassLoader {
+        private ProgramClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        private Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
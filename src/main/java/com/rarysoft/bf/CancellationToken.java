@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * Lets one thread ask a program that is running on another thread to stop. A program run with
+ * {@link Limits} that include a token checks it regularly, and stops with a
+ * {@link LimitExceeded} once the token has been cancelled. A token can be linked to a parent
+ * token, in which case it is also cancelled whenever its parent is, so that one token can stop a
+ * whole group of programs while each keeps a token of its own.
+ */
+public class CancellationToken {
+    private final CancellationToken parent;
+
+    private volatile boolean cancelled = false;
+
+    /**
+     * Creates a token that has not been cancelled.
+     */
+    public CancellationToken() {
+        this(null);
+    }
+
+    /**
+     * Creates a token that has not been cancelled, but is cancelled whenever the provided parent
+     * token is.
+     *
+     * @param parent The token to follow, or <code>null</code> for none.
+     */
+    public CancellationToken(CancellationToken parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Cancels the token. Cancelling a token more than once has no further effect, and the token
+     * can not be reset.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Determines whether the token, or any parent of it, has been cancelled.
+     *
+     * @return <code>true</code> if the token has been cancelled, or <code>false</code> if not.
+     */
+    public boolean isCancelled() {
+        return cancelled || (parent != null && parent.isCancelled());
+    }
+}
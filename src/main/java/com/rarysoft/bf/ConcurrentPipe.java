@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An implementation of both the {@link Input} and {@link Output} that allows one program to read
+ * the output of another while both are running, each on its own thread. Exactly one thread may
+ * write to the pipe and exactly one thread may read from it. Values are passed through a fixed
+ * size ring buffer without locking. A read from an empty pipe waits until a value is written, and
+ * a write to a full pipe waits until a value is read, first by briefly yielding to other threads
+ * and then by parking until the other side wakes it.
+ * <p>
+ * Since the amount of data is not known in advance, there is no header. Instead, the writing side
+ * closes the pipe when it has finished, and once every value written before that has been read,
+ * each further read returns an end of stream value, which is 0 unless another value is specified.
+ * If a waiting thread is interrupted, an {@link STB} will be thrown, and the thread will remain
+ * interrupted.
+ */
+public class ConcurrentPipe implements Input, Output {
+    /**
+     * The capacity that is used when no capacity is specified.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int SPINS = 256;
+
+    private final int[] data;
+    private final int mask;
+    private final int endOfStream;
+
+    private volatile long head = 0;
+    private volatile long tail = 0;
+    private volatile boolean closed = false;
+    private volatile boolean aborted = false;
+    private volatile Thread waitingReader;
+    private volatile Thread waitingWriter;
+
+    private long cachedHead = 0;
+    private long cachedTail = 0;
+
+    /**
+     * Creates an instance with the default capacity, which returns 0 from reads once the end of
+     * the stream is reached.
+     */
+    public ConcurrentPipe() {
+        this(DEFAULT_CAPACITY, 0);
+    }
+
+    /**
+     * Creates an instance that holds at least the specified number of values that have been
+     * written but not yet read, and returns the specified value from reads once the end of the
+     * stream is reached. The capacity is rounded up to a power of two. An {@link STB} will be
+     * thrown if the capacity is not positive or is larger than 1,073,741,824.
+     *
+     * @param capacity The minimum number of values to hold.
+     * @param endOfStream The value to read once the end of the stream is reached.
+     */
+    public ConcurrentPipe(int capacity, int endOfStream) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new STB("Capacity is invalid");
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.data = new int[size];
+        this.mask = size - 1;
+        this.endOfStream = endOfStream;
+    }
+
+    /**
+     * Reads the next value, waiting for one to be written if the pipe is empty. Once the pipe has
+     * been closed and every value has been read, the end of stream value is returned.
+     *
+     * @return The next value, or the end of stream value.
+     */
+    @Override
+    public int read() {
+        long position = head;
+        if (position == cachedTail && ! awaitValue(position)) {
+            return endOfStream;
+        }
+        int value = data[(int) position & mask];
+        head = position + 1;
+        Thread writer = waitingWriter;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+        }
+        return value;
+    }
+
+    /**
+     * Writes a value, waiting for one to be read if the pipe is full. An {@link STB} will be
+     * thrown if the pipe has been closed.
+     *
+     * @param value The value to write.
+     */
+    @Override
+    public void write(int value) {
+        if (closed) {
+            throw new STB("Pipe is closed");
+        }
+        long position = tail;
+        if (position - cachedHead == data.length) {
+            awaitSpace(position);
+        }
+        data[(int) position & mask] = value;
+        tail = position + 1;
+        Thread reader = waitingReader;
+        if (reader != null) {
+            LockSupport.unpark(reader);
+        }
+    }
+
+    /**
+     * Writes a block of values, in the same order as if each value had been written individually,
+     * waiting for values to be read whenever the pipe is full. The reader is woken once for each
+     * part of the block that fits in the pipe, rather than once for every value. An {@link STB}
+     * will be thrown if the pipe has been closed.
+     *
+     * @param values The array containing the values to write.
+     * @param offset The index in the array of the first value to write.
+     * @param length The number of values to write.
+     */
+    @Override
+    public void write(int[] values, int offset, int length) {
+        int count = 0;
+        while (count < length) {
+            if (closed) {
+                throw new STB("Pipe is closed");
+            }
+            long position = tail;
+            if (position - cachedHead == data.length) {
+                awaitSpace(position);
+            }
+            int chunk = (int) Math.min(length - count, data.length - (position - cachedHead));
+            int start = (int) position & mask;
+            int first = Math.min(chunk, data.length - start);
+            System.arraycopy(values, offset + count, data, start, first);
+            System.arraycopy(values, offset + count + first, data, 0, chunk - first);
+            tail = position + chunk;
+            count += chunk;
+            Thread reader = waitingReader;
+            if (reader != null) {
+                LockSupport.unpark(reader);
+            }
+        }
+    }
+
+    /**
+     * Marks the end of the stream. Values that have already been written can still be read, after
+     * which reads return the end of stream value. Nothing more can be written after the pipe is
+     * closed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Thread reader = waitingReader;
+        if (reader != null) {
+            LockSupport.unpark(reader);
+        }
+    }
+
+    /**
+     * Stops the pipe for both sides, for a {@link Pipeline} that is cancelling its stages. A thread
+     * that is waiting to read or write is woken, and an {@link STB} is thrown from that wait and
+     * from every wait after it, without the thread being interrupted.
+     */
+    void abort() {
+        aborted = true;
+        Thread reader = waitingReader;
+        if (reader != null) {
+            LockSupport.unpark(reader);
+        }
+        Thread writer = waitingWriter;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean awaitValue(long position) {
+        for (int spin = 0; spin < SPINS; spin ++) {
+            cachedTail = tail;
+            if (position != cachedTail) {
+                return true;
+            }
+            Thread.yield();
+        }
+        waitingReader = Thread.currentThread();
+        try {
+            while (true) {
+                boolean ended = closed;
+                cachedTail = tail;
+                if (position != cachedTail) {
+                    return true;
+                }
+                if (ended) {
+                    return false;
+                }
+                if (aborted) {
+                    throw new STB("Pipe aborted");
+                }
+                park();
+            }
+        }
+        finally {
+            waitingReader = null;
+        }
+    }
+
+    private void awaitSpace(long position) {
+        for (int spin = 0; spin < SPINS; spin ++) {
+            cachedHead = head;
+            if (position - cachedHead < data.length) {
+                return;
+            }
+            Thread.yield();
+        }
+        waitingWriter = Thread.currentThread();
+        try {
+            while (true) {
+                cachedHead = head;
+                if (position - cachedHead < data.length) {
+                    return;
+                }
+                if (aborted) {
+                    throw new STB("Pipe aborted");
+                }
+                park();
+            }
+        }
+        finally {
+            waitingWriter = null;
+        }
+    }
+
+    private void park() {
+        LockSupport.park(this);
+        if (Thread.currentThread().isInterrupted()) {
+            throw new STB("Pipe wait interrupted");
+        }
+    }
+}
@@ -24,11 +24,22 @@
 package com.rarysoft.bf;
 
 /**
- * A simple {@link Output} implementation that outputs to the system console.
+ * A simple {@link Output} implementation that outputs to the system console. Every value is printed
+ * through <code>System.out</code> as soon as it is written, so {@link BufferedConsoleOutput}
+ * should be preferred for programs that produce a lot of output.
  */
 public class ConsoleOutput implements Output {
     @Override
     public void write(int value) {
         System.out.print((char) value);
     }
+
+    @Override
+    public void write(int[] values, int offset, int length) {
+        char[] characters = new char[length];
+        for (int index = 0; index < length; index ++) {
+            characters[index] = (char) values[offset + index];
+        }
+        System.out.print(characters);
+    }
 }
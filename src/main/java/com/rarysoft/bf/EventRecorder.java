@@ -0,0 +1,49 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * Records the Java Flight Recorder events of a {@link BF} created with {@link BFMetrics}. The only
+ * implementation needs the <code>jdk.jfr</code> API, which first appeared in Java 11, so it is
+ * compiled apart from the rest of the library and only loaded by a {@link Monitor} once the Flight
+ * Recorder is known to be present, which lets everything else run on Java 8. Events are passed
+ * around as <code>Object</code> for the same reason.
+ */
+interface EventRecorder {
+    Object beginCompile();
+
+    void endCompile(Object started, long codeLength, int instructions);
+
+    Object beginRun();
+
+    void endRun(Object started, long instructions, long valuesRead, long valuesWritten, long addressSpan);
+
+    Object beginInputStall();
+
+    Object beginOutputStall();
+
+    void endStall(Object started);
+
+    void failure(Throwable failure);
+}
@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * The state of a single run of a compiled {@link Program}: the {@link Memory}, the pointer, and the
+ * {@link Input} and {@link Output}. A {@link Program} never changes once it is compiled, so one
+ * program can be shared by any number of threads, each executing it with its own context. A
+ * context is small and cheap to create, and is not itself safe to use from more than one thread
+ * at a time.
+ *
+ * <pre>
+ * Program program = new BFCompiler(new IndexedLooper(), new BFOptimizer()).compile(code);
+ *
+ * // on each thread
+ * new ExecutionContext(input, output, new Unsigned8BitMemory()).execute(program);
+ * </pre>
+ */
+public class ExecutionContext {
+    private final BatchingOutput output;
+    private final Memory memory;
+    private final BFExecutor executor;
+    private final ByteInterpreter bytes;
+
+    /**
+     * Creates a context that uses a new {@link Unsigned8BitMemory} along with the provided
+     * {@link Input} and {@link Output}.
+     *
+     * @param input The {@link Input} to read from.
+     * @param output The {@link Output} to write to.
+     */
+    public ExecutionContext(Input input, Output output) {
+        this(input, output, new Unsigned8BitMemory());
+    }
+
+    /**
+     * Creates a context that uses the provided {@link Input}, {@link Output}, and {@link Memory}.
+     * The pointer starts at the lowest address of the memory. As with {@link BF}, programs run in
+     * an 8-bit {@link ByteArrayMemory} work on the memory's cells directly.
+     *
+     * @param input The {@link Input} to read from.
+     * @param output The {@link Output} to write to.
+     * @param memory The {@link Memory} to run in.
+     */
+    public ExecutionContext(Input input, Output output, Memory memory) {
+        this.output = new BatchingOutput(output);
+        this.memory = memory;
+        this.executor = new BFExecutor(this.output.draining(input), this.output, memory, memory.minAddress());
+        this.bytes = ByteInterpreter.of(memory, executor);
+    }
+
+    /**
+     * Runs a compiled program in this context. The program starts with the memory and pointer as
+     * they were left by any earlier run in this context. Output is passed on in blocks, in the same
+     * way as by a {@link BF} created with an {@link Output}, and the {@link Output} is flushed when
+     * the program finishes. An {@link STB} will be thrown if the program is missing.
+     *
+     * @param program The compiled program to execute.
+     */
+    public void execute(Program program) {
+        if (program == null) {
+            throw new STB("Program is missing");
+        }
+        try {
+            if (bytes != null) {
+                bytes.interpret(program);
+            }
+            else {
+                Interpreter.interpret(program, executor);
+            }
+        }
+        finally {
+            output.flush();
+        }
+    }
+
+    /**
+     * Runs a compiled program in this context, in the same way as {@link #execute(Program)}, but
+     * stops it with a {@link LimitExceeded} if it reaches any of the provided limits. An
+     * {@link STB} will be thrown if the program or the limits are missing.
+     *
+     * @param program The compiled program to execute.
+     * @param limits The limits that the run must stay within.
+     * @see BF#execute(Program, Limits)
+     */
+    public void execute(Program program, Limits limits) {
+        if (program == null) {
+            throw new STB("Program is missing");
+        }
+        if (limits == null) {
+            throw new STB("Limits are missing");
+        }
+        try {
+            Interpreter.interpret(program, executor, limits, new long[1]);
+        }
+        finally {
+            output.flush();
+        }
+    }
+
+    /**
+     * Runs a compiled program in this context, in the same way as {@link #execute(Program)}, while
+     * counting how many times each instruction is performed and how many times and for how long
+     * each loop runs. An {@link STB} will be thrown if the program is missing.
+     *
+     * @param program The compiled program to profile.
+     * @return The counts collected while the program ran.
+     * @see BF#profile(Program)
+     */
+    public Profile profile(Program program) {
+        if (program == null) {
+            throw new STB("Program is missing");
+        }
+        try {
+            return Interpreter.profile(program, executor);
+        }
+        finally {
+            output.flush();
+        }
+    }
+
+    /**
+     * Gets the memory that programs run in.
+     *
+     * @return The memory.
+     */
+    public Memory memory() {
+        return memory;
+    }
+
+    /**
+     * Gets the current value of the pointer.
+     *
+     * @return The value of the pointer.
+     */
+    public int pointer() {
+        return executor.getPointer();
+    }
+}
@@ -24,7 +24,10 @@
 package com.rarysoft.bf;
 
 /**
- * Executes the eight brainfuck commands.
+ * Executes the eight brainfuck commands, along with the additional operations that an
+ * {@link Optimizer} may replace sequences of commands with. The additional operations have default
+ * implementations that are built on the eight commands, so implementations only need to override
+ * them in order to perform them more efficiently.
  */
 public interface Executor {
     /**
@@ -66,4 +69,85 @@ public interface Executor {
      * Preforms the output operation.
      */
     void performOutput();
+
+    /**
+     * Performs the add operation, adding the specified amount to the memory cell at the pointer.
+     * The result must be the same as performing the increment operation (or, for a negative
+     * amount, the decrement operation) the specified number of times, which is exactly what the
+     * default implementation does.
+     *
+     * @param amount The amount to add, which may be negative.
+     */
+    default void performAdd(int amount) {
+        for (int count = 0; count < amount; count ++) {
+            performIncrement();
+        }
+        for (int count = 0; count > amount; count --) {
+            performDecrement();
+        }
+    }
+
+    /**
+     * Performs the move operation, moving the pointer by the specified distance. The result must
+     * be the same as performing the increment pointer operation (or, for a negative distance, the
+     * decrement pointer operation) the specified number of times, which is exactly what the
+     * default implementation does.
+     *
+     * @param distance The distance to move, which may be negative.
+     */
+    default void performMove(int distance) {
+        for (int count = 0; count < distance; count ++) {
+            performIncrementPointer();
+        }
+        for (int count = 0; count > distance; count --) {
+            performDecrementPointer();
+        }
+    }
+
+    /**
+     * Performs the clear operation, setting the memory cell at the pointer to 0. The result must
+     * be the same as performing the decrement operation until the start loop operation indicates
+     * that the cell is 0, which is exactly what the default implementation does.
+     */
+    default void performClear() {
+        while (! performStartLoop()) {
+            performDecrement();
+        }
+    }
+
+    /**
+     * Performs the scan operation, moving the pointer by the specified step until it points to a
+     * memory cell that is 0. The result must be the same as performing the move operation until
+     * the start loop operation indicates that the cell is 0, which is exactly what the default
+     * implementation does.
+     *
+     * @param step The distance to move each time, which may be negative.
+     */
+    default void performScan(int step) {
+        while (! performStartLoop()) {
+            performMove(step);
+        }
+    }
+
+    /**
+     * Performs the multiply operation, adding the memory cell at the pointer, multiplied by each
+     * of the specified factors, to the cell at the matching offset from the pointer, and then
+     * setting the cell at the pointer to 0. The pointer is left where it started. The result must
+     * be the same as repeatedly decrementing the cell at the pointer and adding each factor to the
+     * cell at the matching offset until the start loop operation indicates that the cell is 0,
+     * which is exactly what the default implementation does.
+     *
+     * @param offsets The offsets, relative to the pointer, of the cells to add to.
+     * @param factors The factors to multiply by, in the same order as the offsets.
+     */
+    default void performMultiply(int[] offsets, int[] factors) {
+        while (! performStartLoop()) {
+            performDecrement();
+            for (int target = 0; target < offsets.length; target ++) {
+                performMove(offsets[target]);
+                performAdd(factors[target]);
+                performMove(- offsets[target]);
+            }
+        }
+    }
 }
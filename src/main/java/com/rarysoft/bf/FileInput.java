@@ -24,19 +24,27 @@
 package com.rarysoft.bf;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 /**
  * An implementation of {@link Input} that reads from a file. Instances can be created with
  * or without header data. With header data, the first read will return the size of the
  * file. This size indicates the number of additional reads that can safely be executed
- * before the end of file is reached. Without a header, the file size must be known.
+ * before the end of file is reached. Without a header, the file size must be known. The
+ * file is read in blocks into a buffer, rather than one byte at a time.
  */
 public class FileInput implements Input {
+    /**
+     * The size of the buffer, in bytes, that is used when no size is specified.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
     private final int length;
-    private final InputStream inputStream;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
 
     private boolean headerRead = false;
 
@@ -62,6 +70,20 @@ public class FileInput implements Input {
      * @param skipHeader Whether or not to skip the header.
      */
     public FileInput(String filename, boolean skipHeader) {
+        this(filename, skipHeader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates an instance that reads input from the specified file, reading up to the specified
+     * number of bytes at a time into a buffer. The header is included or skipped in the same way
+     * as {@link #FileInput(String, boolean)}. An {@link STB} will be thrown if the file does not
+     * exist or is too large, or if the buffer size is not positive.
+     *
+     * @param filename The file to read data from.
+     * @param skipHeader Whether or not to skip the header.
+     * @param bufferSize The size of the buffer in bytes.
+     */
+    public FileInput(String filename, boolean skipHeader, int bufferSize) {
         File file = new File(filename);
         if (! file.exists() || ! file.isFile()) {
             throw new STB("File not found");
@@ -69,13 +91,18 @@ public class FileInput implements Input {
         if (file.length() > Integer.MAX_VALUE) {
             throw new STB("File is too large");
         }
+        if (bufferSize < 1) {
+            throw new STB("Buffer size is invalid");
+        }
         this.length = (int) file.length();
         try {
-            this.inputStream = new FileInputStream(file);
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
         }
         catch (IOException e) {
-            throw new STB(e.getMessage());
+            throw new STB(e.getMessage(), e);
         }
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer.flip();
         this.headerRead = skipHeader;
     }
 
@@ -96,15 +123,107 @@ public class FileInput implements Input {
             headerRead = true;
             return length;
         }
-        try {
-            int value = inputStream.read();
-            if (value < 0) {
-                throw new STB("Read past end of file");
+        if (! buffer.hasRemaining() && ! fill()) {
+            throw new STB("Read past end of file");
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Reads a block of bytes from the file, in the same order as if each byte had been read
+     * individually. The header is never included in a block, and is simply skipped if it has
+     * not yet been read. Fewer bytes than requested are read only when the end of the file is
+     * reached.
+     *
+     * @param values The array to read the bytes into.
+     * @param offset The index in the array to store the first byte at.
+     * @param length The maximum number of bytes to read.
+     * @return The number of bytes read, which is 0 if the end of the file has been reached.
+     */
+    public int read(byte[] values, int offset, int length) {
+        headerRead = true;
+        int count = 0;
+        while (count < length && (buffer.hasRemaining() || fill())) {
+            int chunk = Math.min(length - count, buffer.remaining());
+            buffer.get(values, offset + count, chunk);
+            count += chunk;
+        }
+        return count;
+    }
+
+    /**
+     * Reads a block of values from the file, starting with the header if there is one and it has
+     * not yet been read, followed by one unsigned byte of the file for each value. Fewer values
+     * than requested are read only when the end of the file is reached.
+     *
+     * @param values The array to read the values into.
+     * @param offset The index in the array to store the first value at.
+     * @param length The maximum number of values to read.
+     * @return The number of values read, which is 0 if the end of the file has been reached.
+     */
+    @Override
+    public int read(int[] values, int offset, int length) {
+        int count = 0;
+        if (! headerRead && length > 0) {
+            headerRead = true;
+            values[offset] = this.length;
+            count ++;
+        }
+        while (count < length && (buffer.hasRemaining() || fill())) {
+            int chunk = Math.min(length - count, buffer.remaining());
+            for (int index = 0; index < chunk; index ++) {
+                values[offset + count + index] = buffer.get() & 0xFF;
             }
-            return value;
+            count += chunk;
+        }
+        return count;
+    }
+
+    /**
+     * Reads bytes from the file into the remaining space of the buffer, in the same way as
+     * {@link #read(byte[], int, int)}, so the header is never included.
+     *
+     * @param values The buffer to read the bytes into.
+     * @return The number of bytes read, which is 0 if the end of the file has been reached.
+     */
+    @Override
+    public int read(ByteBuffer values) {
+        headerRead = true;
+        int count = 0;
+        while (values.hasRemaining() && (buffer.hasRemaining() || fill())) {
+            int chunk = Math.min(values.remaining(), buffer.remaining());
+            int limit = buffer.limit();
+            buffer.limit(buffer.position() + chunk);
+            values.put(buffer);
+            buffer.limit(limit);
+            count += chunk;
+        }
+        return count;
+    }
+
+    /**
+     * Closes the file. Nothing more can be read after the input is closed.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        }
+        catch (IOException e) {
+            throw new STB("Unrecoverable file close error", e);
+        }
+    }
+
+    private boolean fill() {
+        buffer.clear();
+        try {
+            int count = channel.read(buffer);
+            buffer.flip();
+            return count > 0;
         }
         catch (IOException e) {
-            throw new STB("Unrecoverable file read error");
+            buffer.flip();
+            throw new STB("Unrecoverable file read error", e);
         }
     }
 }
@@ -23,14 +23,25 @@
  */
 package com.rarysoft.bf;
 
-import java.io.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * An implementation of {@link Output} that writes to a file. Existing files will always
- * be overwritten.
+ * be overwritten. Values are held in a buffer and written to the file in blocks, so the
+ * file is only guaranteed to be complete once the output has been flushed or closed.
  */
 public class FileOutput implements Output {
-    private final OutputStream outputStream;
+    /**
+     * The size of the buffer, in bytes, that is used when no size is specified.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
 
     /**
      * Creates an instance that writes input to the specified file. If the file already
@@ -52,21 +63,142 @@ public class FileOutput implements Output {
      * @param append Whether or not to append to existing data.
      */
     public FileOutput(String filename, boolean append) {
+        this(filename, append, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates an instance that writes input to the specified file, holding up to the specified
+     * number of bytes in a buffer before writing them to the file. The file is appended to or
+     * overwritten in the same way as {@link #FileOutput(String, boolean)}. An {@link STB} will
+     * be thrown if the buffer size is not positive.
+     *
+     * @param filename The file to write data to.
+     * @param append Whether or not to append to existing data.
+     * @param bufferSize The size of the buffer in bytes.
+     */
+    public FileOutput(String filename, boolean append, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new STB("Buffer size is invalid");
+        }
         try {
-            this.outputStream = new FileOutputStream(filename, append);
+            this.channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
         }
         catch (IOException e) {
-            throw new STB(e.getMessage());
+            throw new STB(e.getMessage(), e);
         }
+        this.buffer = ByteBuffer.allocate(bufferSize);
     }
 
     @Override
     public void write(int value) {
+        if (! buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes a block of bytes to the file, in the same order as if each byte had been written
+     * individually. Blocks that are at least as large as the buffer are written to the file
+     * directly.
+     *
+     * @param values The array containing the bytes to write.
+     * @param offset The index in the array of the first byte to write.
+     * @param length The number of bytes to write.
+     */
+    public void write(byte[] values, int offset, int length) {
+        if (length >= buffer.capacity()) {
+            flush();
+            drain(ByteBuffer.wrap(values, offset, length));
+            return;
+        }
+        if (length > buffer.remaining()) {
+            flush();
+        }
+        buffer.put(values, offset, length);
+    }
+
+    /**
+     * Writes a block of values to the file, keeping the lowest 8 bits of each value, in the same
+     * order as if each value had been written individually.
+     *
+     * @param values The array containing the values to write.
+     * @param offset The index in the array of the first value to write.
+     * @param length The number of values to write.
+     */
+    @Override
+    public void write(int[] values, int offset, int length) {
+        int count = 0;
+        while (count < length) {
+            if (! buffer.hasRemaining()) {
+                flush();
+            }
+            int chunk = Math.min(length - count, buffer.remaining());
+            for (int index = 0; index < chunk; index ++) {
+                buffer.put((byte) values[offset + count + index]);
+            }
+            count += chunk;
+        }
+    }
+
+    /**
+     * Writes every remaining byte in the buffer to the file, in the same way as
+     * {@link #write(byte[], int, int)}.
+     *
+     * @param values The buffer containing the bytes to write, which is left with none remaining.
+     */
+    @Override
+    public void write(ByteBuffer values) {
+        if (values.remaining() >= buffer.capacity()) {
+            flush();
+            drain(values);
+            return;
+        }
+        if (values.remaining() > buffer.remaining()) {
+            flush();
+        }
+        buffer.put(values);
+    }
+
+    /**
+     * Writes any bytes that are being held in the buffer to the file.
+     */
+    @Override
+    public void flush() {
+        buffer.flip();
+        drain(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Writes any bytes that are being held in the buffer to the file, and closes the file. The
+     * file is closed even if the bytes can not be written. Nothing more can be written after the
+     * output is closed.
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        }
+        finally {
+            try {
+                channel.close();
+            }
+            catch (IOException e) {
+                throw new STB("Unrecoverable file close error", e);
+            }
+        }
+    }
+
+    private void drain(ByteBuffer bytes) {
         try {
-            outputStream.write(value);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
         }
         catch (IOException e) {
-            throw new STB("Unrecoverable file write error");
+            throw new STB("Unrecoverable file write error", e);
         }
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * A {@link Looper} implementation that pairs every loop command in the code once, using a
+ * {@link LoopIndex}, and then answers each request by looking up the pair rather than scanning
+ * the code. Compiling code with deeply nested or many loops therefore takes time in proportion to
+ * the length of the code, instead of the length of the code multiplied by the number of loops as
+ * with the {@link BFLooper}. The first request for a command that has no match throws a
+ * {@link LoopMismatch} that reports every unmatched command in the code, with its position.
+ * <p>
+ * The looper returned by {@link #index(String)} keeps the index of its code, and a
+ * {@link BFCompiler} uses it to look up every loop of a compilation. This looper also keeps the
+ * index of the code it was most recently asked about, so that a run of requests for the same code
+ * indexes it only once even when they are made directly. This implementation can be used by many
+ * threads at once.
+ *
+ * @see com.rarysoft.bf.Looper
+ */
+public class IndexedLooper implements Looper {
+    private volatile Indexed last;
+
+    /**
+     * Creates an instance that has not yet indexed any code.
+     */
+    public IndexedLooper() {
+    }
+
+    private IndexedLooper(Indexed last) {
+        this.last = last;
+    }
+
+    @Override
+    public int findEndOfLoopDelta(String code, int position) {
+        int delta = indexOf(code).matchOf(position) - position;
+        if (delta < 0) {
+            throw new STB("Position is not a loop start");
+        }
+        return delta;
+    }
+
+    @Override
+    public int findStartOfLoopDelta(String code, int position) {
+        int delta = indexOf(code).matchOf(position) - position;
+        if (delta > 0) {
+            throw new STB("Position is not a loop end");
+        }
+        return delta;
+    }
+
+    @Override
+    public Looper index(String code) {
+        return new IndexedLooper(new Indexed(code, LoopIndex.of(code)));
+    }
+
+    private LoopIndex indexOf(String code) {
+        Indexed indexed = last;
+        if (indexed != null && indexed.code.equals(code)) {
+            return indexed.index;
+        }
+        LoopIndex index = LoopIndex.of(code);
+        last = new Indexed(code, index);
+        return index;
+    }
+
+    private static final class Indexed {
+        private final String code;
+        private final LoopIndex index;
+
+        private Indexed(String code, LoopIndex index) {
+            this.code = code;
+            this.index = index;
+        }
+    }
+}
@@ -23,15 +23,61 @@
  */
 package com.rarysoft.bf;
 
+import java.nio.ByteBuffer;
+
 /**
  * An interface for an {@link Executor} implementation to read from when it encounters
- * code that indicates to input a value.
+ * code that indicates to input a value. Inputs that hold resources, such as open files, release
+ * them when closed, while all other inputs can simply be left unclosed. Values can also be read in
+ * blocks, which implementations can override to transfer a whole block at once rather than one
+ * value at a time.
  */
-public interface Input {
+public interface Input extends AutoCloseable {
     /**
      * Reads from the input.
      *
      * @return The value read.
      */
     int read();
+
+    /**
+     * Reads a block of values from the input, in the same order as if each value had been read
+     * individually. Fewer values than requested are read only when the input has no more values
+     * to give. By default, {@link #read()} is called once for each value requested.
+     *
+     * @param values The array to read the values into.
+     * @param offset The index in the array to store the first value at.
+     * @param length The maximum number of values to read.
+     * @return The number of values read.
+     */
+    default int read(int[] values, int offset, int length) {
+        for (int index = offset; index < offset + length; index ++) {
+            values[index] = read();
+        }
+        return length;
+    }
+
+    /**
+     * Reads values from the input into the remaining space of the buffer, keeping the lowest 8
+     * bits of each value, in the same order as if each value had been read individually. Fewer
+     * values than there is space for are read only when the input has no more values to give. By
+     * default, {@link #read()} is called once for each byte of space remaining.
+     *
+     * @param values The buffer to read the values into.
+     * @return The number of values read.
+     */
+    default int read(ByteBuffer values) {
+        int count = values.remaining();
+        while (values.hasRemaining()) {
+            values.put((byte) read());
+        }
+        return count;
+    }
+
+    /**
+     * Closes the input, releasing any resources that it holds. By default, this does nothing.
+     */
+    @Override
+    default void close() {
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * An abstract {@link ArrayMemory} implementation that stores each cell in a single int, and can
+ * therefore store any value range.
+ */
+public abstract class IntArrayMemory extends ArrayMemory {
+    private final int[] cells;
+
+    /**
+     * Creates an instance with a given address range and value range.
+     *
+     * @param minAddress The lowest address value.
+     * @param maxAddress The highest address value.
+     * @param minValue The lowest memory cell value.
+     * @param maxValue The highest memory cell value.
+     */
+    protected IntArrayMemory(int minAddress, int maxAddress, int minValue, int maxValue) {
+        super(minAddress, maxAddress, minValue, maxValue);
+        this.cells = new int[cellCount()];
+    }
+
+    @Override
+    public int read(int address) {
+        return cells[indexOf(address)];
+    }
+
+    @Override
+    public void write(int address, int value) {
+        int index = indexOf(address);
+        checkValue(value);
+        cells[index] = value;
+    }
+}
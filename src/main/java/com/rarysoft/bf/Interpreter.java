@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.Arrays;
+
+/**
+ * Runs compiled programs by passing each instruction to an {@link Executor}. The interpreter holds
+ * no state of its own, so any number of programs can be run at once, on any number of threads, as
+ * long as each run has its own executor.
+ */
+final class Interpreter {
+    /**
+     * The number of instructions performed between each check of the time limit and
+     * cancellation, when a program is run with {@link Limits}.
+     */
+    static final int CHECK_INTERVAL = 4096;
+
+    private Interpreter() {
+    }
+
+    /**
+     * Runs a program from start to finish with the provided executor.
+     *
+     * @param program The program to run.
+     * @param executor The executor to perform each instruction with.
+     */
+    static void interpret(Program program, Executor executor) {
+        int index = 0;
+        int size = program.size();
+        while (index < size) {
+            index = perform(program, executor, index);
+        }
+    }
+
+    /**
+     * Runs a program from start to finish with the provided executor, in the same way as
+     * {@link #interpret(Program, Executor)}, while counting the instructions performed and
+     * stopping the program with a {@link LimitExceeded} if it reaches any of the provided limits.
+     * The instruction and output limits are checked before every instruction, while the time limit
+     * and cancellation are checked once every {@link #CHECK_INTERVAL} instructions. A scan
+     * instruction is performed one move at a time, with each move counted as an instruction, so
+     * that a scan that never finds a 0 cell is stopped like any other endless loop. The count is
+     * stored even if the program fails or is stopped part way through.
+     *
+     * @param program The program to run.
+     * @param executor The executor to perform each instruction with.
+     * @param limits The limits that the run must stay within.
+     * @param performed Receives the number of instructions performed, in its first element.
+     */
+    static void interpret(Program program, Executor executor, Limits limits, long[] performed) {
+        long maxInstructions = limits.maxInstructions();
+        long maxOutput = limits.maxOutput();
+        long maxNanos = limits.maxNanos();
+        CancellationToken cancellation = limits.cancellation();
+        long start = System.nanoTime();
+        long count = 0;
+        long written = 0;
+        long checkpoint = Math.min(CHECK_INTERVAL, maxInstructions);
+        int index = 0;
+        int size = program.size();
+        try {
+            check(cancellation, start, maxNanos);
+            while (index < size) {
+                if (count == checkpoint) {
+                    checkpoint = checkpoint(count, maxInstructions, cancellation, start, maxNanos);
+                }
+                int opcode = program.opcode(index);
+                if (opcode == Opcode.OUTPUT && written ++ == maxOutput) {
+                    throw new LimitExceeded(LimitExceeded.Limit.OUTPUT, "Output limit exceeded");
+                }
+                if (opcode == Opcode.SCAN) {
+                    int step = program.operand(index);
+                    count ++;
+                    while (! executor.performStartLoop()) {
+                        if (count == checkpoint) {
+                            checkpoint = checkpoint(count, maxInstructions, cancellation, start, maxNanos);
+                        }
+                        executor.performMove(step);
+                        count ++;
+                    }
+                    index ++;
+                    continue;
+                }
+                index = perform(program, executor, index);
+                count ++;
+            }
+        }
+        finally {
+            performed[0] = count;
+        }
+    }
+
+    private static long checkpoint(long count, long maxInstructions, CancellationToken cancellation, long start, long maxNanos) {
+        if (count == maxInstructions) {
+            throw new LimitExceeded(LimitExceeded.Limit.INSTRUCTIONS, "Instruction limit exceeded");
+        }
+        check(cancellation, start, maxNanos);
+        return Math.min(count + CHECK_INTERVAL, maxInstructions);
+    }
+
+    private static void check(CancellationToken cancellation, long start, long maxNanos) {
+        if (cancellation != null && cancellation.isCancelled()) {
+            throw new LimitExceeded(LimitExceeded.Limit.CANCELLED, "Run cancelled");
+        }
+        if (maxNanos != Long.MAX_VALUE && System.nanoTime() - start > maxNanos) {
+            throw new LimitExceeded(LimitExceeded.Limit.TIME, "Time limit exceeded");
+        }
+    }
+
+    /**
+     * Runs a program from start to finish with the provided executor, in the same way as
+     * {@link #interpret(Program, Executor)}, while counting how many times each instruction is
+     * performed, and how many times and for how long each loop runs. This is kept apart from
+     * {@link #interpret(Program, Executor)} so that programs that are not being profiled pay
+     * nothing for it.
+     *
+     * @param program The program to run.
+     * @param executor The executor to perform each instruction with.
+     * @return The counts collected while the program ran.
+     */
+    static Profile profile(Program program, Executor executor) {
+        int size = program.size();
+        long[] counts = new long[size];
+        long[] entries = new long[size];
+        long[] iterations = new long[size];
+        long[] elapsedNanos = new long[size];
+        long[] started = new long[16];
+        int depth = 0;
+        int previous = -1;
+        int index = 0;
+        while (index < size) {
+            counts[index] ++;
+            int opcode = program.opcode(index);
+            if (opcode == Opcode.START_LOOP && previous != program.operand(index)) {
+                if (depth == started.length) {
+                    started = Arrays.copyOf(started, depth * 2);
+                }
+                started[depth ++] = System.nanoTime();
+                entries[index] ++;
+            }
+            int next = perform(program, executor, index);
+            if (opcode == Opcode.START_LOOP && next == index + 1) {
+                iterations[index] ++;
+            }
+            else if (opcode == Opcode.END_LOOP && next == index + 1 && depth > 0) {
+                elapsedNanos[program.operand(index)] += System.nanoTime() - started[-- depth];
+            }
+            previous = index;
+            index = next;
+        }
+        return new Profile(program, counts, entries, iterations, elapsedNanos);
+    }
+
+    private static int perform(Program program, Executor executor, int index) {
+        switch (program.opcode(index)) {
+            case Opcode.INCREMENT:
+                executor.performIncrement();
+                break;
+            case Opcode.DECREMENT:
+                executor.performDecrement();
+                break;
+            case Opcode.INCREMENT_POINTER:
+                executor.performIncrementPointer();
+                break;
+            case Opcode.DECREMENT_POINTER:
+                executor.performDecrementPointer();
+                break;
+            case Opcode.START_LOOP:
+                if (executor.performStartLoop()) {
+                    return program.operand(index);
+                }
+                break;
+            case Opcode.END_LOOP:
+                if (executor.performEndLoop()) {
+                    return program.operand(index);
+                }
+                break;
+            case Opcode.INPUT:
+                executor.performInput();
+                break;
+            case Opcode.OUTPUT:
+                executor.performOutput();
+                break;
+            case Opcode.ADD:
+                executor.performAdd(program.operand(index));
+                break;
+            case Opcode.MOVE:
+                executor.performMove(program.operand(index));
+                break;
+            case Opcode.CLEAR:
+                executor.performClear();
+                break;
+            case Opcode.SCAN:
+                executor.performScan(program.operand(index));
+                break;
+            case Opcode.MULTIPLY:
+                executor.performMultiply(program.offsets(index), program.factors(index));
+                break;
+            default:
+                break;
+        }
+        return index + 1;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * The {@link STB} thrown when a program is stopped because it reached one of the {@link Limits}
+ * it was run with, or because it was cancelled.
+ */
+public class LimitExceeded extends STB {
+    /**
+     * The reasons that a program can be stopped.
+     */
+    public enum Limit {
+        /**
+         * The program performed as many instructions as it was allowed.
+         */
+        INSTRUCTIONS,
+        /**
+         * The program ran for as long as it was allowed.
+         */
+        TIME,
+        /**
+         * The program wrote as many values as it was allowed, and tried to write another.
+         */
+        OUTPUT,
+        /**
+         * The program's {@link CancellationToken} was cancelled.
+         */
+        CANCELLED
+    }
+
+    private final Limit limit;
+
+    /**
+     * Creates an instance for the provided limit, with the provided informational message.
+     *
+     * @param limit The limit that was reached.
+     * @param message The explanation of the error that occurred.
+     */
+    public LimitExceeded(Limit limit, String message) {
+        super(message);
+        this.limit = limit;
+    }
+
+    /**
+     * Gets the limit that the program reached.
+     *
+     * @return The limit that was reached.
+     */
+    public Limit limit() {
+        return limit;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The limits that a single run of a program must stay within: the number of instructions it may
+ * perform, how long it may run, how many values it may write, and a {@link CancellationToken}
+ * through which it can be stopped at any time. A program that reaches a limit is stopped with a
+ * {@link LimitExceeded}. Limits are checked by the interpreter itself, so even a program stuck in
+ * an endless loop such as <code>+[]</code> is stopped, but a program that is waiting for input or
+ * output is only stopped once the read or write returns.
+ * <p>
+ * Instances never change, and each method returns a new instance with one limit changed, so a
+ * single instance can be shared by any number of runs.
+ *
+ * <pre>
+ * Limits limits = new Limits()
+ *         .instructions(100000000)
+ *         .time(5, TimeUnit.SECONDS)
+ *         .output(65536);
+ *
+ * bf.execute(program, limits);
+ * </pre>
+ */
+public class Limits {
+    static final Limits NONE = new Limits();
+
+    private final long instructions;
+    private final long nanos;
+    private final long output;
+    private final CancellationToken cancellation;
+
+    /**
+     * Creates an instance with no limits and no {@link CancellationToken}.
+     */
+    public Limits() {
+        this(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, null);
+    }
+
+    private Limits(long instructions, long nanos, long output, CancellationToken cancellation) {
+        this.instructions = instructions;
+        this.nanos = nanos;
+        this.output = output;
+        this.cancellation = cancellation;
+    }
+
+    /**
+     * Creates a copy of these limits with the provided maximum number of instructions. Each
+     * compiled instruction counts as one, so an optimized program may perform many commands in a
+     * single instruction, except that each move of a scan instruction counts as one, since a scan
+     * may never end. An {@link STB} will be thrown if the maximum is negative.
+     *
+     * @param maximum The number of instructions that a run may perform.
+     * @return The new limits.
+     */
+    public Limits instructions(long maximum) {
+        if (maximum < 0) {
+            throw new STB("Limit is invalid");
+        }
+        return new Limits(maximum, nanos, output, cancellation);
+    }
+
+    /**
+     * Creates a copy of these limits with the provided maximum time that a run may take. An
+     * {@link STB} will be thrown if the time is negative or the unit is missing.
+     *
+     * @param duration The time that a run may take.
+     * @param unit The unit of the time.
+     * @return The new limits.
+     */
+    public Limits time(long duration, TimeUnit unit) {
+        if (duration < 0 || unit == null) {
+            throw new STB("Limit is invalid");
+        }
+        return new Limits(instructions, unit.toNanos(duration), output, cancellation);
+    }
+
+    /**
+     * Creates a copy of these limits with the provided maximum number of values that a run may
+     * write. An {@link STB} will be thrown if the maximum is negative.
+     *
+     * @param maximum The number of values that a run may write.
+     * @return The new limits.
+     */
+    public Limits output(long maximum) {
+        if (maximum < 0) {
+            throw new STB("Limit is invalid");
+        }
+        return new Limits(instructions, nanos, maximum, cancellation);
+    }
+
+    /**
+     * Creates a copy of these limits with the provided {@link CancellationToken}.
+     *
+     * @param cancellation The token to stop a run with, or <code>null</code> for none.
+     * @return The new limits.
+     */
+    public Limits cancellation(CancellationToken cancellation) {
+        return new Limits(instructions, nanos, output, cancellation);
+    }
+
+    /**
+     * Gets the maximum number of instructions that a run may perform.
+     *
+     * @return The maximum number of instructions, or <code>Long.MAX_VALUE</code> for no limit.
+     */
+    public long maxInstructions() {
+        return instructions;
+    }
+
+    /**
+     * Gets the maximum time that a run may take.
+     *
+     * @return The maximum time in nanoseconds, or <code>Long.MAX_VALUE</code> for no limit.
+     */
+    public long maxNanos() {
+        return nanos;
+    }
+
+    /**
+     * Gets the maximum number of values that a run may write.
+     *
+     * @return The maximum number of values, or <code>Long.MAX_VALUE</code> for no limit.
+     */
+    public long maxOutput() {
+        return output;
+    }
+
+    /**
+     * Gets the token that a run can be stopped with.
+     *
+     * @return The token, or <code>null</code> if there is none.
+     */
+    public CancellationToken cancellation() {
+        return cancellation;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.Arrays;
+
+/**
+ * The matching loop command of every <code>[</code> and <code>]</code> command in some brainfuck
+ * code, found in a single pass over the code using a stack of the loops that are still open. Once
+ * an index is created, the match of any loop command is found without scanning the code again.
+ * Commands that have no match are recorded rather than stopping the pass, so that every one of
+ * them can be reported together by a single {@link LoopMismatch}. An index never changes once it
+ * is created, so it can be used by many threads at once.
+ */
+public final class LoopIndex {
+    private static final int NOT_A_LOOP = -1;
+    private static final int UNMATCHED = -2;
+
+    private final int[] matches;
+    private final int[] unmatchedStarts;
+    private final int[] unmatchedEnds;
+
+    private LoopIndex(int[] matches, int[] unmatchedStarts, int[] unmatchedEnds) {
+        this.matches = matches;
+        this.unmatchedStarts = unmatchedStarts;
+        this.unmatchedEnds = unmatchedEnds;
+    }
+
+    /**
+     * Creates the index of the provided code. An {@link STB} will be thrown if the code is
+     * missing, but not if any loop command has no match, so that an index can also be created for
+     * part of a program.
+     *
+     * @param code The code to index.
+     * @return The index of the code.
+     */
+    public static LoopIndex of(String code) {
+        if (code == null) {
+            throw new STB("Code is missing");
+        }
+        int[] matches = new int[code.length()];
+        int[] open = new int[64];
+        int depth = 0;
+        int[] unmatchedEnds = new int[0];
+        int unmatchedEndCount = 0;
+        for (int position = 0; position < code.length(); position ++) {
+            char token = code.charAt(position);
+            if (token == BFDialect.START_LOOP) {
+                if (depth == open.length) {
+                    open = Arrays.copyOf(open, depth * 2);
+                }
+                open[depth ++] = position;
+                matches[position] = UNMATCHED;
+            }
+            else if (token == BFDialect.END_LOOP) {
+                if (depth == 0) {
+                    if (unmatchedEndCount == unmatchedEnds.length) {
+                        unmatchedEnds = Arrays.copyOf(unmatchedEnds, Math.max(unmatchedEndCount * 2, 4));
+                    }
+                    unmatchedEnds[unmatchedEndCount ++] = position;
+                    matches[position] = UNMATCHED;
+                }
+                else {
+                    int start = open[-- depth];
+                    matches[start] = position;
+                    matches[position] = start;
+                }
+            }
+            else {
+                matches[position] = NOT_A_LOOP;
+            }
+        }
+        return new LoopIndex(matches, Arrays.copyOf(open, depth), Arrays.copyOf(unmatchedEnds, unmatchedEndCount));
+    }
+
+    /**
+     * Gets the position of the loop command that matches the loop command at the provided
+     * position. If the command at the position has no match, a {@link LoopMismatch} reporting
+     * every unmatched command in the code will be thrown. An {@link STB} will be thrown if the
+     * position is outside of the code or is not a loop command.
+     *
+     * @param position The position of a <code>[</code> or <code>]</code> command.
+     * @return The position of the matching command.
+     */
+    public int matchOf(int position) {
+        if (position < 0) {
+            throw new STB("Position before start of code");
+        }
+        if (position >= matches.length) {
+            throw new STB("Position after end of code");
+        }
+        int match = matches[position];
+        if (match == NOT_A_LOOP) {
+            throw new STB("Position is not a loop command");
+        }
+        if (match == UNMATCHED) {
+            throw mismatch();
+        }
+        return match;
+    }
+
+    /**
+     * Indicates whether every loop command in the code has a match.
+     *
+     * @return Whether the loops in the code are balanced.
+     */
+    public boolean isBalanced() {
+        return unmatchedStarts.length == 0 && unmatchedEnds.length == 0;
+    }
+
+    /**
+     * Throws a {@link LoopMismatch} reporting every unmatched command in the code, unless the
+     * loops in the code are balanced.
+     */
+    public void validate() {
+        if (! isBalanced()) {
+            throw mismatch();
+        }
+    }
+
+    private LoopMismatch mismatch() {
+        return new LoopMismatch(unmatchedStarts, unmatchedEnds);
+    }
+}
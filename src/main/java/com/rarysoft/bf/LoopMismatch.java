@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * The {@link STB} thrown when code contains <code>[</code> commands without a matching
+ * <code>]</code> command, or <code>]</code> commands without a matching <code>[</code> command.
+ * Every unmatched command in the code is reported at once, rather than only the first one found,
+ * and the position of each one is available from the exception as well as in its message.
+ */
+public class LoopMismatch extends STB {
+    private static final int LISTED_POSITIONS = 10;
+
+    private final int[] unmatchedStarts;
+    private final int[] unmatchedEnds;
+
+    /**
+     * Creates an instance for the provided unmatched commands, with a message listing their
+     * positions.
+     *
+     * @param unmatchedStarts The positions of the <code>[</code> commands that have no end, in
+     *                        order.
+     * @param unmatchedEnds The positions of the <code>]</code> commands that have no start, in
+     *                      order.
+     */
+    public LoopMismatch(int[] unmatchedStarts, int[] unmatchedEnds) {
+        super(messageFor(unmatchedStarts, unmatchedEnds));
+        this.unmatchedStarts = unmatchedStarts.clone();
+        this.unmatchedEnds = unmatchedEnds.clone();
+    }
+
+    /**
+     * Gets the positions of the <code>[</code> commands that have no matching <code>]</code>
+     * command.
+     *
+     * @return The positions, in order, which may be empty.
+     */
+    public int[] unmatchedStarts() {
+        return unmatchedStarts.clone();
+    }
+
+    /**
+     * Gets the positions of the <code>]</code> commands that have no matching <code>[</code>
+     * command.
+     *
+     * @return The positions, in order, which may be empty.
+     */
+    public int[] unmatchedEnds() {
+        return unmatchedEnds.clone();
+    }
+
+    private static String messageFor(int[] unmatchedStarts, int[] unmatchedEnds) {
+        StringBuilder message = new StringBuilder();
+        if (unmatchedStarts.length > 0) {
+            message.append("Loop has no end at ").append(positionsOf(unmatchedStarts));
+        }
+        if (unmatchedEnds.length > 0) {
+            if (message.length() > 0) {
+                message.append("; ");
+            }
+            message.append("Loop has no start at ").append(positionsOf(unmatchedEnds));
+        }
+        return message.toString();
+    }
+
+    private static String positionsOf(int[] positions) {
+        StringBuilder listed = new StringBuilder(positions.length == 1 ? "position " : "positions ");
+        int count = Math.min(positions.length, LISTED_POSITIONS);
+        for (int index = 0; index < count; index ++) {
+            if (index > 0) {
+                listed.append(", ");
+            }
+            listed.append(positions[index]);
+        }
+        if (positions.length > count) {
+            listed.append(" and ").append(positions.length - count).append(" more");
+        }
+        return listed.toString();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * The counts collected for one loop of a program while it was profiled.
+ *
+ * @see Profile
+ */
+public class LoopProfile {
+    private final int startPosition;
+    private final int endPosition;
+    private final long entries;
+    private final long iterations;
+    private final long elapsedNanos;
+
+    /**
+     * Creates an instance with the provided counts.
+     *
+     * @param startPosition The position in the code of the <code>[</code> command of the loop.
+     * @param endPosition The position in the code of the <code>]</code> command of the loop.
+     * @param entries The number of times the loop was reached.
+     * @param iterations The number of times the body of the loop was run.
+     * @param elapsedNanos The time spent in the loop, in nanoseconds.
+     */
+    public LoopProfile(int startPosition, int endPosition, long entries, long iterations, long elapsedNanos) {
+        this.startPosition = startPosition;
+        this.endPosition = endPosition;
+        this.entries = entries;
+        this.iterations = iterations;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the position in the code of the <code>[</code> command that starts the loop.
+     *
+     * @return The position of the start of the loop.
+     */
+    public int startPosition() {
+        return startPosition;
+    }
+
+    /**
+     * Gets the position in the code of the <code>]</code> command that ends the loop.
+     *
+     * @return The position of the end of the loop.
+     */
+    public int endPosition() {
+        return endPosition;
+    }
+
+    /**
+     * Gets the number of times the loop was reached, whether or not its body was then run.
+     *
+     * @return The number of entries.
+     */
+    public long entries() {
+        return entries;
+    }
+
+    /**
+     * Gets the number of times the body of the loop was run, over all of its entries.
+     *
+     * @return The number of iterations.
+     */
+    public long iterations() {
+        return iterations;
+    }
+
+    /**
+     * Gets the time spent in the loop, from each entry until it was left, including the time
+     * spent in any loops nested in it.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "Loop " + startPosition + "-" + endPosition + ": " + entries + " entries, " + iterations + " iterations in " + elapsedNanos + " ns";
+    }
+}
@@ -60,4 +60,19 @@ public interface Looper {
      * @return The delta to add to the index of the end of the loop to find the start of the loop.
      */
     int findStartOfLoopDelta(String code, int position);
+
+    /**
+     * Returns a looper to use for locating every loop in the provided code, as a {@link BFCompiler}
+     * does when it compiles the code. Implementations that can prepare the code once, such as by
+     * indexing its loops, can return a looper that answers each request for that code from what
+     * was prepared, rather than examining the code again. The returned looper must be given the
+     * same code, and the same answers must be returned as by this looper. This default
+     * implementation returns this looper, since it prepares nothing.
+     *
+     * @param code The code that every loop will be located in.
+     * @return The looper to use for the code.
+     */
+    default Looper index(String code) {
+        return this;
+    }
 }
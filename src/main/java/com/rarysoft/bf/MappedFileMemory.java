@@ -0,0 +1,223 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link Memory} implementation that stores its cells in a file, which is mapped directly into
+ * memory outside of the Java heap. This allows the memory to be much larger than the heap without
+ * adding to garbage collection work, and allows the memory to outlive the program or be shared with
+ * other processes. If the file already exists, its contents are used as the initial cell values,
+ * and if it is too small, it is extended with cells that are 0. Cells are stored as single bytes if
+ * the value range fits within a signed or unsigned byte, as two bytes if it fits within a signed or
+ * unsigned short, and as four bytes otherwise. As with the array based implementations, if the
+ * lowest value is negative, cells are stored as signed values, and otherwise they are stored as
+ * unsigned values.
+ */
+public class MappedFileMemory implements Memory, Closeable {
+    private static final int SEGMENT_SHIFT = 30;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private final int minAddress;
+    private final int maxAddress;
+    private final int minValue;
+    private final int maxValue;
+    private final int cellShift;
+    private final boolean signed;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Creates an instance that stores its cells in the specified file, with a given address range
+     * and value range. An {@link STB} will be thrown if the filename is missing, if either range is
+     * empty, or if the file cannot be opened or mapped, in which case the file is not left open.
+     *
+     * @param filename The file to store the cells in.
+     * @param minAddress The lowest address value.
+     * @param maxAddress The highest address value.
+     * @param minValue The lowest memory cell value.
+     * @param maxValue The highest memory cell value.
+     */
+    public MappedFileMemory(String filename, int minAddress, int maxAddress, int minValue, int maxValue) {
+        if (filename == null) {
+            throw new STB("Filename is missing");
+        }
+        if (maxAddress < minAddress) {
+            throw new STB("Address range is empty");
+        }
+        if (maxValue < minValue) {
+            throw new STB("Value range is empty");
+        }
+        this.minAddress = minAddress;
+        this.maxAddress = maxAddress;
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.signed = minValue < 0;
+        this.cellShift = cellShiftFor(minValue, maxValue);
+        long size = ((long) maxAddress - minAddress + 1) << cellShift;
+        FileChannel opened = null;
+        boolean mapped = false;
+        try {
+            opened = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int segmentCount = (int) (((size - 1) >>> SEGMENT_SHIFT) + 1);
+            MappedByteBuffer[] buffers = new MappedByteBuffer[segmentCount];
+            for (int segment = 0; segment < segmentCount; segment ++) {
+                long start = (long) segment << SEGMENT_SHIFT;
+                long length = Math.min(size - start, 1L << SEGMENT_SHIFT);
+                buffers[segment] = opened.map(FileChannel.MapMode.READ_WRITE, start, length);
+            }
+            this.channel = opened;
+            this.segments = buffers;
+            mapped = true;
+        }
+        catch (IOException e) {
+            throw new STB("Memory file could not be mapped: " + e.getMessage(), e);
+        }
+        finally {
+            if (! mapped && opened != null) {
+                closeQuietly(opened);
+            }
+        }
+    }
+
+    @Override
+    public int read(int address) {
+        if (address > maxAddress || address < minAddress) {
+            throw new STB("Address out of range");
+        }
+        long offset = ((long) address - minAddress) << cellShift;
+        MappedByteBuffer segment = segments[(int) (offset >>> SEGMENT_SHIFT)];
+        int position = (int) offset & SEGMENT_MASK;
+        switch (cellShift) {
+            case 0:
+                byte byteValue = segment.get(position);
+                return signed ? byteValue : byteValue & 0xFF;
+            case 1:
+                short shortValue = segment.getShort(position);
+                return signed ? shortValue : shortValue & 0xFFFF;
+            default:
+                return segment.getInt(position);
+        }
+    }
+
+    @Override
+    public void write(int address, int value) {
+        if (address > maxAddress || address < minAddress) {
+            throw new STB("Address out of range");
+        }
+        if (value > maxValue || value < minValue) {
+            throw new STB("Value out of range");
+        }
+        long offset = ((long) address - minAddress) << cellShift;
+        MappedByteBuffer segment = segments[(int) (offset >>> SEGMENT_SHIFT)];
+        int position = (int) offset & SEGMENT_MASK;
+        switch (cellShift) {
+            case 0:
+                segment.put(position, (byte) value);
+                break;
+            case 1:
+                segment.putShort(position, (short) value);
+                break;
+            default:
+                segment.putInt(position, value);
+                break;
+        }
+    }
+
+    @Override
+    public int minAddress() {
+        return minAddress;
+    }
+
+    @Override
+    public int maxAddress() {
+        return maxAddress;
+    }
+
+    @Override
+    public int minValue() {
+        return minValue;
+    }
+
+    @Override
+    public int maxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Writes any changes to the cells out to the file. Changes are normally written out by the
+     * operating system in its own time, so this is only needed to make sure that the file is
+     * complete at a particular point, such as when taking a snapshot.
+     */
+    public void flush() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Writes any changes to the cells out to the file and closes the file. The memory can still be
+     * read from and written to after it is closed, but changes are no longer guaranteed to reach
+     * the file.
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        }
+        finally {
+            try {
+                channel.close();
+            }
+            catch (IOException e) {
+                throw new STB("Unrecoverable file close error", e);
+            }
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        }
+        catch (IOException e) {
+            // the failure that led to closing the channel is the one worth reporting
+        }
+    }
+
+    private static int cellShiftFor(int minValue, int maxValue) {
+        if (minValue < 0 ? minValue >= Byte.MIN_VALUE && maxValue <= Byte.MAX_VALUE : maxValue <= 0xFF) {
+            return 0;
+        }
+        if (minValue < 0 ? minValue >= Short.MIN_VALUE && maxValue <= Short.MAX_VALUE : maxValue <= 0xFFFF) {
+            return 1;
+        }
+        return 2;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.function.Supplier;
+
+/**
+ * Collects the counts of a {@link BF} created with {@link BFMetrics}, by wrapping its
+ * {@link Input}, {@link Output}, and {@link Memory}, which also times every read and write, and
+ * by running its programs with an interpreter loop that counts instructions. Counts are passed on
+ * to the {@link BFMetrics} at the end of every run, and Flight Recorder events are recorded when
+ * the Flight Recorder is present. A monitor belongs to a single {@link BF}, so it needs no
+ * synchronization of its own.
+ */
+final class Monitor {
+    private static final EventRecorder EVENTS = loadEventRecorder();
+
+    private final BFMetrics metrics;
+
+    private long valuesRead;
+    private long valuesWritten;
+    private long inputNanos;
+    private long outputNanos;
+    private int lowestAddress;
+    private int highestAddress;
+
+    Monitor(BFMetrics metrics) {
+        if (metrics == null) {
+            throw new STB("Metrics are missing");
+        }
+        this.metrics = metrics;
+    }
+
+    Input input(Input input) {
+        return new Input() {
+            @Override
+            public int read() {
+                Object stall = EVENTS != null ? EVENTS.beginInputStall() : null;
+                long start = System.nanoTime();
+                int value = input.read();
+                inputNanos += System.nanoTime() - start;
+                if (stall != null) {
+                    EVENTS.endStall(stall);
+                }
+                valuesRead ++;
+                return value;
+            }
+
+            @Override
+            public void close() {
+                input.close();
+            }
+        };
+    }
+
+    Output output(Output output) {
+        return new Output() {
+            @Override
+            public void write(int value) {
+                Object stall = EVENTS != null ? EVENTS.beginOutputStall() : null;
+                long start = System.nanoTime();
+                output.write(value);
+                outputNanos += System.nanoTime() - start;
+                if (stall != null) {
+                    EVENTS.endStall(stall);
+                }
+                valuesWritten ++;
+            }
+
+            @Override
+            public void write(int[] values, int offset, int length) {
+                Object stall = EVENTS != null ? EVENTS.beginOutputStall() : null;
+                long start = System.nanoTime();
+                output.write(values, offset, length);
+                outputNanos += System.nanoTime() - start;
+                if (stall != null) {
+                    EVENTS.endStall(stall);
+                }
+                valuesWritten += length;
+            }
+
+            @Override
+            public void flush() {
+                Object stall = EVENTS != null ? EVENTS.beginOutputStall() : null;
+                long start = System.nanoTime();
+                output.flush();
+                outputNanos += System.nanoTime() - start;
+                if (stall != null) {
+                    EVENTS.endStall(stall);
+                }
+            }
+
+            @Override
+            public void close() {
+                output.close();
+            }
+        };
+    }
+
+    Memory memory(Memory memory) {
+        return new Memory() {
+            @Override
+            public int read(int address) {
+                touch(address);
+                return memory.read(address);
+            }
+
+            @Override
+            public void write(int address, int value) {
+                touch(address);
+                memory.write(address, value);
+            }
+
+            @Override
+            public int minAddress() {
+                return memory.minAddress();
+            }
+
+            @Override
+            public int maxAddress() {
+                return memory.maxAddress();
+            }
+
+            @Override
+            public int minValue() {
+                return memory.minValue();
+            }
+
+            @Override
+            public int maxValue() {
+                return memory.maxValue();
+            }
+        };
+    }
+
+    Program compile(Supplier<Program> compilation, long codeLength) {
+        Object event = EVENTS != null ? EVENTS.beginCompile() : null;
+        boolean failed = true;
+        try {
+            Program program = compilation.get();
+            failed = false;
+            if (event != null) {
+                EVENTS.endCompile(event, codeLength, program.size());
+            }
+            return program;
+        }
+        catch (RuntimeException e) {
+            if (EVENTS != null) {
+                EVENTS.failure(e);
+            }
+            throw e;
+        }
+        finally {
+            metrics.recordCompilation(failed);
+        }
+    }
+
+    void execute(Program program, Executor executor, Output output, Limits limits) {
+        valuesRead = 0;
+        valuesWritten = 0;
+        inputNanos = 0;
+        outputNanos = 0;
+        lowestAddress = Integer.MAX_VALUE;
+        highestAddress = Integer.MIN_VALUE;
+        long[] performed = new long[1];
+        Object event = EVENTS != null ? EVENTS.beginRun() : null;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Interpreter.interpret(program, executor, limits, performed);
+            failed = false;
+        }
+        catch (RuntimeException e) {
+            if (EVENTS != null) {
+                EVENTS.failure(e);
+            }
+            throw e;
+        }
+        finally {
+            try {
+                output.flush();
+            }
+            finally {
+                long elapsedNanos = System.nanoTime() - start;
+                long addressSpan = highestAddress < lowestAddress ? 0 : (long) highestAddress - lowestAddress + 1;
+                metrics.recordRun(elapsedNanos, inputNanos, outputNanos, performed[0], valuesRead, valuesWritten, addressSpan, failed);
+                if (event != null) {
+                    EVENTS.endRun(event, performed[0], valuesRead, valuesWritten, addressSpan);
+                }
+            }
+        }
+    }
+
+    private void touch(int address) {
+        if (address < lowestAddress) {
+            lowestAddress = address;
+        }
+        if (address > highestAddress) {
+            highestAddress = address;
+        }
+    }
+
+    private static EventRecorder loadEventRecorder() {
+        if (! isFlightRecorderPresent()) {
+            return null;
+        }
+        try {
+            return (EventRecorder) Class.forName("com.rarysoft.bf.FlightRecorderEvents").getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static boolean isFlightRecorderPresent() {
+        try {
+            Class.forName("jdk.jfr.Event", false, Monitor.class.getClassLoader());
+            return true;
+        }
+        catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
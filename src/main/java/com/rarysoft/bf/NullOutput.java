@@ -29,4 +29,7 @@ package com.rarysoft.bf;
 public class NullOutput implements Output {
     @Override
     public void write(int value) {}
+
+    @Override
+    public void write(int[] values, int offset, int length) {}
 }
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * Defines the instructions that brainfuck code is compiled into. Each of the eight brainfuck
+ * commands defined in {@link BFDialect} has a matching opcode. The remaining opcodes are never
+ * produced directly by compiling code, but are produced by an {@link Optimizer} in place of
+ * sequences of commands.
+ *
+ * @see com.rarysoft.bf.Program
+ */
+public class Opcode {
+    /**
+     * The increment instruction, compiled from the {@link BFDialect#INCREMENT} command.
+     */
+    public static final int INCREMENT = 0;
+
+    /**
+     * The decrement instruction, compiled from the {@link BFDialect#DECREMENT} command.
+     */
+    public static final int DECREMENT = 1;
+
+    /**
+     * The increment pointer instruction, compiled from the {@link BFDialect#INCREMENT_POINTER}
+     * command.
+     */
+    public static final int INCREMENT_POINTER = 2;
+
+    /**
+     * The decrement pointer instruction, compiled from the {@link BFDialect#DECREMENT_POINTER}
+     * command.
+     */
+    public static final int DECREMENT_POINTER = 3;
+
+    /**
+     * The start loop instruction, compiled from the {@link BFDialect#START_LOOP} command. The
+     * operand is the index of the matching end loop instruction.
+     */
+    public static final int START_LOOP = 4;
+
+    /**
+     * The end loop instruction, compiled from the {@link BFDialect#END_LOOP} command. The
+     * operand is the index of the matching start loop instruction.
+     */
+    public static final int END_LOOP = 5;
+
+    /**
+     * The input instruction, compiled from the {@link BFDialect#INPUT} command.
+     */
+    public static final int INPUT = 6;
+
+    /**
+     * The output instruction, compiled from the {@link BFDialect#OUTPUT} command.
+     */
+    public static final int OUTPUT = 7;
+
+    /**
+     * The add instruction, which adds its operand to the memory cell at the pointer. The operand
+     * may be negative. Produced in place of a sequence of increment and decrement commands.
+     */
+    public static final int ADD = 8;
+
+    /**
+     * The move instruction, which moves the pointer by its operand. The operand may be negative.
+     * Produced in place of a sequence of increment pointer and decrement pointer commands.
+     */
+    public static final int MOVE = 9;
+
+    /**
+     * The clear instruction, which sets the memory cell at the pointer to 0. Produced in place of
+     * a loop that only increments or decrements the cell at the pointer, such as <code>[-]</code>.
+     */
+    public static final int CLEAR = 10;
+
+    /**
+     * The scan instruction, which moves the pointer by its operand until it reaches a memory cell
+     * that is 0. Produced in place of a loop that only moves the pointer, such as <code>[&gt;]</code>.
+     */
+    public static final int SCAN = 11;
+
+    /**
+     * The multiply instruction, which adds the memory cell at the pointer, multiplied by a factor, to
+     * each of a number of other cells, and then sets the memory cell at the pointer to 0. The operand
+     * is the index of the offsets and factors in the program's multiply tables. Produced in place of a
+     * loop that steps the cell at the pointer towards 0 by 1 each time through and otherwise only adds
+     * to other cells, leaving the pointer where it started, such as <code>[-&gt;+&gt;++&lt;&lt;]</code>.
+     */
+    public static final int MULTIPLY = 12;
+
+    /**
+     * The number of opcodes, each of which is less than this value.
+     */
+    static final int COUNT = 13;
+}
@@ -23,15 +23,62 @@
  */
 package com.rarysoft.bf;
 
+import java.nio.ByteBuffer;
+
 /**
  * An interface for an {@link Executor} implementation to write to when it encounters
- * code that indicates to output a value.
+ * code that indicates to output a value. Outputs may hold written values in a buffer rather than
+ * passing each one on immediately, in which case they pass them on when flushed or closed.
+ * Values can also be written in blocks, which implementations can override to pass on a whole
+ * block at once rather than one value at a time.
  */
-public interface Output {
+public interface Output extends AutoCloseable {
     /**
      * Writes the provided value to the output.
      *
      * @param value The value to write.
      */
     void write(int value);
+
+    /**
+     * Writes a block of values to the output, in the same order as if each value had been written
+     * individually. By default, {@link #write(int)} is called for each value.
+     *
+     * @param values The array containing the values to write.
+     * @param offset The index in the array of the first value to write.
+     * @param length The number of values to write.
+     */
+    default void write(int[] values, int offset, int length) {
+        for (int index = offset; index < offset + length; index ++) {
+            write(values[index]);
+        }
+    }
+
+    /**
+     * Writes every remaining byte in the buffer to the output as an unsigned value, in the same
+     * order as if each value had been written individually. By default, {@link #write(int)} is
+     * called for each byte.
+     *
+     * @param values The buffer containing the bytes to write, which is left with none remaining.
+     */
+    default void write(ByteBuffer values) {
+        while (values.hasRemaining()) {
+            write(values.get() & 0xFF);
+        }
+    }
+
+    /**
+     * Passes on any values that are being held in a buffer. By default, this does nothing.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Flushes the output and releases any resources that it holds. By default, this only flushes
+     * the output.
+     */
+    @Override
+    default void close() {
+        flush();
+    }
 }
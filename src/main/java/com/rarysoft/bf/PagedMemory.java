@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * An abstract {@link Memory} implementation that divides the address range into fixed-size pages
+ * of cells, and only allocates a page the first time a cell in it is written to. Reading from a
+ * page that has never been written to simply returns an automatic 0 value. The amount of memory
+ * used is therefore proportional to the number of pages that have been written to, rather than to
+ * the size of the address range, which makes this implementation suitable for very large address
+ * ranges with a few widely scattered regions in use. The most recently used page is remembered, so
+ * moving the pointer within a page never has to look the page up.
+ */
+public abstract class PagedMemory implements Memory {
+    /**
+     * The number of cells in each page when no page size is specified.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+
+    private static final int MIN_PAGE_SIZE = 16;
+    private static final int DIRECTORY_SHIFT = 10;
+    private static final int DIRECTORY_MASK = (1 << DIRECTORY_SHIFT) - 1;
+
+    private final int minAddress;
+    private final int maxAddress;
+    private final int minValue;
+    private final int maxValue;
+    private final int pageShift;
+    private final int pageMask;
+    private final int[][][] directories;
+
+    private long cachedPageNumber = -1;
+    private int[] cachedPage;
+    private int pageCount;
+
+    /**
+     * Creates an instance with a given address range and value range, and the default page size.
+     *
+     * @param minAddress The lowest address value.
+     * @param maxAddress The highest address value.
+     * @param minValue The lowest memory cell value.
+     * @param maxValue The highest memory cell value.
+     */
+    protected PagedMemory(int minAddress, int maxAddress, int minValue, int maxValue) {
+        this(minAddress, maxAddress, minValue, maxValue, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Creates an instance with a given address range, value range, and page size. The page size
+     * must be a power of two no smaller than 16. An {@link STB} will be thrown if the page size is
+     * invalid or if either range is empty.
+     *
+     * @param minAddress The lowest address value.
+     * @param maxAddress The highest address value.
+     * @param minValue The lowest memory cell value.
+     * @param maxValue The highest memory cell value.
+     * @param pageSize The number of cells in each page.
+     */
+    protected PagedMemory(int minAddress, int maxAddress, int minValue, int maxValue, int pageSize) {
+        if (maxAddress < minAddress) {
+            throw new STB("Address range is empty");
+        }
+        if (maxValue < minValue) {
+            throw new STB("Value range is empty");
+        }
+        if (pageSize < MIN_PAGE_SIZE || Integer.bitCount(pageSize) != 1) {
+            throw new STB("Page size is invalid");
+        }
+        this.minAddress = minAddress;
+        this.maxAddress = maxAddress;
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.pageShift = Integer.numberOfTrailingZeros(pageSize);
+        this.pageMask = pageSize - 1;
+        long lastPageNumber = ((long) maxAddress - minAddress) >>> pageShift;
+        this.directories = new int[(int) (lastPageNumber >>> DIRECTORY_SHIFT) + 1][][];
+    }
+
+    /**
+     * Gets the number of pages that have been allocated so far.
+     *
+     * @return The number of allocated pages.
+     */
+    public int pageCount() {
+        return pageCount;
+    }
+
+    @Override
+    public int read(int address) {
+        if (address > maxAddress || address < minAddress) {
+            throw new STB("Address out of range");
+        }
+        long offset = (long) address - minAddress;
+        long pageNumber = offset >>> pageShift;
+        int[] page = pageNumber == cachedPageNumber ? cachedPage : findPage(pageNumber);
+        return page == null ? 0 : page[(int) offset & pageMask];
+    }
+
+    @Override
+    public void write(int address, int value) {
+        if (address > maxAddress || address < minAddress) {
+            throw new STB("Address out of range");
+        }
+        if (value > maxValue || value < minValue) {
+            throw new STB("Value out of range");
+        }
+        long offset = (long) address - minAddress;
+        long pageNumber = offset >>> pageShift;
+        int[] page = pageNumber == cachedPageNumber ? cachedPage : findPage(pageNumber);
+        if (page == null) {
+            page = allocatePage(pageNumber);
+        }
+        page[(int) offset & pageMask] = value;
+    }
+
+    @Override
+    public int minAddress() {
+        return minAddress;
+    }
+
+    @Override
+    public int maxAddress() {
+        return maxAddress;
+    }
+
+    @Override
+    public int minValue() {
+        return minValue;
+    }
+
+    @Override
+    public int maxValue() {
+        return maxValue;
+    }
+
+    private int[] findPage(long pageNumber) {
+        int[][] directory = directories[(int) (pageNumber >>> DIRECTORY_SHIFT)];
+        int[] page = directory == null ? null : directory[(int) pageNumber & DIRECTORY_MASK];
+        cachedPageNumber = pageNumber;
+        cachedPage = page;
+        return page;
+    }
+
+    private int[] allocatePage(long pageNumber) {
+        int directoryNumber = (int) (pageNumber >>> DIRECTORY_SHIFT);
+        if (directories[directoryNumber] == null) {
+            directories[directoryNumber] = new int[DIRECTORY_MASK + 1][];
+        }
+        int[] page = new int[pageMask + 1];
+        directories[directoryNumber][(int) pageNumber & DIRECTORY_MASK] = page;
+        pageCount ++;
+        cachedPageNumber = pageNumber;
+        cachedPage = page;
+        return page;
+    }
+}
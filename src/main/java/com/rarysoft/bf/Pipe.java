@@ -23,18 +23,27 @@
  */
 package com.rarysoft.bf;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * An implementation of both the {@link Input} and {@link Output} to allow the output of
  * one program to be piped in as input to another program. Optional header data can be
  * provided to indicate to the program accepting the data as input how much data can be
- * read.
+ * read. Values are held in a ring buffer that grows as needed, unless a capacity is
+ * specified, in which case writing to a full pipe will result in an {@link STB}.
  */
 public class Pipe implements Input, Output {
-    private final List<Integer> data = new ArrayList<>();
+    /**
+     * The capacity of a pipe that has no limit on the number of values it can hold.
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
 
+    private static final int INITIAL_SIZE = 16;
+    private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+    private final int capacity;
+
+    private int[] data;
+    private int head = 0;
+    private int size = 0;
     private boolean headerRead = false;
 
     /**
@@ -52,6 +61,24 @@ public class Pipe implements Input, Output {
      * @param skipHeader Whether or not to skip the header.
      */
     public Pipe(boolean skipHeader) {
+        this(skipHeader, UNBOUNDED);
+    }
+
+    /**
+     * Creates an instance that holds no more than the specified number of values that have been
+     * written but not yet read. The first argument indicates whether or not to skip header data,
+     * in the same way as {@link #Pipe(boolean)}. An {@link STB} will be thrown if the capacity is
+     * not positive.
+     *
+     * @param skipHeader Whether or not to skip the header.
+     * @param capacity The maximum number of values to hold, or {@link #UNBOUNDED}.
+     */
+    public Pipe(boolean skipHeader, int capacity) {
+        if (capacity < 1) {
+            throw new STB("Capacity is invalid");
+        }
+        this.capacity = capacity;
+        this.data = new int[Math.min(capacity, INITIAL_SIZE)];
         this.headerRead = skipHeader;
     }
 
@@ -59,16 +86,44 @@ public class Pipe implements Input, Output {
     public int read() {
         if (! headerRead) {
             headerRead = true;
-            return data.size();
+            return size;
         }
-        if (data.isEmpty()) {
+        if (size == 0) {
             throw new STB("Illegal read operation");
         }
-        return data.remove(0);
+        int value = data[head];
+        head = head + 1 == data.length ? 0 : head + 1;
+        size --;
+        return value;
     }
 
     @Override
     public void write(int value) {
-        data.add(value);
+        if (size == data.length) {
+            grow();
+        }
+        int tail = head + size;
+        data[tail < data.length ? tail : tail - data.length] = value;
+        size ++;
+    }
+
+    /**
+     * Does nothing, since a pipe holds no resources and passes on every value as soon as it is
+     * written.
+     */
+    @Override
+    public void close() {
+    }
+
+    private void grow() {
+        if (size >= capacity || size >= MAX_SIZE) {
+            throw new STB("Pipe is full");
+        }
+        int[] grown = new int[(int) Math.min(Math.min((long) data.length * 2, capacity), MAX_SIZE)];
+        int first = Math.min(size, data.length - head);
+        System.arraycopy(data, head, grown, 0, first);
+        System.arraycopy(data, 0, grown, first, size - first);
+        data = grown;
+        head = 0;
     }
 }
@@ -0,0 +1,364 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs a chain of brainfuck programs like a Unix pipeline, with the output of each program read
+ * as the input of the next. Every program runs at the same time on its own thread, and each is
+ * connected to the next by a {@link ConcurrentPipe} of limited capacity, so a slow stage holds
+ * back the stages before it rather than letting unread output pile up. Every stage after the
+ * first reads 0 once the stage before it has finished and all of its output has been read.
+ * <p>
+ * If any stage fails, the other stages are cancelled, which takes effect the next time each of
+ * them reads or writes a value, or wakes a stage that is waiting on the pipe to or from another
+ * stage, and {@link #run()} throws an {@link STB} describing the failure. The threads of the
+ * stages are never interrupted, so the {@link Input} and {@link Output} of the pipeline are never
+ * closed by a cancellation. When {@link #limits(Limits)} are set, a stage that is busy computing
+ * is also stopped within a few thousand instructions. Without limits, every stage runs at full
+ * speed, and a stage that is busy computing is only stopped when it next reads or writes.
+ *
+ * <pre>
+ * List&lt;StageStatistics&gt; statistics = Pipeline.of(first, second, third)
+ *         .input(new StringInput("data", true))
+ *         .output(new ConsoleOutput())
+ *         .run();
+ * </pre>
+ */
+public class Pipeline {
+    private final List<String> sources;
+
+    private Input input = new NullInput();
+    private Output output = new BufferedConsoleOutput();
+    private Supplier<Memory> memory = Unsigned8BitMemory::new;
+    private int capacity = ConcurrentPipe.DEFAULT_CAPACITY;
+    private ThreadFactory threadFactory = Thread::new;
+    private Limits limits = Limits.NONE;
+
+    private Pipeline(List<String> sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * Creates a pipeline of the provided brainfuck programs, in the order that data flows through
+     * them. An {@link STB} will be thrown if no programs are provided, or if any program is
+     * missing.
+     *
+     * @param sources The brainfuck code of each stage.
+     * @return The pipeline.
+     */
+    public static Pipeline of(String... sources) {
+        if (sources == null || sources.length == 0) {
+            throw new STB("Code is missing");
+        }
+        for (String source : sources) {
+            if (source == null) {
+                throw new STB("Code is missing");
+            }
+        }
+        return new Pipeline(new ArrayList<>(Arrays.asList(sources)));
+    }
+
+    /**
+     * Sets the {@link Input} that the first stage reads from. By default, a {@link NullInput} is
+     * used.
+     *
+     * @param input The {@link Input} for the first stage.
+     * @return This pipeline.
+     */
+    public Pipeline input(Input input) {
+        this.input = input;
+        return this;
+    }
+
+    /**
+     * Sets the {@link Output} that the last stage writes to. By default, a
+     * {@link BufferedConsoleOutput} is used. The output is flushed when the last stage finishes,
+     * but is not closed.
+     *
+     * @param output The {@link Output} for the last stage.
+     * @return This pipeline.
+     */
+    public Pipeline output(Output output) {
+        this.output = output;
+        return this;
+    }
+
+    /**
+     * Sets how the {@link Memory} for each stage is created. By default, every stage gets a new
+     * {@link Unsigned8BitMemory}.
+     *
+     * @param memory Creates the memory for a stage each time it is called.
+     * @return This pipeline.
+     */
+    public Pipeline memory(Supplier<Memory> memory) {
+        this.memory = memory;
+        return this;
+    }
+
+    /**
+     * Sets the number of values that can be held between two stages before the earlier stage
+     * has to wait for the later one. By default, {@link ConcurrentPipe#DEFAULT_CAPACITY} is used.
+     *
+     * @param capacity The capacity of the pipe between each pair of stages.
+     * @return This pipeline.
+     */
+    public Pipeline capacity(int capacity) {
+        this.capacity = capacity;
+        return this;
+    }
+
+    /**
+     * Sets how the thread for each stage is created. By default, a new platform thread is created
+     * for each stage. On Java versions that support them, a virtual thread factory can be used
+     * instead.
+     *
+     * @param threadFactory Creates the thread for each stage.
+     * @return This pipeline.
+     */
+    public Pipeline threads(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+        return this;
+    }
+
+    /**
+     * Sets the limits that each stage must stay within. A stage that reaches a limit fails with a
+     * {@link LimitExceeded}, which cancels the other stages in the same way as any other failure.
+     * If the limits include a {@link CancellationToken}, cancelling it stops every stage. A stage
+     * with limits that is busy computing is stopped within a few thousand instructions when
+     * another stage fails. By default, stages have no limits, and run without checking them.
+     *
+     * @param limits The limits for each stage.
+     * @return This pipeline.
+     */
+    public Pipeline limits(Limits limits) {
+        if (limits == null) {
+            throw new STB("Limits are missing");
+        }
+        this.limits = limits;
+        return this;
+    }
+
+    /**
+     * Runs every stage and waits for all of them to finish. Every program is compiled before any
+     * stage starts, so an {@link STB} for invalid code is thrown without anything being run. If a
+     * stage fails, the other stages are cancelled, and an {@link STB} is thrown once they have
+     * all stopped, with the failure of the stage as its cause.
+     *
+     * @return The statistics of each stage, in pipeline order.
+     */
+    public List<StageStatistics> run() {
+        BFCompiler compiler = new BFCompiler(new IndexedLooper(), new BFOptimizer());
+        List<Program> programs = new ArrayList<>();
+        for (String source : sources) {
+            programs.add(compiler.compile(source));
+        }
+        int stages = programs.size();
+        ConcurrentPipe[] pipes = new ConcurrentPipe[stages - 1];
+        for (int index = 0; index < pipes.length; index ++) {
+            pipes[index] = new ConcurrentPipe(capacity, 0);
+        }
+        Cancellation cancellation = new Cancellation(limits.cancellation(), pipes);
+        Limits stageLimits = limits == Limits.NONE ? Limits.NONE : limits.cancellation(cancellation.token);
+        Stage[] stageRunners = new Stage[stages];
+        Thread[] threads = new Thread[stages];
+        for (int index = 0; index < stages; index ++) {
+            CountingInput stageInput = new CountingInput(index == 0 ? input : pipes[index - 1], cancellation);
+            CountingOutput stageOutput = new CountingOutput(index == stages - 1 ? output : pipes[index], cancellation);
+            stageRunners[index] = new Stage(index, programs.get(index), stageInput, stageOutput, memory.get(), stageLimits, cancellation);
+            threads[index] = threadFactory.newThread(stageRunners[index]);
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            join(thread, cancellation);
+        }
+        Throwable failure = cancellation.failure.get();
+        if (failure != null && cancellation.failedStage < 0) {
+            throw (STB) failure;
+        }
+        if (failure != null) {
+            throw new STB("Stage " + cancellation.failedStage + " failed: " + failure.getMessage(), failure);
+        }
+        List<StageStatistics> statistics = new ArrayList<>();
+        for (Stage stage : stageRunners) {
+            statistics.add(stage.statistics());
+        }
+        return Collections.unmodifiableList(statistics);
+    }
+
+    private void join(Thread thread, Cancellation cancellation) {
+        while (true) {
+            try {
+                thread.join();
+                return;
+            }
+            catch (InterruptedException e) {
+                cancellation.fail(-1, new STB("Pipeline interrupted"));
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class Cancellation {
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final CancellationToken token;
+        private final ConcurrentPipe[] pipes;
+        private volatile boolean cancelled = false;
+        private volatile int failedStage;
+
+        private Cancellation(CancellationToken parent, ConcurrentPipe[] pipes) {
+            this.token = new CancellationToken(parent);
+            this.pipes = pipes;
+        }
+
+        private void fail(int stage, Throwable cause) {
+            if (! failure.compareAndSet(null, cause)) {
+                return;
+            }
+            failedStage = stage;
+            cancelled = true;
+            token.cancel();
+            for (ConcurrentPipe pipe : pipes) {
+                pipe.abort();
+            }
+        }
+
+        private void check() {
+            if (cancelled) {
+                throw new STB("Pipeline cancelled");
+            }
+        }
+    }
+
+    private static class Stage implements Runnable {
+        private final int index;
+        private final Program program;
+        private final CountingInput input;
+        private final CountingOutput output;
+        private final Memory memory;
+        private final Limits limits;
+        private final Cancellation cancellation;
+
+        private long elapsedNanos;
+
+        private Stage(int index, Program program, CountingInput input, CountingOutput output, Memory memory, Limits limits, Cancellation cancellation) {
+            this.index = index;
+            this.program = program;
+            this.input = input;
+            this.output = output;
+            this.memory = memory;
+            this.limits = limits;
+            this.cancellation = cancellation;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                BF bf = new BF(input, output, memory);
+                if (limits == Limits.NONE) {
+                    bf.execute(program);
+                }
+                else {
+                    bf.execute(program, limits);
+                }
+            }
+            catch (Throwable t) {
+                if (! cancellation.cancelled) {
+                    cancellation.fail(index, t);
+                }
+            }
+            finally {
+                if (output.output instanceof ConcurrentPipe) {
+                    output.output.close();
+                }
+                elapsedNanos = System.nanoTime() - start;
+            }
+        }
+
+        private StageStatistics statistics() {
+            return new StageStatistics(index, input.count, output.count, elapsedNanos);
+        }
+    }
+
+    private static class CountingInput implements Input {
+        private final Input input;
+        private final Cancellation cancellation;
+
+        private long count;
+
+        private CountingInput(Input input, Cancellation cancellation) {
+            this.input = input;
+            this.cancellation = cancellation;
+        }
+
+        @Override
+        public int read() {
+            cancellation.check();
+            int value = input.read();
+            count ++;
+            return value;
+        }
+    }
+
+    private static class CountingOutput implements Output {
+        private final Output output;
+        private final Cancellation cancellation;
+
+        private long count;
+
+        private CountingOutput(Output output, Cancellation cancellation) {
+            this.output = output;
+            this.cancellation = cancellation;
+        }
+
+        @Override
+        public void write(int value) {
+            cancellation.check();
+            output.write(value);
+            count ++;
+        }
+
+        @Override
+        public void write(int[] values, int offset, int length) {
+            cancellation.check();
+            output.write(values, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void flush() {
+            output.flush();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The counts collected while a {@link Program} was profiled: how many times each instruction was
+ * performed, and how many times and for how long each loop ran. Counts are kept for instructions
+ * rather than for commands, so when a program has been optimized, an instruction that replaced a
+ * run of commands is counted once each time it is performed, at the position in the code of the
+ * first command it replaced. Loops that were replaced by a single instruction, such as
+ * <code>[-]</code>, are counted as instructions rather than as loops.
+ *
+ * <pre>
+ * Profile profile = bf.profile(bf.compile(code));
+ *
+ * for (LoopProfile loop : profile.hottestLoops(5)) {
+ *     System.err.println(loop);
+ * }
+ * </pre>
+ *
+ * @see BF#profile(Program)
+ */
+public class Profile {
+    private final Program program;
+    private final long[] counts;
+    private final List<LoopProfile> loops;
+
+    Profile(Program program, long[] counts, long[] entries, long[] iterations, long[] elapsedNanos) {
+        this.program = program;
+        this.counts = counts;
+        List<LoopProfile> loops = new ArrayList<>();
+        for (int index = 0; index < program.size(); index ++) {
+            if (program.opcode(index) == Opcode.START_LOOP) {
+                int end = program.operand(index);
+                int endPosition = end < program.size() ? program.position(end) : program.position(index);
+                loops.add(new LoopProfile(program.position(index), endPosition, entries[index], iterations[index], elapsedNanos[index]));
+            }
+        }
+        this.loops = Collections.unmodifiableList(loops);
+    }
+
+    /**
+     * Gets the program that was profiled.
+     *
+     * @return The program.
+     */
+    public Program program() {
+        return program;
+    }
+
+    /**
+     * Gets the total number of instructions performed.
+     *
+     * @return The number of instructions performed.
+     */
+    public long instructions() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of times the instruction at an index in the program was performed.
+     *
+     * @param index The index of the instruction in the program.
+     * @return The number of times the instruction was performed.
+     */
+    public long countAt(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Gets the number of times any instruction with the provided opcode was performed.
+     *
+     * @param opcode The opcode, as defined in {@link Opcode}.
+     * @return The number of times instructions with the opcode were performed.
+     */
+    public long countOf(int opcode) {
+        long total = 0;
+        for (int index = 0; index < counts.length; index ++) {
+            if (program.opcode(index) == opcode) {
+                total += counts[index];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of times the instructions compiled from the command at a position in the
+     * code were performed. Positions that do not hold a command, or whose command was folded into
+     * an instruction at an earlier position, have a count of 0.
+     *
+     * @param position The position in the code.
+     * @return The number of times the instructions at the position were performed.
+     */
+    public long countAtPosition(int position) {
+        long total = 0;
+        for (int index = 0; index < counts.length; index ++) {
+            if (program.position(index) == position) {
+                total += counts[index];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the counts for every loop in the program, in the order that the loops start in the
+     * code.
+     *
+     * @return The counts for each loop.
+     */
+    public List<LoopProfile> loops() {
+        return loops;
+    }
+
+    /**
+     * Gets the counts for the loops whose bodies were run the most times, up to the provided
+     * number of loops, starting with the loop that was run the most. Loops that were run the same
+     * number of times are ordered by the time spent in them.
+     *
+     * @param limit The largest number of loops to return.
+     * @return The counts for the hottest loops.
+     */
+    public List<LoopProfile> hottestLoops(int limit) {
+        List<LoopProfile> hottest = new ArrayList<>(loops);
+        hottest.sort(Comparator.comparingLong(LoopProfile::iterations)
+                .thenComparingLong(LoopProfile::elapsedNanos)
+                .reversed());
+        return Collections.unmodifiableList(hottest.subList(0, Math.min(Math.max(limit, 0), hottest.size())));
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.nio.file.Path;
+
+/**
+ * A compiled brainfuck program. A program is a compact sequence of instructions, each made up of
+ * an opcode (one of the values defined in {@link Opcode}), an operand, and the position in the
+ * original code that the instruction was compiled from. The jump targets of the loop instructions
+ * are worked out once, when the program is compiled, so running the program never has to scan the
+ * code looking for the matching command. Programs are created by a {@link BFCompiler}, and may be
+ * rewritten into equivalent, faster programs by an {@link Optimizer}. They are never modified once
+ * created, and can be run any number of times. Since a program holds no state of its own while it
+ * runs, one program can be run by any number of threads at once, each with its own
+ * {@link ExecutionContext}. A program can also be saved to a file with {@link #save(Path)}, and
+ * loaded again with {@link #load(Path)}, without the code being compiled again.
+ *
+ * @see com.rarysoft.bf.BF#compile(String)
+ */
+public final class Program {
+    static final int[][] NO_TABLES = new int[0][];
+
+    private final int[] opcodes;
+    private final int[] operands;
+    private final int[] positions;
+    private final int[][] offsets;
+    private final int[][] factors;
+
+    private volatile int[] code;
+
+    /**
+     * Creates an instance from the provided instructions. All three arrays must be the same
+     * length, and the operand of every loop instruction must be the index of an instruction in the
+     * program, or the size of the program to jump past the end. An {@link STB} will be thrown if
+     * this is not the case. The program may not contain any {@link Opcode#MULTIPLY} instructions.
+     * The arrays are copied, so they can be reused by the caller.
+     *
+     * @param opcodes The opcode of each instruction.
+     * @param operands The operand of each instruction.
+     * @param positions The position in the code that each instruction was compiled from.
+     */
+    public Program(int[] opcodes, int[] operands, int[] positions) {
+        this(opcodes, operands, positions, NO_TABLES, NO_TABLES);
+    }
+
+    /**
+     * Creates an instance from the provided instructions and multiply tables. The operand of each
+     * {@link Opcode#MULTIPLY} instruction is the index of its offsets and factors in the two
+     * tables, and the offsets and factors at each index must be the same length. Otherwise, the
+     * same rules apply as for {@link #Program(int[], int[], int[])}. The arrays are copied, so they
+     * can be reused by the caller.
+     *
+     * @param opcodes The opcode of each instruction.
+     * @param operands The operand of each instruction.
+     * @param positions The position in the code that each instruction was compiled from.
+     * @param offsets The offsets of the cells that each multiply instruction adds to.
+     * @param factors The factors that each multiply instruction adds by.
+     */
+    public Program(int[] opcodes, int[] operands, int[] positions, int[][] offsets, int[][] factors) {
+        this(opcodes, operands, positions, offsets, factors, true);
+    }
+
+    /**
+     * Creates an instance from the provided instructions and multiply tables, in the same way as
+     * {@link #Program(int[], int[], int[], int[][], int[][])}, but when <code>copy</code> is false
+     * the program takes ownership of the arrays instead of copying them. This is for the compilers,
+     * builders, and loaders in this package, which create the arrays for a single program and
+     * never touch them again, so that a program does not briefly need twice its own size.
+     *
+     * @param opcodes The opcode of each instruction.
+     * @param operands The operand of each instruction.
+     * @param positions The position in the code that each instruction was compiled from.
+     * @param offsets The offsets of the cells that each multiply instruction adds to.
+     * @param factors The factors that each multiply instruction adds by.
+     * @param copy Whether the arrays must be copied.
+     */
+    Program(int[] opcodes, int[] operands, int[] positions, int[][] offsets, int[][] factors, boolean copy) {
+        if (opcodes == null || operands == null || positions == null || offsets == null || factors == null) {
+            throw new STB("Instructions are missing");
+        }
+        if (operands.length != opcodes.length || positions.length != opcodes.length) {
+            throw new STB("Instructions are incomplete");
+        }
+        if (factors.length != offsets.length) {
+            throw new STB("Multiply tables are incomplete");
+        }
+        this.offsets = copy ? new int[offsets.length][] : offsets;
+        this.factors = copy ? new int[factors.length][] : factors;
+        for (int table = 0; table < offsets.length; table ++) {
+            if (offsets[table] == null || factors[table] == null || factors[table].length != offsets[table].length) {
+                throw new STB("Multiply tables are incomplete");
+            }
+            if (copy) {
+                this.offsets[table] = offsets[table].clone();
+                this.factors[table] = factors[table].clone();
+            }
+        }
+        for (int index = 0; index < opcodes.length; index ++) {
+            boolean loop = opcodes[index] == Opcode.START_LOOP || opcodes[index] == Opcode.END_LOOP;
+            if (loop && (operands[index] < 0 || operands[index] > opcodes.length)) {
+                throw new STB("Loop target out of range");
+            }
+            if (opcodes[index] == Opcode.MULTIPLY && (operands[index] < 0 || operands[index] >= offsets.length)) {
+                throw new STB("Multiply table out of range");
+            }
+        }
+        this.opcodes = copy ? opcodes.clone() : opcodes;
+        this.operands = copy ? operands.clone() : operands;
+        this.positions = copy ? positions.clone() : positions;
+    }
+
+    /**
+     * Gets the number of instructions in the program.
+     *
+     * @return The number of instructions in the program.
+     */
+    public int size() {
+        return opcodes.length;
+    }
+
+    /**
+     * Gets the opcode of the instruction at the specified index. The value will be one of the
+     * values defined in {@link Opcode}.
+     *
+     * @param index The index of the instruction.
+     * @return The opcode of the instruction.
+     */
+    public int opcode(int index) {
+        return opcodes[index];
+    }
+
+    /**
+     * Gets the operand of the instruction at the specified index. For loop instructions, this is
+     * the index of the instruction to jump to. For add, move, and scan instructions, this is the
+     * amount to add or move by. For multiply instructions, this is the index of the instruction's
+     * multiply tables. For all other instructions, it is 0.
+     *
+     * @param index The index of the instruction.
+     * @return The operand of the instruction.
+     */
+    public int operand(int index) {
+        return operands[index];
+    }
+
+    /**
+     * Gets the position in the original code that the instruction at the specified index was
+     * compiled from.
+     *
+     * @param index The index of the instruction.
+     * @return The position of the instruction in the original code.
+     */
+    public int position(int index) {
+        return positions[index];
+    }
+
+    /**
+     * Gets the offsets, relative to the pointer, of the cells that the multiply instruction at the
+     * specified index adds to. The returned array is shared, and must not be modified.
+     *
+     * @param index The index of a multiply instruction.
+     * @return The offsets of the cells to add to.
+     */
+    public int[] offsets(int index) {
+        return offsets[operands[index]];
+    }
+
+    /**
+     * Gets the factors that the multiply instruction at the specified index multiplies the cell at
+     * the pointer by before adding it to each cell. The returned array is shared, and must not be
+     * modified.
+     *
+     * @param index The index of a multiply instruction.
+     * @return The factors to multiply by, in the same order as the offsets.
+     */
+    public int[] factors(int index) {
+        return factors[operands[index]];
+    }
+
+    /**
+     * Gets this program translated into the flat code run by the {@link ByteInterpreter}. The
+     * program is translated the first time this is called, and the same code is returned from
+     * then on. Since the code never changes, it does no harm if two threads happen to translate
+     * the program at the same time.
+     *
+     * @return The translated code.
+     * @see Superinstructions#translate(Program)
+     */
+    int[] code() {
+        int[] translated = code;
+        if (translated == null) {
+            translated = Superinstructions.translate(this);
+            code = translated;
+        }
+        return translated;
+    }
+
+    /**
+     * Saves this program to a file, in a compact binary format that can be loaded again with
+     * {@link #load(Path)}. The file holds every instruction and multiply table of the program,
+     * along with a header identifying the format and a checksum, and is replaced if it already
+     * exists. An {@link STB} will be thrown if the path is missing or the file can not be
+     * written.
+     *
+     * @param path The file to save the program to.
+     */
+    public void save(Path path) {
+        ProgramFile.save(this, path);
+    }
+
+    /**
+     * Loads a program that was saved with {@link #save(Path)}. The file is mapped into memory
+     * rather than read through a stream, and its checksum, header, and instructions are all
+     * checked before the program is created, so loading a program is much faster than compiling
+     * and optimizing its code again, and a damaged file is never run. An {@link STB} will be
+     * thrown if the path is missing, the file can not be read, or the file is not a valid program
+     * file for this version of the library.
+     *
+     * @param path The file to load the program from.
+     * @return The loaded program.
+     */
+    public static Program load(Path path) {
+        return ProgramFile.load(path);
+    }
+}
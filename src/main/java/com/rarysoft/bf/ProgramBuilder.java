@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collects instructions one at a time for the creation of a {@link Program}, for use by
+ * {@link Optimizer} implementations that do not know in advance how many instructions they will
+ * produce.
+ */
+class ProgramBuilder {
+    private int[] opcodes;
+    private int[] operands;
+    private int[] positions;
+    private int size;
+
+    private final List<int[]> offsets = new ArrayList<>();
+    private final List<int[]> factors = new ArrayList<>();
+
+    ProgramBuilder(int capacity) {
+        int initial = Math.max(capacity, 16);
+        this.opcodes = new int[initial];
+        this.operands = new int[initial];
+        this.positions = new int[initial];
+        this.size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int opcode(int index) {
+        return opcodes[index];
+    }
+
+    int operand(int index) {
+        return operands[index];
+    }
+
+    void add(int opcode, int operand, int position) {
+        if (size == opcodes.length) {
+            int capacity = opcodes.length * 2;
+            opcodes = Arrays.copyOf(opcodes, capacity);
+            operands = Arrays.copyOf(operands, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        opcodes[size] = opcode;
+        operands[size] = operand;
+        positions[size] = position;
+        size ++;
+    }
+
+    void addMultiply(int[] offsets, int[] factors, int position) {
+        this.offsets.add(offsets);
+        this.factors.add(factors);
+        add(Opcode.MULTIPLY, this.offsets.size() - 1, position);
+    }
+
+    void addCopy(Program program, int index) {
+        if (program.opcode(index) == Opcode.MULTIPLY) {
+            addMultiply(program.offsets(index), program.factors(index), program.position(index));
+            return;
+        }
+        add(program.opcode(index), program.operand(index), program.position(index));
+    }
+
+    void setOperand(int index, int operand) {
+        operands[index] = operand;
+    }
+
+    /**
+     * Replaces the operand of every loop instruction, which is expected to be an index into some
+     * original program, with the index that the original instruction has been mapped to.
+     *
+     * @param indices The new index of each instruction in the original program, plus one extra
+     *                element for the end of the original program.
+     */
+    void relink(int[] indices) {
+        for (int index = 0; index < size; index ++) {
+            if (opcodes[index] == Opcode.START_LOOP || opcodes[index] == Opcode.END_LOOP) {
+                operands[index] = indices[operands[index]];
+            }
+        }
+    }
+
+    Program build() {
+        return new Program(
+                Arrays.copyOf(opcodes, size),
+                Arrays.copyOf(operands, size),
+                Arrays.copyOf(positions, size),
+                offsets.toArray(new int[0][]),
+                factors.toArray(new int[0][]),
+                false
+        );
+    }
+}
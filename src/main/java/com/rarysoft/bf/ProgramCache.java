@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the compiled {@link Program}s of recently compiled code, so that code that is run again
+ * and again is only compiled once. Programs are kept for the most recently used code, up to the
+ * capacity of the cache, and the program of the least recently used code is dropped whenever
+ * another one is added to a full cache. A cache belongs to a single {@link BFCompiler}, so its
+ * programs are always compiled with the same {@link Looper} and {@link Optimizer}, and code is
+ * looked up by its full text, so two different pieces of code can never share a program. Since a
+ * program never changes once it is compiled, the programs from a cache can be run by many
+ * threads at once, each with its own {@link ExecutionContext}.
+ * <p>
+ * A cache can be used by many threads at once. A cache of 128 programs or more is split into as
+ * many as 16 segments of at least 64 programs, each holding an equal share of the capacity under a
+ * lock of its own, and code is looked up in the segment chosen by its hash,
+ * so threads looking up different code rarely wait for each other. Each segment drops its own
+ * least recently used program, so a segmented cache only approximates least recently used order
+ * across all of its code, while a smaller cache has a single segment and keeps the order exactly.
+ * Code is compiled outside of any lock, so a long compilation never holds up threads that are
+ * looking up other code, but two threads that both miss the same code at the same time may each
+ * compile it. The number of hits, misses, and evictions is counted, and can be read at any time.
+ *
+ * <pre>
+ * ProgramCache cache = new ProgramCache(1000);
+ *
+ * // on each request
+ * new ExecutionContext(input, output, new Unsigned8BitMemory()).execute(cache.compile(code));
+ * </pre>
+ */
+public final class ProgramCache {
+    /**
+     * The number of programs that each segment of a segmented cache holds at least.
+     */
+    static final int SEGMENT_CAPACITY = 64;
+
+    /**
+     * The greatest number of segments that a cache is split into.
+     */
+    static final int MAX_SEGMENTS = 16;
+
+    private final BFCompiler compiler;
+    private final int capacity;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache of the provided capacity, whose programs are compiled with an
+     * {@link IndexedLooper} and a {@link BFOptimizer}, in the same way as by a {@link BF} created
+     * with {@link BF#BF(Input, Output, Memory)}.
+     *
+     * @param capacity The greatest number of programs to keep.
+     */
+    public ProgramCache(int capacity) {
+        this(capacity, new BFCompiler(new IndexedLooper(), new BFOptimizer()));
+    }
+
+    /**
+     * Creates a cache of the provided capacity, whose programs are compiled by the provided
+     * {@link BFCompiler}. An {@link STB} will be thrown if the capacity is not positive or the
+     * compiler is missing.
+     *
+     * @param capacity The greatest number of programs to keep.
+     * @param compiler The compiler to compile programs with.
+     */
+    public ProgramCache(int capacity, BFCompiler compiler) {
+        if (capacity < 1) {
+            throw new STB("Capacity is invalid");
+        }
+        if (compiler == null) {
+            throw new STB("Compiler is missing");
+        }
+        this.compiler = compiler;
+        this.capacity = capacity;
+        int count = 1;
+        while (count < MAX_SEGMENTS && capacity / (count * 2) >= SEGMENT_CAPACITY) {
+            count *= 2;
+        }
+        this.segments = new Segment[count];
+        for (int segment = 0; segment < count; segment ++) {
+            segments[segment] = new Segment(capacity / count + (segment < capacity % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * Gets the compiled program of the provided code, compiling it only if the cache does not
+     * already hold it. An {@link STB} will be thrown if the code is missing or can not be
+     * compiled, in which case nothing is added to the cache.
+     *
+     * @param code The brainfuck code to compile.
+     * @return The compiled program.
+     */
+    public Program compile(String code) {
+        if (code == null) {
+            throw new STB("Code is missing");
+        }
+        Segment segment = segmentOf(code);
+        Program program;
+        synchronized (segment) {
+            program = segment.get(code);
+        }
+        if (program != null) {
+            hits.increment();
+            return program;
+        }
+        misses.increment();
+        program = compiler.compile(code);
+        synchronized (segment) {
+            Program existing = segment.putIfAbsent(code, program);
+            return existing == null ? program : existing;
+        }
+    }
+
+    /**
+     * Drops every program from the cache. The counts of hits, misses, and evictions are kept.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets the greatest number of programs that this cache keeps.
+     *
+     * @return The capacity of the cache.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of programs that this cache currently holds.
+     *
+     * @return The number of programs.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of times that code was found in this cache.
+     *
+     * @return The number of hits.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of times that code was not found in this cache and had to be compiled.
+     *
+     * @return The number of misses.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of programs that have been dropped from this cache to make room for others.
+     *
+     * @return The number of evictions.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    int segments() {
+        return segments.length;
+    }
+
+    @Override
+    public String toString() {
+        return "Cache: " + size() + " of " + capacity + " programs, " + hits() + " hits, " + misses() + " misses, " + evictions() + " evictions";
+    }
+
+    private Segment segmentOf(String code) {
+        int hash = code.hashCode();
+        return segments[(hash ^ hash >>> 16) & (segments.length - 1)];
+    }
+
+    private final class Segment extends LinkedHashMap<String, Program> {
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Program> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
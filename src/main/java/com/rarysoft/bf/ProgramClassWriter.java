@@ -0,0 +1,474 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a {@link Program} out as the bytes of a JVM class file, for use by {@link BytecodeBF}.
+ * The class has a single method with the signature
+ * <code>public static int run(byte[] cells, int pointer, Input input, Output output)</code>, which
+ * performs the program directly on an array of 8-bit cells and returns the final pointer. The
+ * pointer is an index into the array, and wraps around at both ends of it just as the
+ * {@link BFExecutor} pointer wraps around the address range. Cell values wrap around naturally
+ * when they are stored as bytes, so this only works for memory with exactly 256 values.
+ * <p>
+ * Classes are written in version 49 of the class file format, which the JVM verifies without the
+ * stack map frames that later versions require.
+ */
+class ProgramClassWriter {
+    static final String METHOD_NAME = "run";
+
+    private static final String METHOD_DESCRIPTOR = "([BILcom/rarysoft/bf/Input;Lcom/rarysoft/bf/Output;)I";
+    private static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+    private static final int MAX_STACK = 8;
+    private static final int MAX_LOCALS = 6;
+
+    private static final int POINTER = 1;
+    private static final int VALUE = 4;
+    private static final int TARGET = 5;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC = 0x12;
+    private static final int LDC_W = 0x13;
+    private static final int ILOAD = 0x15;
+    private static final int ILOAD_1 = 0x1b;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ALOAD_3 = 0x2d;
+    private static final int BALOAD = 0x33;
+    private static final int ISTORE = 0x36;
+    private static final int BASTORE = 0x54;
+    private static final int DUP = 0x59;
+    private static final int IADD = 0x60;
+    private static final int ISUB = 0x64;
+    private static final int IMUL = 0x68;
+    private static final int IAND = 0x7e;
+    private static final int I2B = 0x91;
+    private static final int IFEQ = 0x99;
+    private static final int IFNE = 0x9a;
+    private static final int IF_ICMPLT = 0xa1;
+    private static final int GOTO = 0xa7;
+    private static final int IRETURN = 0xac;
+    private static final int INVOKEINTERFACE = 0xb9;
+
+    private final Program program;
+    private final int cellCount;
+    private final boolean signed;
+
+    private final List<byte[]> constants = new ArrayList<>();
+    private final Map<String, Integer> constantIndices = new HashMap<>();
+
+    private byte[] code = new byte[256];
+    private int length = 0;
+    private int[] labels = new int[16];
+    private int labelCount = 0;
+    private final List<int[]> jumps = new ArrayList<>();
+
+    /**
+     * Creates an instance that writes the provided program for an array with the provided number
+     * of cells.
+     *
+     * @param program The program to write.
+     * @param cellCount The number of cells in the array that the program will run on.
+     * @param signed Whether the cells hold signed values.
+     */
+    ProgramClassWriter(Program program, int cellCount, boolean signed) {
+        this.program = program;
+        this.cellCount = cellCount;
+        this.signed = signed;
+    }
+
+    /**
+     * Writes the class. The program can not be written if its loops are not properly nested, if a
+     * multiply instruction would add to the cell that it multiplies, or if the generated method
+     * would be too large for the JVM to accept, in which case nothing is returned.
+     *
+     * @param className The binary name of the class, with <code>/</code> separating package names.
+     * @return The bytes of the class file, or <code>null</code> if the program can not be written.
+     */
+    byte[] write(String className) {
+        if (!writeCode()) {
+            return null;
+        }
+        int thisClass = classConstant(className);
+        int superClass = classConstant("java/lang/Object");
+        int name = utf8Constant(METHOD_NAME);
+        int descriptor = utf8Constant(METHOD_DESCRIPTOR);
+        int codeName = utf8Constant("Code");
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(length + 512);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(49);
+            out.writeShort(constants.size() + 1);
+            for (byte[] constant : constants) {
+                out.write(constant);
+            }
+            out.writeShort(0x0031);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(1);
+            out.writeShort(0x0009);
+            out.writeShort(name);
+            out.writeShort(descriptor);
+            out.writeShort(1);
+            out.writeShort(codeName);
+            out.writeInt(12 + length);
+            out.writeShort(MAX_STACK);
+            out.writeShort(MAX_LOCALS);
+            out.writeInt(length);
+            out.write(code, 0, length);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+            return bytes.toByteArray();
+        }
+        catch (IOException e) {
+            throw new STB("Unrecoverable class generation error");
+        }
+    }
+
+    private boolean writeCode() {
+        int size = program.size();
+        int[] afterLoop = new int[size];
+        int[] loopBody = new int[size];
+        Deque<Integer> starts = new ArrayDeque<>();
+        for (int index = 0; index < size; index ++) {
+            switch (program.opcode(index)) {
+                case Opcode.INCREMENT:
+                    writeAdd(1);
+                    break;
+                case Opcode.DECREMENT:
+                    writeAdd(-1);
+                    break;
+                case Opcode.ADD:
+                    writeAdd(program.operand(index));
+                    break;
+                case Opcode.INCREMENT_POINTER:
+                    writeMove(POINTER, 1);
+                    break;
+                case Opcode.DECREMENT_POINTER:
+                    writeMove(POINTER, -1);
+                    break;
+                case Opcode.MOVE:
+                    writeMove(POINTER, program.operand(index));
+                    break;
+                case Opcode.START_LOOP:
+                    starts.push(index);
+                    afterLoop[index] = newLabel();
+                    loopBody[index] = newLabel();
+                    writeLoadCell(POINTER);
+                    writeJump(IFEQ, afterLoop[index]);
+                    mark(loopBody[index]);
+                    break;
+                case Opcode.END_LOOP:
+                    if (starts.isEmpty()) {
+                        return false;
+                    }
+                    int start = starts.pop();
+                    if (program.operand(start) != index || program.operand(index) != start) {
+                        return false;
+                    }
+                    writeLoadCell(POINTER);
+                    writeJump(IFNE, loopBody[start]);
+                    mark(afterLoop[start]);
+                    break;
+                case Opcode.INPUT:
+                    write(ALOAD_0);
+                    write(ILOAD_1);
+                    write(ALOAD_2);
+                    writeInvokeInterface("com/rarysoft/bf/Input", "read", "()I", 1);
+                    write(I2B);
+                    write(BASTORE);
+                    break;
+                case Opcode.OUTPUT:
+                    write(ALOAD_3);
+                    writeLoadCell(POINTER);
+                    if (!signed) {
+                        writePush(0xFF);
+                        write(IAND);
+                    }
+                    writeInvokeInterface("com/rarysoft/bf/Output", "write", "(I)V", 2);
+                    break;
+                case Opcode.CLEAR:
+                    writeClear();
+                    break;
+                case Opcode.SCAN:
+                    int top = newLabel();
+                    int done = newLabel();
+                    mark(top);
+                    writeLoadCell(POINTER);
+                    writeJump(IFEQ, done);
+                    writeMove(POINTER, program.operand(index));
+                    writeJump(GOTO, top);
+                    mark(done);
+                    break;
+                case Opcode.MULTIPLY:
+                    if (!writeMultiply(program.offsets(index), program.factors(index))) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+            if (length > MAX_CODE_LENGTH) {
+                return false;
+            }
+        }
+        if (!starts.isEmpty()) {
+            return false;
+        }
+        write(ILOAD_1);
+        write(IRETURN);
+        if (length > MAX_CODE_LENGTH) {
+            return false;
+        }
+        for (int[] jump : jumps) {
+            int offset = labels[jump[1]] - jump[0];
+            code[jump[0] + 1] = (byte) (offset >> 8);
+            code[jump[0] + 2] = (byte) offset;
+        }
+        return true;
+    }
+
+    private void writeAdd(int amount) {
+        write(ALOAD_0);
+        write(ILOAD_1);
+        writeLoadCell(POINTER);
+        writePush(amount & 0xFF);
+        write(IADD);
+        write(I2B);
+        write(BASTORE);
+    }
+
+    private void writeClear() {
+        write(ALOAD_0);
+        write(ILOAD_1);
+        write(ICONST_0);
+        write(BASTORE);
+    }
+
+    private boolean writeMultiply(int[] offsets, int[] factors) {
+        for (int offset : offsets) {
+            if (Math.floorMod(offset, cellCount) == 0) {
+                return false;
+            }
+        }
+        int skip = newLabel();
+        writeLoadCell(POINTER);
+        write(DUP);
+        writeLocal(ISTORE, VALUE);
+        writeJump(IFEQ, skip);
+        for (int target = 0; target < offsets.length; target ++) {
+            write(ILOAD_1);
+            writeLocal(ISTORE, TARGET);
+            writeMove(TARGET, offsets[target]);
+            write(ALOAD_0);
+            writeLocal(ILOAD, TARGET);
+            writeLoadCell(TARGET);
+            writeLocal(ILOAD, VALUE);
+            writePush(factors[target] & 0xFF);
+            write(IMUL);
+            write(IADD);
+            write(I2B);
+            write(BASTORE);
+        }
+        writeClear();
+        mark(skip);
+        return true;
+    }
+
+    /**
+     * Writes code that moves the index in a local variable by the provided distance, wrapping
+     * around the ends of the array. The comparison is made before the addition so that it can not
+     * overflow, however large the array is.
+     */
+    private void writeMove(int local, int distance) {
+        int step = Math.floorMod(distance, cellCount);
+        if (step == 0) {
+            return;
+        }
+        int forward = newLabel();
+        int done = newLabel();
+        writeLocal(ILOAD, local);
+        writePush(cellCount - step);
+        writeJump(IF_ICMPLT, forward);
+        writeLocal(ILOAD, local);
+        writePush(cellCount - step);
+        write(ISUB);
+        writeLocal(ISTORE, local);
+        writeJump(GOTO, done);
+        mark(forward);
+        writeLocal(ILOAD, local);
+        writePush(step);
+        write(IADD);
+        writeLocal(ISTORE, local);
+        mark(done);
+    }
+
+    private void writeLoadCell(int local) {
+        write(ALOAD_0);
+        writeLocal(ILOAD, local);
+        write(BALOAD);
+    }
+
+    private void writeLocal(int opcode, int local) {
+        write(opcode);
+        write(local);
+    }
+
+    private void writePush(int value) {
+        if (value >= -1 && value <= 5) {
+            write(ICONST_0 + value);
+        }
+        else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            write(BIPUSH);
+            write(value);
+        }
+        else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            write(SIPUSH);
+            writeShort(value);
+        }
+        else {
+            int index = integerConstant(value);
+            if (index < 256) {
+                write(LDC);
+                write(index);
+            }
+            else {
+                write(LDC_W);
+                writeShort(index);
+            }
+        }
+    }
+
+    private void writeInvokeInterface(String owner, String name, String descriptor, int argumentSlots) {
+        write(INVOKEINTERFACE);
+        writeShort(interfaceMethodConstant(owner, name, descriptor));
+        write(argumentSlots);
+        write(0);
+    }
+
+    private void writeJump(int opcode, int label) {
+        jumps.add(new int[] { length, label });
+        write(opcode);
+        writeShort(0);
+    }
+
+    private int newLabel() {
+        if (labelCount == labels.length) {
+            labels = Arrays.copyOf(labels, labels.length * 2);
+        }
+        return labelCount ++;
+    }
+
+    private void mark(int label) {
+        labels[label] = length;
+    }
+
+    private void writeShort(int value) {
+        write(value >> 8);
+        write(value);
+    }
+
+    private void write(int value) {
+        if (length == code.length) {
+            code = Arrays.copyOf(code, code.length * 2);
+        }
+        code[length ++] = (byte) value;
+    }
+
+    private int utf8Constant(String value) {
+        return constant("U" + value, () -> {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(1);
+            out.writeUTF(value);
+            return bytes.toByteArray();
+        });
+    }
+
+    private int integerConstant(int value) {
+        return constant("I" + value, () -> new byte[] {
+                3, (byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value
+        });
+    }
+
+    private int classConstant(String name) {
+        int nameIndex = utf8Constant(name);
+        return constant("C" + name, () -> reference(7, nameIndex));
+    }
+
+    private int interfaceMethodConstant(String owner, String name, String descriptor) {
+        int ownerIndex = classConstant(owner);
+        int nameIndex = utf8Constant(name);
+        int descriptorIndex = utf8Constant(descriptor);
+        int nameAndType = constant("N" + name + descriptor, () -> reference(12, nameIndex, descriptorIndex));
+        return constant("M" + owner + "." + name + descriptor, () -> reference(11, ownerIndex, nameAndType));
+    }
+
+    private byte[] reference(int tag, int... indices) {
+        byte[] bytes = new byte[1 + indices.length * 2];
+        bytes[0] = (byte) tag;
+        for (int index = 0; index < indices.length; index ++) {
+            bytes[1 + index * 2] = (byte) (indices[index] >> 8);
+            bytes[2 + index * 2] = (byte) indices[index];
+        }
+        return bytes;
+    }
+
+    private int constant(String key, ConstantSupplier supplier) {
+        Integer existing = constantIndices.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            constants.add(supplier.get());
+        }
+        catch (IOException e) {
+            throw new STB("Unrecoverable class generation error");
+        }
+        constantIndices.put(key, constants.size());
+        return constants.size();
+    }
+
+    private interface ConstantSupplier {
+        byte[] get() throws IOException;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes the binary file format that {@link Program}s are saved in, so that a program
+ * can be compiled once and then loaded by any number of later processes without the code being
+ * compiled or optimized again. All values are big-endian. A file is made up of:
+ * <ul>
+ *     <li>A header, holding the bytes <code>BFPG</code>, the version of the format, the number of
+ *     opcodes in the instruction set that the program was saved with, the number of
+ *     instructions, and the number of multiply tables, each as a 4 byte value.</li>
+ *     <li>The opcode of each instruction, as a single byte.</li>
+ *     <li>The operand of each instruction, which holds the jump target of every loop
+ *     instruction, as a 4 byte value.</li>
+ *     <li>The position of each instruction, as a 4 byte value.</li>
+ *     <li>Each multiply table, as its 4 byte length followed by its offsets and then its
+ *     factors, each as a 4 byte value.</li>
+ *     <li>A CRC-32 checksum of everything before it, as a 4 byte value.</li>
+ * </ul>
+ * A file is loaded by mapping it into memory, and is checked against its checksum, its header,
+ * and the same rules that every {@link Program} is checked against, before the program is
+ * created.
+ */
+final class ProgramFile {
+    private static final int MAGIC = 0x42465047;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final int CHECKSUM_SIZE = 4;
+
+    private ProgramFile() {
+    }
+
+    static void save(Program program, Path path) {
+        if (path == null) {
+            throw new STB("Path is missing");
+        }
+        try (OutputStream file = Files.newOutputStream(path)) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+            DataOutputStream data = new DataOutputStream(checked);
+            int size = program.size();
+            int tables = 0;
+            for (int index = 0; index < size; index ++) {
+                if (program.opcode(index) == Opcode.MULTIPLY) {
+                    tables = Math.max(tables, program.operand(index) + 1);
+                }
+            }
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            data.writeInt(Opcode.COUNT);
+            data.writeInt(size);
+            data.writeInt(tables);
+            for (int index = 0; index < size; index ++) {
+                data.writeByte(program.opcode(index));
+            }
+            for (int index = 0; index < size; index ++) {
+                data.writeInt(program.operand(index));
+            }
+            for (int index = 0; index < size; index ++) {
+                data.writeInt(program.position(index));
+            }
+            int[][] offsets = new int[tables][];
+            int[][] factors = new int[tables][];
+            for (int index = 0; index < size; index ++) {
+                if (program.opcode(index) == Opcode.MULTIPLY) {
+                    offsets[program.operand(index)] = program.offsets(index);
+                    factors[program.operand(index)] = program.factors(index);
+                }
+            }
+            for (int table = 0; table < tables; table ++) {
+                int[] tableOffsets = offsets[table] == null ? new int[0] : offsets[table];
+                int[] tableFactors = factors[table] == null ? new int[0] : factors[table];
+                data.writeInt(tableOffsets.length);
+                for (int offset : tableOffsets) {
+                    data.writeInt(offset);
+                }
+                for (int factor : tableFactors) {
+                    data.writeInt(factor);
+                }
+            }
+            data.flush();
+            data.writeInt((int) checked.getChecksum().getValue());
+            data.flush();
+        }
+        catch (IOException e) {
+            throw new STB("Unrecoverable file write error", e);
+        }
+    }
+
+    static Program load(Path path) {
+        if (path == null) {
+            throw new STB("Path is missing");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new STB("File is too large");
+            }
+            if (length < HEADER_SIZE + CHECKSUM_SIZE) {
+                throw new STB("Program file is invalid");
+            }
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
+        }
+        catch (NoSuchFileException e) {
+            throw new STB("File not found");
+        }
+        catch (IOException e) {
+            throw new STB("Unrecoverable file read error", e);
+        }
+    }
+
+    private static Program read(MappedByteBuffer buffer) {
+        int checked = buffer.limit() - CHECKSUM_SIZE;
+        CRC32 crc = new CRC32();
+        ByteBuffer contents = buffer.duplicate();
+        contents.limit(checked);
+        crc.update(contents);
+        if ((int) crc.getValue() != buffer.getInt(checked)) {
+            throw new STB("Program file is corrupt");
+        }
+        buffer.limit(checked);
+        if (buffer.getInt() != MAGIC) {
+            throw new STB("Program file is invalid");
+        }
+        if (buffer.getInt() != VERSION) {
+            throw new STB("Program file version is not supported");
+        }
+        if (buffer.getInt() > Opcode.COUNT) {
+            throw new STB("Program file instruction set is not supported");
+        }
+        int size = buffer.getInt();
+        int tables = buffer.getInt();
+        if (size < 0 || tables < 0 || (long) size * 9 + (long) tables * 4 > buffer.remaining()) {
+            throw new STB("Program file is invalid");
+        }
+        try {
+            int[] opcodes = new int[size];
+            for (int index = 0; index < size; index ++) {
+                opcodes[index] = buffer.get();
+                if (opcodes[index] < 0 || opcodes[index] >= Opcode.COUNT) {
+                    throw new STB("Program file contains an unknown instruction");
+                }
+            }
+            int[] operands = new int[size];
+            buffer.asIntBuffer().get(operands);
+            buffer.position(buffer.position() + size * 4);
+            int[] positions = new int[size];
+            buffer.asIntBuffer().get(positions);
+            buffer.position(buffer.position() + size * 4);
+            int[][] offsets = new int[tables][];
+            int[][] factors = new int[tables][];
+            for (int table = 0; table < tables; table ++) {
+                int length = buffer.getInt();
+                if (length < 0 || (long) length * 8 > buffer.remaining()) {
+                    throw new STB("Program file is invalid");
+                }
+                offsets[table] = new int[length];
+                factors[table] = new int[length];
+                buffer.asIntBuffer().get(offsets[table]);
+                buffer.position(buffer.position() + length * 4);
+                buffer.asIntBuffer().get(factors[table]);
+                buffer.position(buffer.position() + length * 4);
+            }
+            if (buffer.hasRemaining()) {
+                throw new STB("Program file is invalid");
+            }
+            return new Program(opcodes, operands, positions, offsets, factors, false);
+        }
+        catch (BufferUnderflowException e) {
+            throw new STB("Program file is invalid");
+        }
+    }
+}
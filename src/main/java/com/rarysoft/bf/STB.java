@@ -36,4 +36,15 @@ public class STB extends RuntimeException {
     public STB(String message) {
         super(message);
     }
+
+    /**
+     * Creates an instance with the provided informational message and the exception that caused
+     * the error.
+     *
+     * @param message The explanation of the error that occurred.
+     * @param cause The exception that caused the error.
+     */
+    public STB(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
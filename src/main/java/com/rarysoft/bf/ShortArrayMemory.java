@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * An abstract {@link ArrayMemory} implementation that stores each cell in a single short. The value
+ * range must fit within either a signed short (-32,768 to 32,767) or an unsigned short (0 to
+ * 65,535). If the lowest value is negative, cells are stored as signed shorts, and otherwise they
+ * are stored as unsigned shorts.
+ */
+public abstract class ShortArrayMemory extends ArrayMemory {
+    private final short[] cells;
+    private final boolean signed;
+
+    /**
+     * Creates an instance with a given address range and value range. An {@link STB} will be thrown
+     * if the value range does not fit within a signed or unsigned short.
+     *
+     * @param minAddress The lowest address value.
+     * @param maxAddress The highest address value.
+     * @param minValue The lowest memory cell value.
+     * @param maxValue The highest memory cell value.
+     */
+    protected ShortArrayMemory(int minAddress, int maxAddress, int minValue, int maxValue) {
+        super(minAddress, maxAddress, minValue, maxValue);
+        this.signed = minValue < 0;
+        if (signed ? minValue < Short.MIN_VALUE || maxValue > Short.MAX_VALUE : maxValue > 0xFFFF) {
+            throw new STB("Value range is too large");
+        }
+        this.cells = new short[cellCount()];
+    }
+
+    @Override
+    public int read(int address) {
+        short value = cells[indexOf(address)];
+        return signed ? value : value & 0xFFFF;
+    }
+
+    @Override
+    public void write(int address, int value) {
+        int index = indexOf(address);
+        checkValue(value);
+        cells[index] = (short) value;
+    }
+}
@@ -24,10 +24,10 @@
 package com.rarysoft.bf;
 
 /**
- * A concrete implementation of {@link HashMapMemory} with an address range of 65,536
+ * A concrete implementation of {@link ShortArrayMemory} with an address range of 65,536
  * cells and the ability to store signed 16-bit values (-32,768 to 32,767) in the cells.
  */
-public class Signed16BitMemory extends HashMapMemory {
+public class Signed16BitMemory extends ShortArrayMemory {
     /**
      * Creates an instance.
      */
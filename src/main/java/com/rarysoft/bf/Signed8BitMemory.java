@@ -24,10 +24,10 @@
 package com.rarysoft.bf;
 
 /**
- * A concrete implementation of {@link HashMapMemory} with an address range of 30,000
+ * A concrete implementation of {@link ByteArrayMemory} with an address range of 30,000
  * cells and the ability to store signed 8-bit values (-128 to 127) in the cells.
  */
-public class Signed8BitMemory extends HashMapMemory {
+public class Signed8BitMemory extends ByteArrayMemory {
     /**
      * Creates an instance.
      */
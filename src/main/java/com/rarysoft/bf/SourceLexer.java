@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import java.util.Arrays;
+
+/**
+ * Turns brainfuck code that arrives a piece at a time into a {@link Program}, without the code
+ * ever having to be held in full. Every character that is not a command is dropped as soon as it
+ * arrives, and the commands are packed into a byte array until the program is built, so code that
+ * is mostly comments or whitespace takes little memory no matter how large it is.
+ * <p>
+ * Each command is packed into a single byte, with the opcode in the top three bits and the
+ * distance from the previous command, less one, in the bottom five. A command that is more than
+ * 30 characters from the previous one is followed by the distance as a variable
+ * length number, and a run of the same command with nothing in between is packed as the first
+ * command followed by the number of repeats, so most code takes less than a byte per command.
+ * The jump target of every loop is found once the code ends, with a stack of the loops that are
+ * still open, in the same way as a {@link LoopIndex}, and every unmatched loop command is reported
+ * together.
+ */
+final class SourceLexer {
+    private static final int MAX_GAP = 30;
+    private static final int LONG_GAP = 30;
+    private static final int REPEAT = 31;
+
+    private byte[] packed = new byte[4096];
+    private int packedSize = 0;
+    private int unpacked = 0;
+    private int size = 0;
+
+    private int previousOpcode = -1;
+    private long previousPosition = -1;
+    private int repeats = 0;
+
+    private long position = 0;
+
+    /**
+     * Reads the next character of the code.
+     *
+     * @param character The character.
+     */
+    void accept(char character) {
+        int opcode = BFCompiler.opcodeOf(character);
+        if (opcode >= 0) {
+            add(opcode);
+        }
+        position ++;
+    }
+
+    /**
+     * Reads the next characters of the code.
+     *
+     * @param characters The array holding the characters.
+     * @param offset The index in the array of the first character.
+     * @param length The number of characters.
+     */
+    void accept(char[] characters, int offset, int length) {
+        for (int index = offset; index < offset + length; index ++) {
+            accept(characters[index]);
+        }
+    }
+
+    /**
+     * Gets the number of characters read so far.
+     *
+     * @return The number of characters read.
+     */
+    long length() {
+        return position;
+    }
+
+    /**
+     * Creates a program from all of the code that has been read. A {@link LoopMismatch} will be
+     * thrown if any loop command has no match.
+     *
+     * @return The program.
+     */
+    Program finish() {
+        endRepeats();
+        int[] opcodes = new int[size];
+        int[] operands = new int[size];
+        int[] positions = new int[size];
+        int[] open = new int[64];
+        int depth = 0;
+        int[] unmatchedEnds = new int[0];
+        int unmatchedEndCount = 0;
+        int index = 0;
+        int current = -1;
+        unpacked = 0;
+        while (unpacked < packedSize) {
+            int token = packed[unpacked ++] & 0xFF;
+            int opcode = token >>> 5;
+            int count = 1;
+            int gap = (token & 0x1F) + 1;
+            if ((token & 0x1F) == LONG_GAP) {
+                gap = readNumber();
+            }
+            else if ((token & 0x1F) == REPEAT) {
+                count = readNumber();
+                gap = 1;
+            }
+            for (int repeat = 0; repeat < count; repeat ++) {
+                current += gap;
+                opcodes[index] = opcode;
+                positions[index] = current;
+                if (opcode == Opcode.START_LOOP) {
+                    if (depth == open.length) {
+                        open = Arrays.copyOf(open, depth * 2);
+                    }
+                    open[depth ++] = index;
+                }
+                else if (opcode == Opcode.END_LOOP) {
+                    if (depth == 0) {
+                        if (unmatchedEndCount == unmatchedEnds.length) {
+                            unmatchedEnds = Arrays.copyOf(unmatchedEnds, Math.max(unmatchedEndCount * 2, 4));
+                        }
+                        unmatchedEnds[unmatchedEndCount ++] = current;
+                    }
+                    else {
+                        int start = open[-- depth];
+                        operands[start] = index;
+                        operands[index] = start;
+                    }
+                }
+                index ++;
+            }
+        }
+        if (depth > 0 || unmatchedEndCount > 0) {
+            int[] unmatchedStarts = new int[depth];
+            for (int loop = 0; loop < depth; loop ++) {
+                unmatchedStarts[loop] = positions[open[loop]];
+            }
+            throw new LoopMismatch(unmatchedStarts, Arrays.copyOf(unmatchedEnds, unmatchedEndCount));
+        }
+        return new Program(opcodes, operands, positions, Program.NO_TABLES, Program.NO_TABLES, false);
+    }
+
+    private void add(int opcode) {
+        if (position > Integer.MAX_VALUE || size == Integer.MAX_VALUE) {
+            throw new STB("Code is too large");
+        }
+        long gap = position - previousPosition;
+        if (opcode == previousOpcode && gap == 1) {
+            repeats ++;
+        }
+        else {
+            endRepeats();
+            if (gap > MAX_GAP) {
+                write((byte) (opcode << 5 | LONG_GAP));
+                writeNumber((int) gap);
+            }
+            else {
+                write((byte) (opcode << 5 | (int) (gap - 1)));
+            }
+            previousOpcode = opcode;
+        }
+        previousPosition = position;
+        size ++;
+    }
+
+    private void endRepeats() {
+        if (repeats > 0) {
+            write((byte) (previousOpcode << 5 | REPEAT));
+            writeNumber(repeats);
+            repeats = 0;
+        }
+    }
+
+    private void write(byte value) {
+        if (packedSize == packed.length) {
+            packed = Arrays.copyOf(packed, packedSize * 2);
+        }
+        packed[packedSize ++] = value;
+    }
+
+    private void writeNumber(int number) {
+        while (number >= 0x80) {
+            write((byte) (number & 0x7F | 0x80));
+            number >>>= 7;
+        }
+        write((byte) number);
+    }
+
+    private int readNumber() {
+        int number = 0;
+        int shift = 0;
+        int value;
+        do {
+            value = packed[unpacked ++];
+            number |= (value & 0x7F) << shift;
+            shift += 7;
+        }
+        while ((value & 0x80) != 0);
+        return number;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * The statistics collected for one stage of a {@link Pipeline} while it ran.
+ */
+public class StageStatistics {
+    private final int stage;
+    private final long valuesRead;
+    private final long valuesWritten;
+    private final long elapsedNanos;
+
+    /**
+     * Creates an instance with the provided statistics.
+     *
+     * @param stage The position of the stage in the pipeline, starting at 0.
+     * @param valuesRead The number of values the stage read.
+     * @param valuesWritten The number of values the stage wrote.
+     * @param elapsedNanos The time the stage took to run, in nanoseconds.
+     */
+    public StageStatistics(int stage, long valuesRead, long valuesWritten, long elapsedNanos) {
+        this.stage = stage;
+        this.valuesRead = valuesRead;
+        this.valuesWritten = valuesWritten;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the position of the stage in the pipeline, starting at 0.
+     *
+     * @return The position of the stage.
+     */
+    public int stage() {
+        return stage;
+    }
+
+    /**
+     * Gets the number of values the stage read from its input.
+     *
+     * @return The number of values read.
+     */
+    public long valuesRead() {
+        return valuesRead;
+    }
+
+    /**
+     * Gets the number of values the stage wrote to its output.
+     *
+     * @return The number of values written.
+     */
+    public long valuesWritten() {
+        return valuesWritten;
+    }
+
+    /**
+     * Gets the time the stage took to run, including any time spent waiting for the stages
+     * before and after it.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the average number of values the stage wrote per second.
+     *
+     * @return The output throughput of the stage.
+     */
+    public double valuesWrittenPerSecond() {
+        return elapsedNanos == 0 ? 0 : valuesWritten * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "Stage " + stage + ": " + valuesRead + " read, " + valuesWritten + " written in " + elapsedNanos + " ns";
+    }
+}
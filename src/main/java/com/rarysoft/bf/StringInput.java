@@ -73,4 +73,31 @@ public class StringInput implements Input {
         index ++;
         return value;
     }
+
+    /**
+     * Reads a block of values, starting with the header if it has not yet been read, followed by
+     * one character of the <code>String</code> for each value. Fewer values than requested are
+     * read only when the end of the <code>String</code> is reached.
+     *
+     * @param values The array to read the values into.
+     * @param offset The index in the array to store the first value at.
+     * @param length The maximum number of values to read.
+     * @return The number of values read, which is 0 if the end of the <code>String</code> has
+     * been reached.
+     */
+    @Override
+    public int read(int[] values, int offset, int length) {
+        int count = 0;
+        if (! headerRead && length > 0) {
+            headerRead = true;
+            values[offset] = data.length();
+            count ++;
+        }
+        while (count < length && index < data.length()) {
+            values[offset + count] = data.charAt(index);
+            index ++;
+            count ++;
+        }
+        return count;
+    }
 }
@@ -0,0 +1,231 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+/**
+ * Translates a {@link Program} into the flat code that the {@link ByteInterpreter} runs. Every
+ * instruction takes up a slot of {@link #SLOT_SIZE} elements in a single <code>int</code> array,
+ * holding its opcode followed by up to three arguments, and jump targets are stored as the
+ * position of a slot in the array, so that the interpreter needs nothing but the array, a program
+ * counter, and a pointer. Increment and decrement instructions become add instructions, and
+ * increment pointer and decrement pointer instructions become move instructions.
+ * <p>
+ * Short sequences of instructions that appear together most often in real programs are fused
+ * into single superinstructions, so that each one costs a single dispatch. The sequences were
+ * chosen by counting the pairs and triples of instructions in optimized programs, where a move
+ * followed by an add, as in <code>&gt;&gt;+++</code>, is by far the most common, followed by
+ * clears and adds next to moves, adds and moves before output, and moves before loop ends. An
+ * instruction that can be jumped to always starts a new slot, so it is never fused into the
+ * instructions before it. A loop instruction whose target is the matching loop instruction jumps
+ * to the instruction after its target instead, since the target would only fall through, which
+ * also leaves every loop end free to be fused with the move before it.
+ */
+final class Superinstructions {
+    /**
+     * The number of elements in each slot of the code.
+     */
+    static final int SLOT_SIZE = 4;
+
+    static final int ADD = 0;
+    static final int MOVE = 1;
+    static final int START_LOOP = 2;
+    static final int END_LOOP = 3;
+    static final int INPUT = 4;
+    static final int OUTPUT = 5;
+    static final int CLEAR = 6;
+    static final int SCAN = 7;
+    static final int MULTIPLY = 8;
+    static final int MOVE_ADD = 9;
+    static final int ADD_MOVE = 10;
+    static final int MOVE_ADD_MOVE = 11;
+    static final int ADD_MOVE_ADD = 12;
+    static final int CLEAR_MOVE = 13;
+    static final int MOVE_CLEAR = 14;
+    static final int MOVE_OUTPUT = 15;
+    static final int ADD_OUTPUT = 16;
+    static final int MOVE_END_LOOP = 17;
+    static final int NOTHING = 18;
+
+    private Superinstructions() {
+    }
+
+    /**
+     * Translates a program into flat code. The argument of a {@link #MULTIPLY} instruction is the
+     * index of the original instruction in the program, from which its offsets and factors can be
+     * read.
+     *
+     * @param program The program to translate.
+     * @return The code, with one slot for each instruction or superinstruction.
+     */
+    static int[] translate(Program program) {
+        int size = program.size();
+        boolean[] targets = new boolean[size + 1];
+        for (int index = 0; index < size; index ++) {
+            if (isLoop(program.opcode(index))) {
+                targets[targetOf(program, index)] = true;
+            }
+        }
+
+        int[] slots = new int[size + 1];
+        int[] code = new int[size * SLOT_SIZE];
+        int count = 0;
+        int index = 0;
+        while (index < size) {
+            int fused = fuse(program, index, targets, code, count * SLOT_SIZE);
+            for (int covered = index; covered < index + fused; covered ++) {
+                slots[covered] = count;
+            }
+            index += fused;
+            count ++;
+        }
+        slots[size] = count;
+
+        for (int slot = 0; slot < count; slot ++) {
+            int at = slot * SLOT_SIZE;
+            switch (code[at]) {
+                case START_LOOP:
+                case END_LOOP:
+                    code[at + 1] = slots[code[at + 1]] * SLOT_SIZE;
+                    break;
+                case MOVE_END_LOOP:
+                    code[at + 2] = slots[code[at + 2]] * SLOT_SIZE;
+                    break;
+                default:
+                    break;
+            }
+        }
+        int[] trimmed = new int[count * SLOT_SIZE];
+        System.arraycopy(code, 0, trimmed, 0, trimmed.length);
+        return trimmed;
+    }
+
+    private static int fuse(Program program, int index, boolean[] targets, int[] code, int at) {
+        int first = kindOf(program, index);
+        int second = canFuse(program, index + 1, targets) ? kindOf(program, index + 1) : -1;
+        int third = second >= 0 && canFuse(program, index + 2, targets) ? kindOf(program, index + 2) : -1;
+        if (first == MOVE && second == ADD && third == MOVE) {
+            return set(code, at, MOVE_ADD_MOVE, amountOf(program, index), amountOf(program, index + 1), amountOf(program, index + 2), 3);
+        }
+        if (first == ADD && second == MOVE && third == ADD) {
+            return set(code, at, ADD_MOVE_ADD, amountOf(program, index), amountOf(program, index + 1), amountOf(program, index + 2), 3);
+        }
+        if (first == MOVE && second == ADD) {
+            return set(code, at, MOVE_ADD, amountOf(program, index), amountOf(program, index + 1), 0, 2);
+        }
+        if (first == ADD && second == MOVE) {
+            return set(code, at, ADD_MOVE, amountOf(program, index), amountOf(program, index + 1), 0, 2);
+        }
+        if (first == CLEAR && second == MOVE) {
+            return set(code, at, CLEAR_MOVE, amountOf(program, index + 1), 0, 0, 2);
+        }
+        if (first == MOVE && second == CLEAR) {
+            return set(code, at, MOVE_CLEAR, amountOf(program, index), 0, 0, 2);
+        }
+        if (first == MOVE && second == OUTPUT) {
+            return set(code, at, MOVE_OUTPUT, amountOf(program, index), 0, 0, 2);
+        }
+        if (first == ADD && second == OUTPUT) {
+            return set(code, at, ADD_OUTPUT, amountOf(program, index), 0, 0, 2);
+        }
+        if (first == MOVE && second == END_LOOP) {
+            return set(code, at, MOVE_END_LOOP, amountOf(program, index), targetOf(program, index + 1), 0, 2);
+        }
+        switch (first) {
+            case START_LOOP:
+            case END_LOOP:
+                return set(code, at, first, targetOf(program, index), 0, 0, 1);
+            case MULTIPLY:
+                return set(code, at, first, index, 0, 0, 1);
+            default:
+                return set(code, at, first, amountOf(program, index), 0, 0, 1);
+        }
+    }
+
+    private static boolean canFuse(Program program, int index, boolean[] targets) {
+        return index < program.size() && ! targets[index];
+    }
+
+    private static int set(int[] code, int at, int opcode, int first, int second, int third, int fused) {
+        code[at] = opcode;
+        code[at + 1] = first;
+        code[at + 2] = second;
+        code[at + 3] = third;
+        return fused;
+    }
+
+    private static int targetOf(Program program, int index) {
+        int target = program.operand(index);
+        int matching = program.opcode(index) == Opcode.START_LOOP ? Opcode.END_LOOP : Opcode.START_LOOP;
+        if (target < program.size() && program.opcode(target) == matching) {
+            return target + 1;
+        }
+        return target;
+    }
+
+    private static boolean isLoop(int opcode) {
+        return opcode == Opcode.START_LOOP || opcode == Opcode.END_LOOP;
+    }
+
+    private static int kindOf(Program program, int index) {
+        switch (program.opcode(index)) {
+            case Opcode.INCREMENT:
+            case Opcode.DECREMENT:
+            case Opcode.ADD:
+                return ADD;
+            case Opcode.INCREMENT_POINTER:
+            case Opcode.DECREMENT_POINTER:
+            case Opcode.MOVE:
+                return MOVE;
+            case Opcode.START_LOOP:
+                return START_LOOP;
+            case Opcode.END_LOOP:
+                return END_LOOP;
+            case Opcode.INPUT:
+                return INPUT;
+            case Opcode.OUTPUT:
+                return OUTPUT;
+            case Opcode.CLEAR:
+                return CLEAR;
+            case Opcode.SCAN:
+                return SCAN;
+            case Opcode.MULTIPLY:
+                return MULTIPLY;
+            default:
+                return NOTHING;
+        }
+    }
+
+    private static int amountOf(Program program, int index) {
+        switch (program.opcode(index)) {
+            case Opcode.INCREMENT:
+            case Opcode.INCREMENT_POINTER:
+                return 1;
+            case Opcode.DECREMENT:
+            case Opcode.DECREMENT_POINTER:
+                return -1;
+            default:
+                return program.operand(index);
+        }
+    }
+}
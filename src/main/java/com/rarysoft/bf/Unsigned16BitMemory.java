@@ -24,10 +24,10 @@
 package com.rarysoft.bf;
 
 /**
- * A concrete implementation of {@link HashMapMemory} with an address range of 65,536
+ * A concrete implementation of {@link ShortArrayMemory} with an address range of 65,536
  * cells and the ability to store unsigned 16-bit values (0 to 65,535) in the cells.
  */
-public class Unsigned16BitMemory extends HashMapMemory {
+public class Unsigned16BitMemory extends ShortArrayMemory {
     /**
      * Creates an instance.
      */
@@ -24,10 +24,10 @@
 package com.rarysoft.bf;
 
 /**
- * A concrete implementation of {@link HashMapMemory} with an address range of 30,000
+ * A concrete implementation of {@link ByteArrayMemory} with an address range of 30,000
  * cells and the ability to store unsigned 8-bit values (0 to 255) in the cells.
  */
-public class Unsigned8BitMemory extends HashMapMemory {
+public class Unsigned8BitMemory extends ByteArrayMemory {
     /**
      * Creates an instance.
      */
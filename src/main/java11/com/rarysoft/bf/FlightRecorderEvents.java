@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The Java Flight Recorder events recorded for a {@link BF} created with {@link BFMetrics}. This
+ * is the only class that refers to the Flight Recorder. It is compiled for Java 11, apart from the
+ * rest of the library, and created by a {@link Monitor} through reflection once the Flight
+ * Recorder is known to be present, so that everything else still works on Java 8.
+ */
+final class FlightRecorderEvents implements EventRecorder {
+    FlightRecorderEvents() {
+    }
+
+    @Override
+    public Object beginCompile() {
+        CompileEvent event = new CompileEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endCompile(Object started, long codeLength, int instructions) {
+        CompileEvent event = (CompileEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.codeLength = codeLength;
+            event.instructions = instructions;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginRun() {
+        RunEvent event = new RunEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endRun(Object started, long instructions, long valuesRead, long valuesWritten, long addressSpan) {
+        RunEvent event = (RunEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.instructions = instructions;
+            event.valuesRead = valuesRead;
+            event.valuesWritten = valuesWritten;
+            event.addressSpan = addressSpan;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginInputStall() {
+        InputStallEvent event = new InputStallEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public Object beginOutputStall() {
+        OutputStallEvent event = new OutputStallEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endStall(Object started) {
+        Event event = (Event) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+
+    @Override
+    public void failure(Throwable failure) {
+        FailureEvent event = new FailureEvent();
+        if (event.shouldCommit()) {
+            event.exception = failure.getClass().getName();
+            event.message = failure.getMessage();
+            event.commit();
+        }
+    }
+
+    @Name("com.rarysoft.bf.Compile")
+    @Label("BF Compile")
+    @Category("BF")
+    @Description("A brainfuck program was compiled")
+    static class CompileEvent extends Event {
+        @Label("Code Length")
+        @Description("The length of the code, or -1 if it was streamed")
+        long codeLength;
+
+        @Label("Instructions")
+        int instructions;
+    }
+
+    @Name("com.rarysoft.bf.Run")
+    @Label("BF Run")
+    @Category("BF")
+    @Description("A compiled brainfuck program was run")
+    static class RunEvent extends Event {
+        @Label("Instructions Executed")
+        long instructions;
+
+        @Label("Values Read")
+        long valuesRead;
+
+        @Label("Values Written")
+        long valuesWritten;
+
+        @Label("Address Span")
+        @Description("The number of memory cells from the lowest address read or written to the highest")
+        long addressSpan;
+    }
+
+    @Name("com.rarysoft.bf.InputStall")
+    @Label("BF Input Stall")
+    @Category("BF")
+    @Description("A brainfuck program waited for input")
+    @Threshold("10 ms")
+    static class InputStallEvent extends Event {
+    }
+
+    @Name("com.rarysoft.bf.OutputStall")
+    @Label("BF Output Stall")
+    @Category("BF")
+    @Description("A brainfuck program waited for output to be written")
+    @Threshold("10 ms")
+    static class OutputStallEvent extends Event {
+    }
+
+    @Name("com.rarysoft.bf.Failure")
+    @Label("BF Failure")
+    @Category("BF")
+    @Description("A brainfuck program failed to compile or run")
+    static class FailureEvent extends Event {
+        @Label("Exception")
+        String exception;
+
+        @Label("Message")
+        String message;
+    }
+}
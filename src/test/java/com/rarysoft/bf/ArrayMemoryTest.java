@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class ArrayMemoryTest {
+    @Test
+    public void constructorWhenAddressRangeIsEmptyThrowsSTB() {
+        assertThrows(STB.class, () -> new IntArrayMemory(10, 9, 0, 1) {});
+    }
+
+    @Test
+    public void constructorWhenValueRangeIsEmptyThrowsSTB() {
+        assertThrows(STB.class, () -> new IntArrayMemory(0, 9, 1, 0) {});
+    }
+
+    @Test
+    public void constructorWhenAddressRangeIsTooLargeForArrayThrowsSTB() {
+        assertThrows(STB.class, () -> new IntArrayMemory(Integer.MIN_VALUE, Integer.MAX_VALUE, 0, 1) {});
+    }
+
+    @Test
+    public void byteArrayMemoryConstructorWhenValueRangeIsTooLargeForByteThrowsSTB() {
+        assertThrows(STB.class, () -> new ByteArrayMemory(0, 9, 0, 256) {});
+        assertThrows(STB.class, () -> new ByteArrayMemory(0, 9, -129, 0) {});
+        assertThrows(STB.class, () -> new ByteArrayMemory(0, 9, -1, 128) {});
+    }
+
+    @Test
+    public void shortArrayMemoryConstructorWhenValueRangeIsTooLargeForShortThrowsSTB() {
+        assertThrows(STB.class, () -> new ShortArrayMemory(0, 9, 0, 65536) {});
+        assertThrows(STB.class, () -> new ShortArrayMemory(0, 9, -32769, 0) {});
+        assertThrows(STB.class, () -> new ShortArrayMemory(0, 9, -1, 32768) {});
+    }
+
+    @Test
+    public void readAndWriteWhenAddressRangeIsOffsetUseAddressesWithinRange() {
+        Memory memory = new IntArrayMemory(-5, 5, Integer.MIN_VALUE, Integer.MAX_VALUE) {};
+
+        memory.write(-5, Integer.MIN_VALUE);
+        memory.write(5, Integer.MAX_VALUE);
+
+        assertThat(memory.read(-5)).isEqualTo(Integer.MIN_VALUE);
+        assertThat(memory.read(0)).isEqualTo(0);
+        assertThat(memory.read(5)).isEqualTo(Integer.MAX_VALUE);
+        assertThrows(STB.class, () -> memory.read(-6));
+        assertThrows(STB.class, () -> memory.read(6));
+    }
+
+    @Test
+    public void writeWhenValueIsOutOfRangeThrowsSTB() {
+        Memory memory = new IntArrayMemory(0, 9, -1000, 1000) {};
+
+        assertThrows(STB.class, () -> memory.write(0, -1001));
+        assertThrows(STB.class, () -> memory.write(0, 1001));
+    }
+
+    @Test
+    public void byteArrayMemoryWithNarrowUnsignedRangeStoresValuesAboveSignedByteRange() {
+        Memory memory = new ByteArrayMemory(0, 9, 100, 200) {};
+
+        memory.write(3, 200);
+
+        assertThat(memory.read(3)).isEqualTo(200);
+        assertThrows(STB.class, () -> memory.write(3, 99));
+    }
+}
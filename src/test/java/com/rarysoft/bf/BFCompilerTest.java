@@ -0,0 +1,317 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class BFCompilerTest {
+    private final BFCompiler compiler = new BFCompiler(new BFLooper());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void compileWhenCodeIsNullThrowsSTB() {
+        assertThrows(STB.class, () -> compiler.compile((String) null));
+    }
+
+    @Test
+    public void compileWhenCodeIsEmptyReturnsEmptyProgram() {
+        Program program = compiler.compile("");
+
+        assertThat(program.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void compileWhenCodeContainsOnlyCommentReturnsEmptyProgram() {
+        Program program = compiler.compile("This is a comment");
+
+        assertThat(program.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void compileConvertsEachCommandToMatchingOpcode() {
+        Program program = compiler.compile("+-><[],.");
+
+        assertThat(program.size()).isEqualTo(8);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.INCREMENT);
+        assertThat(program.opcode(1)).isEqualTo(Opcode.DECREMENT);
+        assertThat(program.opcode(2)).isEqualTo(Opcode.INCREMENT_POINTER);
+        assertThat(program.opcode(3)).isEqualTo(Opcode.DECREMENT_POINTER);
+        assertThat(program.opcode(4)).isEqualTo(Opcode.START_LOOP);
+        assertThat(program.opcode(5)).isEqualTo(Opcode.END_LOOP);
+        assertThat(program.opcode(6)).isEqualTo(Opcode.INPUT);
+        assertThat(program.opcode(7)).isEqualTo(Opcode.OUTPUT);
+    }
+
+    @Test
+    public void compileDropsCommentAndRecordsPositionOfEachCommand() {
+        Program program = compiler.compile("a+b-c");
+
+        assertThat(program.size()).isEqualTo(2);
+        assertThat(program.position(0)).isEqualTo(1);
+        assertThat(program.position(1)).isEqualTo(3);
+    }
+
+    @Test
+    public void compileStoresIndexOfMatchingCommandAsOperandOfLoopInstructions() {
+        Program program = compiler.compile("+[x>[-]<]");
+
+        assertThat(program.operand(1)).isEqualTo(7);
+        assertThat(program.operand(7)).isEqualTo(1);
+        assertThat(program.operand(3)).isEqualTo(5);
+        assertThat(program.operand(5)).isEqualTo(3);
+    }
+
+    @Test
+    public void compileWhenLoopHasNoEndThrowsSTB() {
+        assertThrows(STB.class, () -> compiler.compile("+[-"));
+    }
+
+    @Test
+    public void compileWhenLoopHasNoStartThrowsSTB() {
+        assertThrows(STB.class, () -> compiler.compile("+-]"));
+    }
+
+    @Test
+    public void compileAsksLooperForIndexOnceAndLocatesEveryLoopWithIt() {
+        BFLooper located = new BFLooper();
+        List<String> indexed = new ArrayList<>();
+        Looper looper = new Looper() {
+            @Override
+            public int findEndOfLoopDelta(String code, int position) {
+                throw new AssertionError("Looper used without its index");
+            }
+
+            @Override
+            public int findStartOfLoopDelta(String code, int position) {
+                throw new AssertionError("Looper used without its index");
+            }
+
+            @Override
+            public Looper index(String code) {
+                indexed.add(code);
+                return located;
+            }
+        };
+
+        Program program = new BFCompiler(looper).compile("+[>[-]<]");
+
+        assertThat(indexed).containsExactly("+[>[-]<]");
+        assertThat(program.operand(1)).isEqualTo(7);
+        assertThat(program.operand(3)).isEqualTo(5);
+    }
+
+    @Test
+    public void compileWhenCodeHasNoLoopsDoesNotAskLooperForIndex() {
+        Looper looper = new Looper() {
+            @Override
+            public int findEndOfLoopDelta(String code, int position) {
+                throw new AssertionError("Looper used");
+            }
+
+            @Override
+            public int findStartOfLoopDelta(String code, int position) {
+                throw new AssertionError("Looper used");
+            }
+
+            @Override
+            public Looper index(String code) {
+                throw new AssertionError("Looper indexed");
+            }
+        };
+
+        assertThat(new BFCompiler(looper).compile("+>-<.,").size()).isEqualTo(6);
+    }
+
+    @Test
+    public void compileWithSharedIndexedLooperOnManyThreadsMatchesEachCode() throws Exception {
+        BFCompiler shared = new BFCompiler(new IndexedLooper());
+        String[] codes = { "[[]]", "[][]", "[x[]]", "x[]x[]" };
+        ExecutorService threads = Executors.newFixedThreadPool(codes.length);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (String code : codes) {
+                results.add(threads.submit(() -> {
+                    Program expected = new BFCompiler(new BFLooper()).compile(code);
+                    for (int attempt = 0; attempt < 2000; attempt ++) {
+                        Program program = shared.compile(new String(code));
+                        for (int index = 0; index < program.size(); index ++) {
+                            if (program.operand(index) != expected.operand(index)) {
+                                return false;
+                            }
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        }
+        finally {
+            threads.shutdown();
+        }
+    }
+
+    @Test
+    public void compileWhenReaderIsNullThrowsSTB() {
+        assertThrows(STB.class, () -> compiler.compile((Reader) null));
+    }
+
+    @Test
+    public void compileFromReaderMatchesCompileFromString() {
+        String code = "+[x>[-]<]\nprint.,";
+
+        Program streamed = compiler.compile(new StringReader(code));
+        Program program = compiler.compile(code);
+
+        assertThat(streamed.size()).isEqualTo(program.size());
+        for (int index = 0; index < program.size(); index ++) {
+            assertThat(streamed.opcode(index)).isEqualTo(program.opcode(index));
+            assertThat(streamed.operand(index)).isEqualTo(program.operand(index));
+            assertThat(streamed.position(index)).isEqualTo(program.position(index));
+        }
+    }
+
+    @Test
+    public void compileFromReaderMatchesCompileFromStringForLongRunsAndGaps() {
+        StringBuilder code = new StringBuilder();
+        int[] gaps = { 0, 1, 28, 29, 30, 31, 127, 128, 100000 };
+        int[] runs = { 1, 2, 127, 128, 129, 16385 };
+        String commands = "+-><[].,";
+        for (int command = 0; command < commands.length(); command ++) {
+            for (int gap : gaps) {
+                for (int run : runs) {
+                    for (int space = 0; space < gap; space ++) {
+                        code.append(' ');
+                    }
+                    for (int repeat = 0; repeat < run; repeat ++) {
+                        code.append(commands.charAt(command));
+                    }
+                }
+            }
+        }
+        BFCompiler indexed = new BFCompiler(new IndexedLooper());
+
+        Program streamed = indexed.compile(new StringReader(code.toString()));
+        Program program = indexed.compile(code.toString());
+
+        assertThat(streamed.size()).isEqualTo(program.size());
+        for (int index = 0; index < program.size(); index ++) {
+            assertThat(streamed.opcode(index)).isEqualTo(program.opcode(index));
+            assertThat(streamed.operand(index)).isEqualTo(program.operand(index));
+            assertThat(streamed.position(index)).isEqualTo(program.position(index));
+        }
+    }
+
+    @Test
+    public void compileFromReaderWhenLoopHasNoEndThrowsSTB() {
+        STB stb = assertThrows(STB.class, () -> compiler.compile(new StringReader("+[-")));
+
+        assertThat(stb.getMessage()).isEqualTo("Loop has no end at position 1");
+    }
+
+    @Test
+    public void compileFromReaderWhenLoopsHaveNoMatchReportsEveryPosition() {
+        LoopMismatch thrown = assertThrows(LoopMismatch.class, () -> compiler.compile(new StringReader("]]  [[[-]")));
+
+        assertThat(thrown.unmatchedStarts()).containsExactly(4, 5);
+        assertThat(thrown.unmatchedEnds()).containsExactly(0, 1);
+    }
+
+    @Test
+    public void compileFromReaderWhenLoopHasNoStartThrowsSTB() {
+        STB stb = assertThrows(STB.class, () -> compiler.compile(new StringReader("+-]")));
+
+        assertThat(stb.getMessage()).isEqualTo("Loop has no start at position 2");
+    }
+
+    @Test
+    public void compileFromReaderDropsCommentSpanningManyBlocks() {
+        StringBuilder code = new StringBuilder("+[");
+        for (int line = 0; line < 20000; line ++) {
+            code.append("This comment is much longer than any single command\n");
+        }
+        code.append("-].");
+
+        Program program = compiler.compile(new StringReader(code.toString()));
+
+        assertThat(program.size()).isEqualTo(5);
+        assertThat(program.operand(1)).isEqualTo(3);
+        assertThat(program.operand(3)).isEqualTo(1);
+        assertThat(program.position(2)).isEqualTo(code.length() - 3);
+    }
+
+    @Test
+    public void compileFromChannelRecordsByteOffsetOfEachCommand() {
+        byte[] code = "\u00e9+\u00e9-".getBytes(StandardCharsets.UTF_8);
+
+        Program program = compiler.compile(Channels.newChannel(new ByteArrayInputStream(code)));
+
+        assertThat(program.size()).isEqualTo(2);
+        assertThat(program.position(0)).isEqualTo(2);
+        assertThat(program.position(1)).isEqualTo(5);
+    }
+
+    @Test
+    public void compileFromPathReadsFile() throws IOException {
+        Path path = folder.newFile("program.bf").toPath();
+        Files.write(path, "+[x>[-]<]".getBytes(StandardCharsets.UTF_8));
+
+        Program program = compiler.compile(path);
+
+        assertThat(program.size()).isEqualTo(8);
+        assertThat(program.operand(1)).isEqualTo(7);
+        assertThat(program.operand(3)).isEqualTo(5);
+    }
+
+    @Test
+    public void compileFromPathWhenFileIsMissingThrowsSTB() {
+        Path path = folder.getRoot().toPath().resolve("missing.bf");
+
+        STB stb = assertThrows(STB.class, () -> compiler.compile(path));
+
+        assertThat(stb.getMessage()).isEqualTo("File not found");
+    }
+}
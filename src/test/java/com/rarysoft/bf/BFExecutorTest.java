@@ -237,4 +237,123 @@ public class BFExecutorTest {
 
         verify(output).write(101);
     }
+
+    @Test
+    public void performAddAddsAmountToMemoryValueAtPointer() {
+        when(memory.read(POINTER)).thenReturn(101);
+
+        bfExecutor.performAdd(10);
+
+        verify(memory).write(POINTER, 111);
+    }
+
+    @Test
+    public void performAddWhenAmountIsNegativeSubtractsFromMemoryValueAtPointer() {
+        when(memory.read(POINTER)).thenReturn(101);
+
+        bfExecutor.performAdd(-10);
+
+        verify(memory).write(POINTER, 91);
+    }
+
+    @Test
+    public void performAddWhenResultIsAboveMaximumValueWrapsToMinimumValue() {
+        when(memory.read(POINTER)).thenReturn(0xFFFE);
+
+        bfExecutor.performAdd(3);
+
+        verify(memory).write(POINTER, 0x0001);
+    }
+
+    @Test
+    public void performAddWhenResultIsBelowMinimumValueWrapsToMaximumValue() {
+        when(memory.read(POINTER)).thenReturn(0x0001);
+
+        bfExecutor.performAdd(-3);
+
+        verify(memory).write(POINTER, 0xFFFE);
+    }
+
+    @Test
+    public void performAddWhenAmountIsLargerThanValueRangeWrapsRepeatedly() {
+        when(memory.read(POINTER)).thenReturn(5);
+
+        bfExecutor.performAdd(0x10000 * 3 + 2);
+
+        verify(memory).write(POINTER, 7);
+    }
+
+    @Test
+    public void performMoveMovesPointerByDistance() {
+        bfExecutor.performMove(10);
+
+        assertThat(bfExecutor.getPointer()).isEqualTo(POINTER + 10);
+    }
+
+    @Test
+    public void performMoveWhenDistanceIsNegativeMovesPointerBackwards() {
+        bfExecutor.performMove(-10);
+
+        assertThat(bfExecutor.getPointer()).isEqualTo(POINTER - 10);
+    }
+
+    @Test
+    public void performMoveWhenPointerPassesMaximumAddressWrapsToMinimumAddress() {
+        bfExecutor.setPointer(0xFFFE);
+
+        bfExecutor.performMove(3);
+
+        assertThat(bfExecutor.getPointer()).isEqualTo(0x0001);
+    }
+
+    @Test
+    public void performMoveWhenPointerPassesMinimumAddressWrapsToMaximumAddress() {
+        bfExecutor.setPointer(0x0001);
+
+        bfExecutor.performMove(-3);
+
+        assertThat(bfExecutor.getPointer()).isEqualTo(0xFFFE);
+    }
+
+    @Test
+    public void performClearWritesZeroToMemoryAtPointer() {
+        bfExecutor.performClear();
+
+        verify(memory).write(POINTER, 0);
+    }
+
+    @Test
+    public void performScanMovesPointerByStepUntilMemoryAtPointerIsZero() {
+        when(memory.read(POINTER)).thenReturn(1);
+        when(memory.read(POINTER + 2)).thenReturn(1);
+        when(memory.read(POINTER + 4)).thenReturn(0);
+
+        bfExecutor.performScan(2);
+
+        assertThat(bfExecutor.getPointer()).isEqualTo(POINTER + 4);
+    }
+
+    @Test
+    public void performMultiplyAddsMultipliedValueToEachOffsetAndClearsMemoryAtPointer() {
+        when(memory.read(POINTER)).thenReturn(3);
+        when(memory.read(POINTER + 1)).thenReturn(10);
+        when(memory.read(POINTER - 2)).thenReturn(20);
+
+        bfExecutor.performMultiply(new int[] { 1, -2 }, new int[] { 1, 4 });
+
+        verify(memory).write(POINTER + 1, 13);
+        verify(memory).write(POINTER - 2, 32);
+        verify(memory).write(POINTER, 0);
+    }
+
+    @Test
+    public void performMultiplyWhenResultIsAboveMaximumValueWraps() {
+        when(memory.read(POINTER)).thenReturn(0x100);
+        when(memory.read(POINTER + 1)).thenReturn(1);
+
+        bfExecutor.performMultiply(new int[] { 1 }, new int[] { 0x101 });
+
+        verify(memory).write(POINTER + 1, 0x101);
+        verify(memory).write(POINTER, 0);
+    }
 }
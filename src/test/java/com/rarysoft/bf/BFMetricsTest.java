@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class BFMetricsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void constructorWhenMetricsAreMissingThrowsSTB() {
+        assertThrows(STB.class, () -> new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory(), null));
+    }
+
+    @Test
+    public void runCountsRunInstructionsValuesAndCells() {
+        BFMetrics metrics = new BFMetrics();
+        BF bf = new BF(new StringInput("ab", true), new NullOutput(), new Unsigned8BitMemory(), metrics);
+
+        bf.run(",>,>>+++[<.>-]");
+
+        assertThat(metrics.getCompilations()).isEqualTo(1);
+        assertThat(metrics.getRuns()).isEqualTo(1);
+        assertThat(metrics.getFailures()).isEqualTo(0);
+        assertThat(metrics.getInstructionsExecuted()).isEqualTo(5 + 3 + 3 * 5);
+        assertThat(metrics.getValuesRead()).isEqualTo(2);
+        assertThat(metrics.getValuesWritten()).isEqualTo(3);
+        assertThat(metrics.getAddressSpan()).isEqualTo(4);
+        assertThat(metrics.getAverageRunNanos()).isEqualTo(metrics.getTotalRunNanos());
+    }
+
+    @Test
+    public void runCountsTimeSpentOnInputAndOutput() {
+        BFMetrics metrics = new BFMetrics();
+        Input input = () -> {
+            pause(20);
+            return 'a';
+        };
+        Output output = new NullOutput() {
+            @Override
+            public void flush() {
+                pause(30);
+            }
+        };
+        BF bf = new BF(input, output, new Unsigned8BitMemory(), metrics);
+
+        bf.run(",.");
+
+        assertThat(metrics.getTotalInputNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(metrics.getTotalOutputNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(30));
+        assertThat(metrics.getTotalInputNanos() + metrics.getTotalOutputNanos()).isLessThanOrEqualTo(metrics.getTotalRunNanos());
+    }
+
+    @Test
+    public void runAddsCountsOfEveryRun() {
+        BFMetrics metrics = new BFMetrics();
+        BF first = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory(), metrics);
+        BF second = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory(), metrics);
+
+        first.run("+.");
+        second.run("+.");
+        second.run("+.");
+
+        assertThat(metrics.getRuns()).isEqualTo(3);
+        assertThat(metrics.getValuesWritten()).isEqualTo(3);
+        assertThat(metrics.getAverageRunNanos()).isEqualTo(metrics.getTotalRunNanos() / 3);
+    }
+
+    @Test
+    public void runWhenProgramFailsCountsFailure() {
+        BFMetrics metrics = new BFMetrics();
+        BF bf = new BF(new StringInput("", true), new NullOutput(), new Unsigned8BitMemory(), metrics);
+
+        assertThrows(STB.class, () -> bf.run("+.,"));
+
+        assertThat(metrics.getRuns()).isEqualTo(1);
+        assertThat(metrics.getFailures()).isEqualTo(1);
+        assertThat(metrics.getValuesWritten()).isEqualTo(1);
+    }
+
+    @Test
+    public void compileWhenCodeIsInvalidCountsFailure() {
+        BFMetrics metrics = new BFMetrics();
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory(), metrics);
+
+        assertThrows(STB.class, () -> bf.compile("[[]"));
+
+        assertThat(metrics.getCompilations()).isEqualTo(1);
+        assertThat(metrics.getFailures()).isEqualTo(1);
+        assertThat(metrics.getRuns()).isEqualTo(0);
+    }
+
+    @Test
+    public void resetSetsEveryCounterToZero() {
+        BFMetrics metrics = new BFMetrics();
+        new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory(), metrics).run("+.");
+
+        metrics.reset();
+
+        assertThat(metrics.getRuns()).isEqualTo(0);
+        assertThat(metrics.getInstructionsExecuted()).isEqualTo(0);
+        assertThat(metrics.getAverageRunNanos()).isEqualTo(0);
+        assertThat(metrics.getTotalOutputNanos()).isEqualTo(0);
+    }
+
+    @Test
+    public void registerPublishesCountersOverJmx() throws Exception {
+        BFMetrics metrics = BFMetrics.register("test-register");
+        try {
+            new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory(), metrics).run("+.");
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("com.rarysoft.bf:type=BFMetrics,name=\"test-register\"");
+
+            assertThat(server.getAttribute(name, "Runs")).isEqualTo(1L);
+            assertThat(server.getAttribute(name, "ValuesWritten")).isEqualTo(1L);
+            assertThat(server.getAttribute(name, "TotalOutputNanos")).isEqualTo(metrics.getTotalOutputNanos());
+            assertThrows(STB.class, () -> BFMetrics.register("test-register"));
+        }
+        finally {
+            metrics.unregister();
+        }
+
+        assertThat(ManagementFactory.getPlatformMBeanServer().queryNames(new ObjectName("com.rarysoft.bf:name=\"test-register\",*"), null)).isEmpty();
+    }
+
+    @Test
+    public void runRecordsFlightRecorderEvents() throws IOException {
+        Path file = folder.newFile("events.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable("com.rarysoft.bf.Compile");
+            recording.enable("com.rarysoft.bf.Run");
+            recording.enable("com.rarysoft.bf.Failure");
+            recording.start();
+            BF bf = new BF(new StringInput("", true), new NullOutput(), new Unsigned8BitMemory(), new BFMetrics());
+            bf.run("+++.");
+            assertThrows(STB.class, () -> bf.run(","));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        List<String> names = events.stream().map(event -> event.getEventType().getName()).collect(Collectors.toList());
+        assertThat(names).contains("com.rarysoft.bf.Compile", "com.rarysoft.bf.Run", "com.rarysoft.bf.Failure");
+        RecordedEvent run = events.stream().filter(event -> event.getEventType().getName().equals("com.rarysoft.bf.Run")).findFirst().get();
+        assertThat(run.getLong("valuesWritten")).isEqualTo(1);
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
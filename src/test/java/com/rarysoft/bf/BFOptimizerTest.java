@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class BFOptimizerTest {
+    private final BFCompiler compiler = new BFCompiler(new BFLooper());
+
+    private final BFOptimizer bfOptimizer = new BFOptimizer();
+
+    @Test
+    public void optimizeWhenProgramIsNullThrowsSTB() {
+        assertThrows(STB.class, () -> bfOptimizer.optimize(null));
+    }
+
+    @Test
+    public void optimizeFoldsRunOfIncrementsIntoAdd() {
+        Program program = bfOptimizer.optimize(compiler.compile("+++++"));
+
+        assertThat(program.size()).isEqualTo(1);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.ADD);
+        assertThat(program.operand(0)).isEqualTo(5);
+    }
+
+    @Test
+    public void optimizeFoldsRunOfDecrementsIntoNegativeAdd() {
+        Program program = bfOptimizer.optimize(compiler.compile("---"));
+
+        assertThat(program.size()).isEqualTo(1);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.ADD);
+        assertThat(program.operand(0)).isEqualTo(-3);
+    }
+
+    @Test
+    public void optimizeFoldsRunOfPointerCommandsIntoMove() {
+        Program program = bfOptimizer.optimize(compiler.compile(">>x><>"));
+
+        assertThat(program.size()).isEqualTo(1);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.MOVE);
+        assertThat(program.operand(0)).isEqualTo(3);
+    }
+
+    @Test
+    public void optimizeRemovesRunsThatCancelOut() {
+        Program program = bfOptimizer.optimize(compiler.compile("+-><."));
+
+        assertThat(program.size()).isEqualTo(1);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.OUTPUT);
+    }
+
+    @Test
+    public void optimizeLeavesRunsAmountingToOneCommandAsThatCommand() {
+        Program program = bfOptimizer.optimize(compiler.compile("++-<<>"));
+
+        assertThat(program.size()).isEqualTo(2);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.INCREMENT);
+        assertThat(program.opcode(1)).isEqualTo(Opcode.DECREMENT_POINTER);
+    }
+
+    @Test
+    public void optimizeKeepsPositionOfFirstCommandInRun() {
+        Program program = bfOptimizer.optimize(compiler.compile(".x++>>"));
+
+        assertThat(program.position(1)).isEqualTo(2);
+        assertThat(program.position(2)).isEqualTo(4);
+    }
+
+    @Test
+    public void optimizeRelinksLoopsAroundFoldedRuns() {
+        Program program = bfOptimizer.optimize(compiler.compile("+++[>>++<<,]"));
+
+        assertThat(program.size()).isEqualTo(7);
+        assertThat(program.opcode(1)).isEqualTo(Opcode.START_LOOP);
+        assertThat(program.operand(1)).isEqualTo(6);
+        assertThat(program.opcode(6)).isEqualTo(Opcode.END_LOOP);
+        assertThat(program.operand(6)).isEqualTo(1);
+    }
+
+    @Test
+    public void optimizeReplacesDecrementLoopWithClear() {
+        Program program = bfOptimizer.optimize(compiler.compile("[-]"));
+
+        assertThat(program.size()).isEqualTo(1);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.CLEAR);
+    }
+
+    @Test
+    public void optimizeReplacesIncrementLoopWithClear() {
+        Program program = bfOptimizer.optimize(compiler.compile("[+]"));
+
+        assertThat(program.size()).isEqualTo(1);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.CLEAR);
+    }
+
+    @Test
+    public void optimizeLeavesLoopSteppingByMoreThanOneAsLoop() {
+        Program program = bfOptimizer.optimize(compiler.compile("[--]"));
+
+        assertThat(program.size()).isEqualTo(3);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.START_LOOP);
+    }
+
+    @Test
+    public void optimizeReplacesPointerLoopsWithScan() {
+        Program program = bfOptimizer.optimize(compiler.compile("[>][<<]"));
+
+        assertThat(program.size()).isEqualTo(2);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.SCAN);
+        assertThat(program.operand(0)).isEqualTo(1);
+        assertThat(program.opcode(1)).isEqualTo(Opcode.SCAN);
+        assertThat(program.operand(1)).isEqualTo(-2);
+    }
+
+    @Test
+    public void optimizeReplacesBalancedDecrementLoopWithMultiply() {
+        Program program = bfOptimizer.optimize(compiler.compile("[->+>++<<]"));
+
+        assertThat(program.size()).isEqualTo(1);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.MULTIPLY);
+        assertThat(program.offsets(0)).containsExactly(1, 2);
+        assertThat(program.factors(0)).containsExactly(1, 2);
+    }
+
+    @Test
+    public void optimizeReplacesBalancedIncrementLoopWithMultiplyByNegatedFactors() {
+        Program program = bfOptimizer.optimize(compiler.compile("[<<+>>+>---<]"));
+
+        assertThat(program.size()).isEqualTo(1);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.MULTIPLY);
+        assertThat(program.offsets(0)).containsExactly(-2, 1);
+        assertThat(program.factors(0)).containsExactly(-1, 3);
+    }
+
+    @Test
+    public void optimizeLeavesUnbalancedLoopAsLoop() {
+        Program program = bfOptimizer.optimize(compiler.compile("[->+]"));
+
+        assertThat(program.opcode(0)).isEqualTo(Opcode.START_LOOP);
+    }
+
+    @Test
+    public void optimizeLeavesLoopContainingOutputAsLoop() {
+        Program program = bfOptimizer.optimize(compiler.compile("[->+<.]"));
+
+        assertThat(program.opcode(0)).isEqualTo(Opcode.START_LOOP);
+    }
+
+    @Test
+    public void optimizeReplacesInnerLoopsAndRelinksOuterLoop() {
+        Program program = bfOptimizer.optimize(compiler.compile("+[>[-]<[->+<]-]."));
+
+        assertThat(program.size()).isEqualTo(9);
+        assertThat(program.opcode(3)).isEqualTo(Opcode.CLEAR);
+        assertThat(program.opcode(5)).isEqualTo(Opcode.MULTIPLY);
+        assertThat(program.operand(1)).isEqualTo(7);
+        assertThat(program.operand(7)).isEqualTo(1);
+        assertThat(program.opcode(8)).isEqualTo(Opcode.OUTPUT);
+    }
+
+    @Test
+    public void optimizedProgramLeavesMemoryInSameStateAsUnoptimizedProgram() {
+        String code = "--->+++++<[->>+++<<]>[-<<+>>]+[+>]<<<[<]>+++[>--<+]";
+        Memory unoptimized = new Signed8BitMemory();
+        Memory optimized = new Signed8BitMemory();
+
+        new BF(new BFExecutor(new NullInput(), new NullOutput(), unoptimized, 0), new BFLooper()).run(code);
+        new BF(new BFExecutor(new NullInput(), new NullOutput(), optimized, 0), new BFLooper(), bfOptimizer).run(code);
+
+        for (int address = optimized.minAddress(); address <= optimized.maxAddress(); address ++) {
+            assertThat(optimized.read(address)).as("Cell %d", address).isEqualTo(unoptimized.read(address));
+        }
+    }
+}
@@ -29,6 +29,11 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -48,7 +53,56 @@ public class BFTest {
 
     @Test
     public void runWhenCodeIsNullThrowsSTB() {
-        assertThrows(STB.class, () -> bf.run(null));
+        assertThrows(STB.class, () -> bf.run((String) null));
+    }
+
+    @Test
+    public void executeWhenProgramIsNullThrowsSTB() {
+        assertThrows(STB.class, () -> bf.execute(null));
+    }
+
+    @Test
+    public void executeWhenProgramIsCompiledRunsProgramEachTimeWithoutUsingLooper() {
+        Program program = bf.compile("+.");
+
+        bf.execute(program);
+        bf.execute(program);
+
+        verify(executor, times(2)).performIncrement();
+        verify(executor, times(2)).performOutput();
+        verifyNoInteractions(looper);
+    }
+
+    @Test
+    public void runWhenCreatedWithOutputFlushesOutputAtEnd() {
+        Output output = mock(Output.class);
+        BF bf = new BF(new NullInput(), output, new Unsigned8BitMemory());
+
+        bf.run("+.");
+
+        verify(output).write(1);
+        verify(output).flush();
+    }
+
+    @Test
+    public void runWhenCodeIsReadFromReaderPerformsCommandsWithoutUsingLooper() {
+        bf.run(new StringReader("+ comment [.-]"));
+
+        verify(executor).performIncrement();
+        verify(executor).performStartLoop();
+        verifyNoInteractions(looper);
+    }
+
+    @Test
+    public void runWhenCreatedWithOutputAndLoopsAreUnbalancedThrowsBeforeRunning() {
+        Output output = mock(Output.class);
+        BF bf = new BF(new NullInput(), output, new Unsigned8BitMemory());
+
+        LoopMismatch mismatch = assertThrows(LoopMismatch.class, () -> bf.run(".]+[["));
+
+        assertThat(mismatch.unmatchedStarts()).containsExactly(3, 4);
+        assertThat(mismatch.unmatchedEnds()).containsExactly(1);
+        verifyNoInteractions(output);
     }
 
     @Test
@@ -94,6 +148,7 @@ public class BFTest {
     @Test
     public void runWhenCodeContainsOnlyEmptyLoopAndLoopIsToBeSkippedPerformsStartOfLoopAndJumpsToEndOfLoop() {
         String code = "[]";
+        when(looper.index(code)).thenReturn(looper);
         when(executor.performStartLoop()).thenReturn(true);
         when(executor.performEndLoop()).thenReturn(false);
         when(looper.findEndOfLoopDelta(code, 0)).thenReturn(1);
@@ -104,6 +159,7 @@ public class BFTest {
     @Test
     public void runWhenCodeContainsOnlyLoopWithContentAndLoopIsToBeSkippedPerformsStartOfLoopAndJumpsToEndOfLoop() {
         String code = "[+]";
+        when(looper.index(code)).thenReturn(looper);
         when(executor.performStartLoop()).thenReturn(true);
         when(executor.performEndLoop()).thenReturn(false);
         when(looper.findEndOfLoopDelta(code, 0)).thenReturn(2);
@@ -116,6 +172,7 @@ public class BFTest {
     @Test
     public void runWhenCodeContainsOnlyLoopWithContentAndLoopIsToBeExecutedTwicePerformsLoopTwiceAndJumpsToEndOfLoopOnThirdIteration() {
         String code = "[+]";
+        when(looper.index(code)).thenReturn(looper);
         when(executor.performStartLoop()).thenReturn(false, false, true);
         when(executor.performEndLoop()).thenReturn(true, true, false);
         when(looper.findStartOfLoopDelta(code, 2)).thenReturn(-2);
@@ -129,6 +186,7 @@ public class BFTest {
     @Test
     public void runWhenCodeContainsNestedLoopsWithContentAndBothLoopsAreToBeExecutedTwiceEachPerformsLoopsTwiceAndJumpsToEndOfLoopsOnThirdIterations() {
         String code = "[+[-]]";
+        when(looper.index(code)).thenReturn(looper);
         when(executor.performStartLoop()).thenReturn(false, false, false, false, false, false, false);
         when(executor.performEndLoop()).thenReturn(true, true, false, true, true, false, false);
         when(looper.findStartOfLoopDelta(code, 4)).thenReturn(-2);
@@ -153,4 +211,41 @@ public class BFTest {
 
         verify(executor).performOutput();
     }
+
+    @Test
+    public void runWhenOptimizerIsProvidedPerformsFoldedRunsAsAddAndMove() {
+        BF bf = new BF(executor, looper, new BFOptimizer());
+
+        bf.run("+++>>-<<<");
+
+        verify(executor).performAdd(3);
+        verify(executor).performMove(2);
+        verify(executor).performDecrement();
+        verify(executor).performMove(-3);
+    }
+
+    @Test
+    public void runWhenCreatedWithOutputWritesOutputBeforeEachInputIsRead() {
+        List<String> events = new ArrayList<>();
+        Input input = () -> {
+            events.add("read");
+            return 'x';
+        };
+        Output output = new Output() {
+            @Override
+            public void write(int value) {
+                events.add(String.valueOf((char) value));
+            }
+
+            @Override
+            public void write(int[] values, int offset, int length) {
+                events.add(new String(values, offset, length));
+            }
+        };
+        BF bf = new BF(input, output, new Unsigned8BitMemory());
+
+        bf.run("++++++++[>++++++++<-]>+.+.,.");
+
+        assertThat(events).containsExactly("AB", "read", "x");
+    }
 }
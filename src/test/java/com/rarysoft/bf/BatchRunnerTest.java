@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class BatchRunnerTest {
+    private static final String ADD_ONE = ",[+.,]";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void ofWhenCodeIsInvalidThrowsSTB() {
+        assertThrows(STB.class, () -> BatchRunner.of("[["));
+    }
+
+    @Test
+    public void ofWhenProgramIsMissingThrowsSTB() {
+        assertThrows(STB.class, () -> BatchRunner.of((Program) null));
+    }
+
+    @Test
+    public void runStringsReturnsOutputOfEachInputInOrder() {
+        List<BatchResult> results = BatchRunner.of(ADD_ONE).runStrings(Arrays.asList("HAL\0", "abc\0", "\0"));
+
+        assertThat(results).extracting(BatchResult::index).containsExactly(0, 1, 2);
+        assertThat(results).extracting(BatchResult::text).containsExactly("IBM", "bcd", "");
+    }
+
+    @Test
+    public void runStreamReturnsOutputOfEachElementInOrder() {
+        List<BatchResult> results = BatchRunner.of(ADD_ONE).run(Stream.of("HAL\0", "abc\0").map(data -> data.toLowerCase()), data -> new StringInput(data, true));
+
+        assertThat(results).extracting(BatchResult::index).containsExactly(0, 1);
+        assertThat(results).extracting(BatchResult::text).containsExactly("ibm", "bcd");
+    }
+
+    @Test
+    public void runStreamWhenStreamIsMissingThrowsSTB() {
+        assertThrows(STB.class, () -> BatchRunner.of(ADD_ONE).run((Stream<String>) null, data -> new StringInput(data, true)));
+    }
+
+    @Test
+    public void runStringsWhenNoInputsReturnsNoResults() {
+        assertThat(BatchRunner.of(ADD_ONE).runStrings(Collections.emptyList())).isEmpty();
+    }
+
+    @Test
+    public void runBytesReadsUnsignedBytes() {
+        List<BatchResult> results = BatchRunner.of(",.,.").runBytes(Collections.singletonList(new byte[] { (byte) 200, 7 }));
+
+        assertThat(results.get(0).values()).containsExactly(200, 7);
+        assertThat(results.get(0).bytes()).containsExactly((byte) 200, (byte) 7);
+    }
+
+    @Test
+    public void runFilesReadsEachFile() throws IOException {
+        File first = folder.newFile();
+        File second = folder.newFile();
+        Files.write(first.toPath(), new byte[] { 'x', 0 });
+        Files.write(second.toPath(), new byte[] { 'y', 'z', 0 });
+
+        List<BatchResult> results = BatchRunner.of(ADD_ONE).runFiles(Arrays.asList(first.getPath(), second.getPath()));
+
+        assertThat(results).extracting(BatchResult::text).containsExactly("y", "z{");
+    }
+
+    @Test
+    public void runGivesEachRunItsOwnMemory() {
+        AtomicInteger memories = new AtomicInteger();
+        List<String> inputs = new ArrayList<>();
+        for (int count = 0; count < 50; count ++) {
+            inputs.add("");
+        }
+
+        List<BatchResult> results = BatchRunner.of(">+++[<+>-]<.")
+                .memory(() -> {
+                    memories.incrementAndGet();
+                    return new Unsigned8BitMemory();
+                })
+                .runStrings(inputs);
+
+        assertThat(memories.get()).isEqualTo(50);
+        assertThat(results).allSatisfy(result -> assertThat(result.values()).containsExactly(3));
+    }
+
+    @Test
+    public void runUsesProvidedPool() {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<String> inputs = new ArrayList<>();
+            for (int count = 0; count < 100; count ++) {
+                inputs.add(count + "\0");
+            }
+
+            List<BatchResult> results = BatchRunner.of(ADD_ONE).pool(pool).runStrings(inputs);
+
+            for (int count = 0; count < 100; count ++) {
+                StringBuilder expected = new StringBuilder();
+                for (char digit : String.valueOf(count).toCharArray()) {
+                    expected.append((char) (digit + 1));
+                }
+                assertThat(results.get(count).text()).isEqualTo(expected.toString());
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void runWhenInputFailsThrowsSTBForEarliestFailedInput() {
+        STB thrown = assertThrows(STB.class, () -> BatchRunner.of(ADD_ONE).runStrings(Arrays.asList("ok\0", "short", "bad")));
+
+        assertThat(thrown.getMessage()).startsWith("Input 1 failed");
+        assertThat(thrown.getCause()).hasMessage("Read past end of data");
+    }
+
+    @Test
+    public void runWhenInputsAreMissingThrowsSTB() {
+        assertThrows(STB.class, () -> BatchRunner.of(ADD_ONE).runStrings(null));
+    }
+}
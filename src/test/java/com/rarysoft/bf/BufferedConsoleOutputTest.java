@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class BufferedConsoleOutputTest {
+    private final ByteArrayOutputStream console = new ByteArrayOutputStream();
+    private final WritableByteChannel channel = Channels.newChannel(console);
+
+    @Test
+    public void constructorWhenPolicyIsMissingThrowsSTB() {
+        assertThrows(STB.class, () -> new BufferedConsoleOutput(null));
+    }
+
+    @Test
+    public void constructorWhenBufferSizeIsNotPositiveThrowsSTB() {
+        assertThrows(STB.class, () -> new BufferedConsoleOutput(BufferedConsoleOutput.FlushPolicy.NEWLINE, 0));
+    }
+
+    @Test
+    public void writeHoldsValuesUntilFlushed() {
+        BufferedConsoleOutput output = create(BufferedConsoleOutput.FlushPolicy.PROGRAM_END, 16);
+
+        output.write('A');
+        output.write(new int[] { 'B', '\n', 'C' }, 0, 3);
+
+        assertThat(printed()).isEmpty();
+
+        output.flush();
+
+        assertThat(printed()).isEqualTo("AB\nC");
+    }
+
+    @Test
+    public void writeWhenBufferIsFullWritesHeldValues() {
+        BufferedConsoleOutput output = create(BufferedConsoleOutput.FlushPolicy.BUFFER_FULL, 2);
+
+        output.write('A');
+        output.write('B');
+        output.write('C');
+
+        assertThat(printed()).isEqualTo("AB");
+    }
+
+    @Test
+    public void writeWhenPolicyIsNewlineWritesHeldValuesAtEachNewline() {
+        BufferedConsoleOutput output = create(BufferedConsoleOutput.FlushPolicy.NEWLINE, 16);
+
+        output.write('A');
+        output.write('\n');
+        output.write('B');
+
+        assertThat(printed()).isEqualTo("A\n");
+
+        output.write(new int[] { 'C', '\n', 'D' }, 0, 3);
+
+        assertThat(printed()).isEqualTo("A\nBC\nD");
+    }
+
+    @Test
+    public void writeEncodesCharactersAsUtf8() {
+        BufferedConsoleOutput output = create(BufferedConsoleOutput.FlushPolicy.PROGRAM_END, 2);
+
+        output.write(new int[] { 'é', 0xD83D, 0xDE00, '!' }, 0, 4);
+        output.close();
+
+        assertThat(printed()).isEqualTo("é😀!");
+    }
+
+    @Test
+    public void flushWhenPolicyIsBufferFullKeepsHeldValuesUntilClosed() {
+        BufferedConsoleOutput output = create(BufferedConsoleOutput.FlushPolicy.BUFFER_FULL, 16);
+
+        output.write('A');
+        output.flush();
+
+        assertThat(printed()).isEmpty();
+
+        output.close();
+
+        assertThat(printed()).isEqualTo("A");
+    }
+
+    @Test
+    public void flushingBeforeWhenPolicyIsInputReadWritesHeldValuesBeforeEachRead() {
+        BufferedConsoleOutput output = create(BufferedConsoleOutput.FlushPolicy.INPUT_READ, 16);
+        StringBuilder printedAtRead = new StringBuilder();
+        Input input = output.flushingBefore(() -> {
+            printedAtRead.append(printed());
+            return 'x';
+        });
+
+        new BF(input, output, new Unsigned8BitMemory()).run("++++++++[>++++++++<-]>+.,.");
+
+        assertThat(printedAtRead.toString()).isEqualTo("A");
+        assertThat(printed()).isEqualTo("Ax");
+    }
+
+    @Test
+    public void flushingBeforeWhenPolicyIsProgramEndReturnsInputUnchanged() {
+        BufferedConsoleOutput output = create(BufferedConsoleOutput.FlushPolicy.PROGRAM_END, 16);
+        Input input = new NullInput();
+
+        assertThat(output.flushingBefore(input)).isSameAs(input);
+    }
+
+    private BufferedConsoleOutput create(BufferedConsoleOutput.FlushPolicy policy, int bufferSize) {
+        return new BufferedConsoleOutput(channel, StandardCharsets.UTF_8, policy, bufferSize);
+    }
+
+    private String printed() {
+        return new String(console.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
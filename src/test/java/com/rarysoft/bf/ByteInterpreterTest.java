@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class ByteInterpreterTest {
+    private static final String HELLO_WORLD = "++++++++[>++++[>++>+++>+++>+<<<<-]>+>+>->>+[<]<-]>>.>---.+++++++..+++.>>.<-.<.+++.------.--------.>>+.>++.";
+
+    @Test
+    public void ofWhenMemoryIsNotByteArrayMemoryReturnsNull() {
+        Memory memory = new Unsigned16BitMemory();
+
+        assertThat(ByteInterpreter.of(memory, new BFExecutor(new NullInput(), new NullOutput(), memory, 0))).isNull();
+    }
+
+    @Test
+    public void ofWhenMemoryIsUnsigned8BitMemoryReturnsInterpreter() {
+        Memory memory = new Unsigned8BitMemory();
+
+        assertThat(ByteInterpreter.of(memory, new BFExecutor(new NullInput(), new NullOutput(), memory, 0))).isNotNull();
+    }
+
+    @Test
+    public void interpretProducesSameOutputAsExecutor() {
+        assertSameAsExecutor(HELLO_WORLD, Unsigned8BitMemory::new);
+        assertSameAsExecutor("-.+++[->++>+++<<]>.>.", Unsigned8BitMemory::new);
+        assertSameAsExecutor("<<<<<+++.>>>>>>>>.[>]<.", Unsigned8BitMemory::new);
+        assertSameAsExecutor("-.--[->+++<]>.", Signed8BitMemory::new);
+        assertSameAsExecutor("+[>+++[>++<-]>.<<-]", Signed8BitMemory::new);
+    }
+
+    @Test
+    public void interpretWrapsCellValues() {
+        Unsigned8BitMemory memory = new Unsigned8BitMemory();
+        List<Integer> values = new ArrayList<>();
+
+        new BF(new NullInput(), values::add, memory).run("-.+.");
+
+        assertThat(values).containsExactly(255, 0);
+    }
+
+    @Test
+    public void interpretWrapsPointerAroundEndsOfMemory() {
+        Unsigned8BitMemory memory = new Unsigned8BitMemory();
+        ExecutionContext context = new ExecutionContext(new NullInput(), new NullOutput(), memory);
+
+        context.execute(new BFCompiler(new IndexedLooper()).compile("<+<<<+"));
+
+        assertThat(memory.read(0x752F)).isEqualTo(1);
+        assertThat(memory.read(0x752C)).isEqualTo(1);
+        assertThat(context.pointer()).isEqualTo(0x752C);
+    }
+
+    @Test
+    public void interpretWrapsPointerMovedByLargeDistance() {
+        Unsigned8BitMemory memory = new Unsigned8BitMemory();
+        ExecutionContext context = new ExecutionContext(new NullInput(), new NullOutput(), memory);
+        int[] opcodes = { Opcode.MOVE, Opcode.INCREMENT };
+        int[] operands = { Integer.MIN_VALUE, 0 };
+
+        context.execute(new Program(opcodes, operands, new int[2]));
+
+        int expected = (int) Math.floorMod((long) Integer.MIN_VALUE, 0x7530L);
+        assertThat(context.pointer()).isEqualTo(expected);
+        assertThat(memory.read(expected)).isEqualTo(1);
+    }
+
+    @Test
+    public void interpretUsesAddressRangeOfMemory() {
+        Memory memory = new ByteArrayMemory(100, 109, 0, 255) {};
+        ExecutionContext context = new ExecutionContext(new NullInput(), new NullOutput(), memory);
+
+        context.execute(new BFCompiler(new IndexedLooper()).compile(">>+<<<-"));
+
+        assertThat(memory.read(102)).isEqualTo(1);
+        assertThat(memory.read(109)).isEqualTo(255);
+        assertThat(context.pointer()).isEqualTo(109);
+    }
+
+    @Test
+    public void interpretWhenInputIsOutOfRangeThrowsSTBAndKeepsPointer() {
+        Unsigned8BitMemory memory = new Unsigned8BitMemory();
+        ExecutionContext context = new ExecutionContext(new StringInput("\u0100", true), new NullOutput(), memory);
+
+        STB stb = assertThrows(STB.class, () -> context.execute(new BFCompiler(new IndexedLooper()).compile(">>,")));
+
+        assertThat(stb.getMessage()).isEqualTo("Value out of range");
+        assertThat(context.pointer()).isEqualTo(2);
+    }
+
+    @Test
+    public void interpretWhenMultiplyTargetWrapsOntoPointerMatchesExecutor() {
+        Memory memory = new ByteArrayMemory(0, 1, 0, 255) {};
+        List<Integer> values = new ArrayList<>();
+        ExecutionContext context = new ExecutionContext(new NullInput(), values::add, memory);
+
+        context.execute(new BFCompiler(new IndexedLooper(), new BFOptimizer()).compile("+++[->>++<<]."));
+
+        Memory expectedMemory = new ByteArrayMemory(0, 1, 0, 255) {};
+        List<Integer> expected = new ArrayList<>();
+        new BF(new BFExecutor(new NullInput(), expected::add, expectedMemory, 0), new IndexedLooper(), new BFOptimizer()).run("+++[->>++<<].");
+        assertThat(values).isEqualTo(expected);
+    }
+
+    private void assertSameAsExecutor(String code, Supplier<Memory> memory) {
+        List<Integer> actual = new ArrayList<>();
+        new BF(new NullInput(), actual::add, memory.get()).run(code);
+
+        List<Integer> expected = new ArrayList<>();
+        new BF(new BFExecutor(new NullInput(), expected::add, memory.get(), 0), new IndexedLooper(), new BFOptimizer()).run(code);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+}
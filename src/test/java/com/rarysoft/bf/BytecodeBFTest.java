@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class BytecodeBFTest {
+    private static final String HELLO_WORLD =
+            "++++++++[>++++[>++>+++>+++>+<<<<-]>+>+>->>+[<]<-]>>.>---.+++++++..+++.>>.<-.<.+++.------.--------.>>+.>++.";
+
+    private static final String IDIOMS =
+            "+++++[>+++++<-]>[>++>+++<<-]>>[-]<<<,[>>>+<<<-]>>>[<<+>>-]<<[<]+++.>.>.>.";
+
+    @Test
+    public void runWhenCodeIsNullThrowsSTB() {
+        BytecodeBF bf = new BytecodeBF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+
+        assertThrows(STB.class, () -> bf.run((String) null));
+    }
+
+    @Test
+    public void executeWhenProgramIsNullThrowsSTB() {
+        BytecodeBF bf = new BytecodeBF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+
+        assertThrows(STB.class, () -> bf.execute(null));
+    }
+
+    @Test
+    public void runHelloWorldWritesHelloWorld() {
+        List<Integer> values = new ArrayList<>();
+        BytecodeBF bf = new BytecodeBF(new NullInput(), values::add, new Unsigned8BitMemory());
+
+        bf.run(HELLO_WORLD);
+
+        StringBuilder text = new StringBuilder();
+        values.forEach(value -> text.append((char) value.intValue()));
+        assertThat(text.toString()).isEqualTo("Hello World!\n");
+    }
+
+    @Test
+    public void runHasSameEffectAsInterpreterForUnsigned8BitMemory() {
+        verifySameEffectAsInterpreter(IDIOMS, new Unsigned8BitMemory(), new Unsigned8BitMemory());
+    }
+
+    @Test
+    public void runHasSameEffectAsInterpreterForSigned8BitMemory() {
+        verifySameEffectAsInterpreter(IDIOMS, new Signed8BitMemory(), new Signed8BitMemory());
+    }
+
+    @Test
+    public void runHasSameEffectAsInterpreterWhenPointerAndValuesWrap() {
+        verifySameEffectAsInterpreter("-<+<<<-[->+>>--<<<]>>>>>>[<<<<+>>>>-]<<.>.>.>.", new Unsigned8BitMemory(), new Unsigned8BitMemory());
+    }
+
+    @Test
+    public void runWhenMemoryCanNotBeTranslatedUsesInterpreter() {
+        verifySameEffectAsInterpreter(IDIOMS, new Unsigned16BitMemory(), new Unsigned16BitMemory());
+    }
+
+    @Test
+    public void runWhenProgramIsTooLargeToTranslateUsesInterpreter() {
+        StringBuilder code = new StringBuilder();
+        for (int cell = 0; cell < 10000; cell ++) {
+            code.append("+>[-]<.");
+        }
+
+        verifySameEffectAsInterpreter(code.toString(), new Unsigned8BitMemory(), new Unsigned8BitMemory());
+    }
+
+    @Test
+    public void executeWhenProgramIsTooLargeToTranslateOnlyTriesToTranslateOnce() {
+        StringBuilder code = new StringBuilder();
+        for (int cell = 0; cell < 10000; cell ++) {
+            code.append("+>[-]<.");
+        }
+        BytecodeBF bf = new BytecodeBF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+        Program program = bf.compile(code.toString());
+
+        bf.execute(program);
+
+        assertThat(bf.isTranslated(program)).isTrue();
+    }
+
+    @Test
+    public void runWhenInputIsOutOfRangeThrowsSTB() {
+        BytecodeBF bf = new BytecodeBF(new StringInput("Ā", true), new NullOutput(), new Unsigned8BitMemory());
+
+        assertThrows(STB.class, () -> bf.run(","));
+    }
+
+    @Test
+    public void executeTwiceContinuesFromPreviousPointer() {
+        Memory memory = new Unsigned8BitMemory();
+        BytecodeBF bf = new BytecodeBF(new NullInput(), new NullOutput(), memory);
+        Program program = bf.compile(">+");
+
+        bf.execute(program);
+        bf.execute(program);
+
+        assertThat(memory.read(1)).isEqualTo(1);
+        assertThat(memory.read(2)).isEqualTo(1);
+    }
+
+    private void verifySameEffectAsInterpreter(String code, Memory expectedMemory, Memory actualMemory) {
+        List<Integer> expected = new ArrayList<>();
+        List<Integer> actual = new ArrayList<>();
+
+        new BF(new StringInput("A"), expected::add, expectedMemory).run(code);
+        new BytecodeBF(new StringInput("A"), actual::add, actualMemory).run(code);
+
+        assertThat(actual).isEqualTo(expected);
+        for (int address = expectedMemory.minAddress(); address <= expectedMemory.maxAddress(); address ++) {
+            assertThat(actualMemory.read(address)).isEqualTo(expectedMemory.read(address));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class ConcurrentPipeTest {
+    @Test
+    public void constructorWhenCapacityIsNotPositiveThrowsSTB() {
+        assertThrows(STB.class, () -> new ConcurrentPipe(0, 0));
+    }
+
+    @Test
+    public void readReturnsValuesWrittenAndThenEndOfStreamAfterClose() {
+        ConcurrentPipe pipe = new ConcurrentPipe(4, -1);
+        pipe.write('A');
+        pipe.write('B');
+        pipe.close();
+
+        assertThat(pipe.read()).isEqualTo('A');
+        assertThat(pipe.read()).isEqualTo('B');
+        assertThat(pipe.read()).isEqualTo(-1);
+        assertThat(pipe.read()).isEqualTo(-1);
+    }
+
+    @Test
+    public void readWhenClosedAndEmptyReturnsZeroByDefault() {
+        ConcurrentPipe pipe = new ConcurrentPipe();
+        pipe.close();
+
+        assertThat(pipe.read()).isEqualTo(0);
+    }
+
+    @Test
+    public void writeAfterCloseThrowsSTB() {
+        ConcurrentPipe pipe = new ConcurrentPipe();
+        pipe.close();
+
+        assertThrows(STB.class, () -> pipe.write('A'));
+    }
+
+    @Test
+    public void readAndWriteOnSeparateThreadsPassEveryValueInOrder() throws InterruptedException {
+        ConcurrentPipe pipe = new ConcurrentPipe(16, -1);
+        Thread writer = new Thread(() -> {
+            for (int value = 0; value < 100000; value ++) {
+                pipe.write(value);
+            }
+            pipe.close();
+        });
+
+        writer.start();
+        int expected = 0;
+        int value;
+        while ((value = pipe.read()) != -1) {
+            assertThat(value).isEqualTo(expected ++);
+        }
+        writer.join();
+
+        assertThat(expected).isEqualTo(100000);
+    }
+
+    @Test
+    public void runWhenProgramsRunConcurrentlyPipesOutputOfOneIntoOther() throws InterruptedException {
+        ConcurrentPipe pipe = new ConcurrentPipe(2, 0);
+        Pipe result = new Pipe(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            try {
+                new BF(new NullInput(), pipe, new Unsigned8BitMemory()).run("++++++++[>++++++++<-]>+.+.+.+.+.");
+            }
+            catch (Throwable t) {
+                failure.set(t);
+            }
+            finally {
+                pipe.close();
+            }
+        });
+
+        producer.start();
+        new BF(pipe, result, new Unsigned8BitMemory()).run(",[+.,]");
+        producer.join();
+
+        assertThat(failure.get()).isNull();
+        assertThat(new int[] { result.read(), result.read(), result.read(), result.read(), result.read() })
+                .containsExactly('B', 'C', 'D', 'E', 'F');
+        assertThrows(STB.class, result::read);
+    }
+
+    @Test
+    public void readWhenWaitingThreadIsInterruptedThrowsSTB() throws InterruptedException {
+        ConcurrentPipe pipe = new ConcurrentPipe();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                pipe.read();
+            }
+            catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+
+        reader.start();
+        reader.interrupt();
+        reader.join();
+
+        assertThat(failure.get()).isInstanceOf(STB.class);
+    }
+
+    @Test
+    public void abortWakesWaitingReaderWithSTBWithoutInterruptingIt() throws InterruptedException {
+        ConcurrentPipe pipe = new ConcurrentPipe();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicReference<Boolean> interrupted = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                pipe.read();
+            }
+            catch (Throwable t) {
+                failure.set(t);
+                interrupted.set(Thread.currentThread().isInterrupted());
+            }
+        });
+
+        reader.start();
+        pipe.abort();
+        reader.join();
+
+        assertThat(failure.get()).isInstanceOf(STB.class);
+        assertThat(interrupted.get()).isFalse();
+    }
+
+    @Test
+    public void abortWakesWaitingWriterWithSTB() throws InterruptedException {
+        ConcurrentPipe pipe = new ConcurrentPipe(1, 0);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                pipe.write(1);
+                pipe.write(2);
+            }
+            catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+
+        writer.start();
+        pipe.abort();
+        writer.join();
+
+        assertThat(failure.get()).isInstanceOf(STB.class);
+    }
+
+    @Test
+    public void writeBlockLargerThanCapacityPassesEveryValueInOrder() throws InterruptedException {
+        ConcurrentPipe pipe = new ConcurrentPipe(8, -1);
+        int[] block = new int[1000];
+        for (int index = 0; index < block.length; index ++) {
+            block[index] = index;
+        }
+        Thread writer = new Thread(() -> {
+            pipe.write(-2);
+            pipe.write(block, 1, 999);
+            pipe.close();
+        });
+
+        writer.start();
+        assertThat(pipe.read()).isEqualTo(-2);
+        for (int expected = 1; expected < 1000; expected ++) {
+            assertThat(pipe.read()).isEqualTo(expected);
+        }
+        assertThat(pipe.read()).isEqualTo(-1);
+        writer.join();
+    }
+}
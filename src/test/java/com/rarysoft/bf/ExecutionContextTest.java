@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ExecutionContextTest {
+    private static final String ADD_ONE_TO_EACH = ",[+.,]";
+
+    @Test
+    public void executeWhenProgramIsNullThrowsSTB() {
+        ExecutionContext context = new ExecutionContext(new NullInput(), new NullOutput());
+
+        assertThrows(STB.class, () -> context.execute(null));
+    }
+
+    @Test
+    public void executeRunsProgramInContextMemoryAndFlushesOutput() {
+        Output output = mock(Output.class);
+        Memory memory = new Signed8BitMemory();
+        ExecutionContext context = new ExecutionContext(new NullInput(), output, memory);
+
+        context.execute(new BF().compile(">--.>"));
+
+        verify(output).write(-2);
+        verify(output).flush();
+        assertThat(context.memory()).isSameAs(memory);
+        assertThat(memory.read(1)).isEqualTo(-2);
+        assertThat(context.pointer()).isEqualTo(2);
+    }
+
+    @Test
+    public void executeContinuesFromStateLeftByEarlierRun() {
+        ExecutionContext context = new ExecutionContext(new NullInput(), new NullOutput());
+        Program program = new BF().compile("+>");
+
+        context.execute(program);
+        context.execute(program);
+
+        assertThat(context.memory().read(0)).isEqualTo(1);
+        assertThat(context.memory().read(1)).isEqualTo(1);
+        assertThat(context.pointer()).isEqualTo(2);
+    }
+
+    @Test
+    public void executeWhenProgramIsSharedByManyThreadsRunsEachContextIndependently() throws Exception {
+        Program program = new BFCompiler(new BFLooper(), new BFOptimizer()).compile(ADD_ONE_TO_EACH);
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        List<Future<String>> results = new ArrayList<>();
+
+        for (int run = 0; run < 100; run ++) {
+            String data = "run " + run;
+            results.add(threads.submit(() -> {
+                StringBuilder text = new StringBuilder();
+                new ExecutionContext(new StringInput(data + "\0", true), value -> text.append((char) value)).execute(program);
+                return text.toString();
+            }));
+        }
+        threads.shutdown();
+
+        for (int run = 0; run < 100; run ++) {
+            StringBuilder expected = new StringBuilder();
+            for (char character : ("run " + run).toCharArray()) {
+                expected.append((char) (character + 1));
+            }
+            assertThat(results.get(run).get()).isEqualTo(expected.toString());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExecutorTest {
+    @Test
+    public void performAddWhenAmountIsPositivePerformsIncrementForEachUnit() {
+        RecordingExecutor executor = new RecordingExecutor();
+
+        executor.performAdd(3);
+
+        assertThat(executor.performed()).isEqualTo("+++");
+    }
+
+    @Test
+    public void performAddWhenAmountIsNegativePerformsDecrementForEachUnit() {
+        RecordingExecutor executor = new RecordingExecutor();
+
+        executor.performAdd(-3);
+
+        assertThat(executor.performed()).isEqualTo("---");
+    }
+
+    @Test
+    public void performMoveWhenDistanceIsPositivePerformsIncrementPointerForEachUnit() {
+        RecordingExecutor executor = new RecordingExecutor();
+
+        executor.performMove(3);
+
+        assertThat(executor.performed()).isEqualTo(">>>");
+    }
+
+    @Test
+    public void performMoveWhenDistanceIsNegativePerformsDecrementPointerForEachUnit() {
+        RecordingExecutor executor = new RecordingExecutor();
+
+        executor.performMove(-3);
+
+        assertThat(executor.performed()).isEqualTo("<<<");
+    }
+
+    @Test
+    public void performClearPerformsDecrementUntilStartLoopIndicatesZero() {
+        RecordingExecutor executor = new RecordingExecutor(false, false, true);
+
+        executor.performClear();
+
+        assertThat(executor.performed()).isEqualTo("[-[-[");
+    }
+
+    @Test
+    public void performScanPerformsMoveUntilStartLoopIndicatesZero() {
+        RecordingExecutor executor = new RecordingExecutor(false, false, true);
+
+        executor.performScan(-2);
+
+        assertThat(executor.performed()).isEqualTo("[<<[<<[");
+    }
+
+    @Test
+    public void performMultiplyPerformsLoopBodyUntilStartLoopIndicatesZero() {
+        RecordingExecutor executor = new RecordingExecutor(false, false, true);
+
+        executor.performMultiply(new int[] { 2, -1 }, new int[] { -1, 3 });
+
+        assertThat(executor.performed()).isEqualTo("[->>-<<<+++>[->>-<<<+++>[");
+    }
+
+    private static class RecordingExecutor implements Executor {
+        private final Deque<Boolean> startLoopResults;
+        private final StringBuilder performed = new StringBuilder();
+
+        RecordingExecutor(Boolean... startLoopResults) {
+            this.startLoopResults = new ArrayDeque<>(Arrays.asList(startLoopResults));
+        }
+
+        String performed() {
+            return performed.toString();
+        }
+
+        @Override
+        public void performIncrement() {
+            performed.append(BFDialect.INCREMENT);
+        }
+
+        @Override
+        public void performDecrement() {
+            performed.append(BFDialect.DECREMENT);
+        }
+
+        @Override
+        public void performIncrementPointer() {
+            performed.append(BFDialect.INCREMENT_POINTER);
+        }
+
+        @Override
+        public void performDecrementPointer() {
+            performed.append(BFDialect.DECREMENT_POINTER);
+        }
+
+        @Override
+        public boolean performStartLoop() {
+            performed.append(BFDialect.START_LOOP);
+            return startLoopResults.remove();
+        }
+
+        @Override
+        public boolean performEndLoop() {
+            performed.append(BFDialect.END_LOOP);
+            return false;
+        }
+
+        @Override
+        public void performInput() {
+            performed.append(BFDialect.INPUT);
+        }
+
+        @Override
+        public void performOutput() {
+            performed.append(BFDialect.OUTPUT);
+        }
+    }
+}
@@ -25,6 +25,9 @@ package com.rarysoft.bf;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertThrows;
 
@@ -68,6 +71,17 @@ public class FileInputTest {
         assertThat(result).isEqualTo('T');
     }
 
+    @Test
+    public void readAfterCloseThrowsSTBWithCause() {
+        FileInput fileInput = new FileInput("src/test/resources/input.txt", true);
+        fileInput.close();
+
+        STB thrown = assertThrows(STB.class, fileInput::read);
+
+        assertThat(thrown).hasMessage("Unrecoverable file read error");
+        assertThat(thrown.getCause()).isInstanceOf(ClosedChannelException.class);
+    }
+
     @Test
     public void readWhenHeaderSkippedReturnsFirstByte() {
         FileInput fileInput = new FileInput("src/test/resources/input.txt", true);
@@ -114,6 +128,49 @@ public class FileInputTest {
         assertThrows(STB.class, fileInput::read);
     }
 
+    @Test
+    public void readWhenBufferIsSmallerThanFileReturnsAllFileBytes() {
+        FileInput fileInput = new FileInput("src/test/resources/input.txt", true, 3);
+        int[] results = new int[10];
+
+        for (int index = 0; index < 10; index ++) {
+            results[index] = fileInput.read();
+        }
+
+        assertThat(results).containsExactly('T', 'e', 's', 't', ' ', 'i', 'n', 'p', 'u', 't');
+        assertThrows(STB.class, fileInput::read);
+    }
+
+    @Test
+    public void readBlockSkipsHeaderAndReturnsFileBytesAfterSingleValues() {
+        FileInput fileInput = new FileInput("src/test/resources/input.txt", false, 4);
+        fileInput.read();
+        byte[] values = new byte[12];
+
+        int count = fileInput.read(values, 1, 11);
+
+        assertThat(count).isEqualTo(10);
+        assertThat(new String(values, 1, count)).isEqualTo("Test input");
+        assertThat(fileInput.read(values, 0, 1)).isEqualTo(0);
+    }
+
+    @Test
+    public void readBlockContinuesFromSingleValues() {
+        FileInput fileInput = new FileInput("src/test/resources/input.txt", true, 4);
+        fileInput.read();
+        byte[] values = new byte[4];
+
+        int count = fileInput.read(values, 0, 4);
+
+        assertThat(new String(values, 0, count)).isEqualTo("est ");
+        assertThat(fileInput.read()).isEqualTo('i');
+    }
+
+    @Test
+    public void constructorWhenBufferSizeIsNotPositiveThrowsSTB() {
+        assertThrows(STB.class, () -> new FileInput("src/test/resources/input.txt", true, 0));
+    }
+
     @Test
     public void readAfterLastByteReadWhenHeaderSkippedThrowsSTB() {
         FileInput fileInput = new FileInput("src/test/resources/input.txt", true);
@@ -124,4 +181,30 @@ public class FileInputTest {
 
         assertThrows(STB.class, fileInput::read);
     }
+
+    @Test
+    public void readIntBlockReturnsHeaderThenBytesUntilEndOfFile() {
+        FileInput fileInput = new FileInput("src/test/resources/input.txt", false, 4);
+        int[] values = new int[16];
+
+        int count = fileInput.read(values, 0, 16);
+
+        assertThat(count).isEqualTo(11);
+        assertThat(values[0]).isEqualTo(10);
+        assertThat(new String(values, 1, 10)).isEqualTo("Test input");
+        assertThat(fileInput.read(values, 0, 16)).isEqualTo(0);
+    }
+
+    @Test
+    public void readBufferSkipsHeaderAndFillsRemainingSpace() {
+        FileInput fileInput = new FileInput("src/test/resources/input.txt", false, 3);
+        ByteBuffer values = ByteBuffer.allocate(6);
+        values.put((byte) '>');
+
+        int count = fileInput.read(values);
+
+        assertThat(count).isEqualTo(5);
+        assertThat(new String(values.array())).isEqualTo(">Test ");
+        assertThat(fileInput.read()).isEqualTo('i');
+    }
 }
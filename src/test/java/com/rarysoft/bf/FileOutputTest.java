@@ -23,28 +23,131 @@
  */
 package com.rarysoft.bf;
 
+import org.junit.Assume;
 import org.junit.Test;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.fail;
 
 public class FileOutputTest {
+    private static final String FILENAME = "src/test/resources/output.txt";
+
+    @Test
+    public void constructorWhenBufferSizeIsNotPositiveThrowsSTB() {
+        assertThrows(STB.class, () -> new FileOutput(FILENAME, false, 0));
+    }
+
     @Test
     public void writeWritesValueToFile() {
-        String filename = "src/test/resources/output.txt";
-        FileOutput fileOutput = new FileOutput(filename);
+        FileOutput fileOutput = new FileOutput(FILENAME);
 
         fileOutput.write('Z');
+        fileOutput.close();
 
         try {
-            int result = new FileInputStream(filename).read();
+            int result = new FileInputStream(FILENAME).read();
             assertThat(result).isEqualTo('Z');
         }
         catch (IOException e) {
             fail("Unable to read result");
         }
     }
+
+    @Test
+    public void writeHoldsValuesUntilFlushed() throws IOException {
+        FileOutput fileOutput = new FileOutput(FILENAME);
+
+        fileOutput.write('Z');
+
+        assertThat(Files.size(Paths.get(FILENAME))).isEqualTo(0);
+
+        fileOutput.flush();
+
+        assertThat(Files.readAllBytes(Paths.get(FILENAME))).containsExactly('Z');
+        fileOutput.close();
+    }
+
+    @Test
+    public void writeWhenBufferIsFullWritesBufferToFile() throws IOException {
+        FileOutput fileOutput = new FileOutput(FILENAME, false, 2);
+
+        fileOutput.write('A');
+        fileOutput.write('B');
+        fileOutput.write('C');
+
+        assertThat(Files.readAllBytes(Paths.get(FILENAME))).containsExactly('A', 'B');
+        fileOutput.close();
+    }
+
+    @Test
+    public void writeBlockWritesBytesInOrderWithSingleValues() throws IOException {
+        FileOutput fileOutput = new FileOutput(FILENAME, false, 4);
+
+        fileOutput.write('A');
+        fileOutput.write(new byte[] { 'x', 'B', 'C', 'y' }, 1, 2);
+        fileOutput.write("DEFGH".getBytes(), 0, 5);
+        fileOutput.write('I');
+        fileOutput.close();
+
+        assertThat(new String(Files.readAllBytes(Paths.get(FILENAME)))).isEqualTo("ABCDEFGHI");
+    }
+
+    @Test
+    public void closeWhenBufferCanNotBeWrittenStillClosesFile() {
+        Assume.assumeTrue(Files.isWritable(Paths.get("/dev/full")));
+        FileOutput fileOutput = new FileOutput("/dev/full", false, 1);
+        fileOutput.write('Z');
+
+        assertThrows(STB.class, fileOutput::close);
+        STB thrown = assertThrows(STB.class, () -> fileOutput.write(new byte[] { 'Z', 'Z' }, 0, 2));
+
+        assertThat(thrown.getCause()).isInstanceOf(ClosedChannelException.class);
+    }
+
+    @Test
+    public void closeWhenAppendingAddsToExistingData() throws IOException {
+        FileOutput first = new FileOutput(FILENAME);
+        first.write('A');
+        first.close();
+        FileOutput second = new FileOutput(FILENAME, true);
+
+        second.write('B');
+        second.close();
+
+        assertThat(new String(Files.readAllBytes(Paths.get(FILENAME)))).isEqualTo("AB");
+    }
+
+    @Test
+    public void writeIntBlockWritesLowestByteOfEachValueInOrder() throws IOException {
+        FileOutput fileOutput = new FileOutput(FILENAME, false, 4);
+
+        fileOutput.write('A');
+        fileOutput.write(new int[] { 'x', 'B', 'C' + 256, 'D', 'E', 'F', 'y' }, 1, 5);
+        fileOutput.write('G');
+        fileOutput.close();
+
+        assertThat(new String(Files.readAllBytes(Paths.get(FILENAME)))).isEqualTo("ABCDEFG");
+    }
+
+    @Test
+    public void writeBufferWritesEveryRemainingByte() throws IOException {
+        FileOutput fileOutput = new FileOutput(FILENAME, false, 4);
+        ByteBuffer values = ByteBuffer.wrap("xABCDEFGH".getBytes());
+        values.position(1);
+
+        fileOutput.write('-');
+        fileOutput.write(values);
+        fileOutput.close();
+
+        assertThat(values.hasRemaining()).isFalse();
+        assertThat(new String(Files.readAllBytes(Paths.get(FILENAME)))).isEqualTo("-ABCDEFGH");
+    }
 }
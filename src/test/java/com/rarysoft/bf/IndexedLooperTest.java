@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class IndexedLooperTest {
+    private final IndexedLooper looper = new IndexedLooper();
+
+    @Test
+    public void findEndOfLoopDeltaWhenCodeIsNullThrowsSTB() {
+        assertThrows(STB.class, () -> looper.findEndOfLoopDelta(null, 0));
+    }
+
+    @Test
+    public void findEndOfLoopDeltaWhenPositionIsNegativeThrowsSTB() {
+        assertThrows(STB.class, () -> looper.findEndOfLoopDelta("[]", -1));
+    }
+
+    @Test
+    public void findEndOfLoopDeltaWhenPositionIsLoopEndThrowsSTB() {
+        assertThrows(STB.class, () -> looper.findEndOfLoopDelta("[]", 1));
+    }
+
+    @Test
+    public void findEndOfLoopDeltaWhenHasNoEndThrowsLoopMismatch() {
+        assertThrows(LoopMismatch.class, () -> looper.findEndOfLoopDelta("[", 0));
+    }
+
+    @Test
+    public void findEndOfLoopDeltaReturnsSameDeltaAsBFLooper() {
+        BFLooper bfLooper = new BFLooper();
+        String code = "+-[[x]>[-]<[[[]]]]+-[]";
+
+        for (int position = 0; position < code.length(); position ++) {
+            if (code.charAt(position) == BFDialect.START_LOOP) {
+                assertThat(looper.findEndOfLoopDelta(code, position)).isEqualTo(bfLooper.findEndOfLoopDelta(code, position));
+            }
+        }
+    }
+
+    @Test
+    public void findStartOfLoopDeltaReturnsSameDeltaAsBFLooper() {
+        BFLooper bfLooper = new BFLooper();
+        String code = "+-[[x]>[-]<[[[]]]]+-[]";
+
+        for (int position = 0; position < code.length(); position ++) {
+            if (code.charAt(position) == BFDialect.END_LOOP) {
+                assertThat(looper.findStartOfLoopDelta(code, position)).isEqualTo(bfLooper.findStartOfLoopDelta(code, position));
+            }
+        }
+    }
+
+    @Test
+    public void findStartOfLoopDeltaWhenHasNoStartThrowsLoopMismatchReportingEveryUnmatchedCommand() {
+        LoopMismatch mismatch = assertThrows(LoopMismatch.class, () -> looper.findStartOfLoopDelta("]+[", 0));
+
+        assertThat(mismatch.unmatchedStarts()).containsExactly(2);
+        assertThat(mismatch.unmatchedEnds()).containsExactly(0);
+    }
+
+    @Test
+    public void indexReturnsLooperThatReturnsSameDeltasAsBFLooper() {
+        BFLooper bfLooper = new BFLooper();
+        String code = "+-[[x]>[-]<[[[]]]]+-[]";
+        Looper indexed = looper.index(code);
+
+        for (int position = 0; position < code.length(); position ++) {
+            if (code.charAt(position) == BFDialect.START_LOOP) {
+                assertThat(indexed.findEndOfLoopDelta(code, position)).isEqualTo(bfLooper.findEndOfLoopDelta(code, position));
+            }
+            if (code.charAt(position) == BFDialect.END_LOOP) {
+                assertThat(indexed.findStartOfLoopDelta(code, position)).isEqualTo(bfLooper.findStartOfLoopDelta(code, position));
+            }
+        }
+    }
+
+    @Test
+    public void indexWhenCodeIsNullThrowsSTB() {
+        assertThrows(STB.class, () -> looper.index(null));
+    }
+
+    @Test
+    public void findEndOfLoopDeltaWhenCodeChangesIndexesNewCode() {
+        assertThat(looper.findEndOfLoopDelta("[]", 0)).isEqualTo(1);
+        assertThat(looper.findEndOfLoopDelta("[x]", 0)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class LimitsTest {
+    private static final String FOREVER = "+[]";
+    private static final String SCAN_FOREVER = "+[[>]+]";
+
+    @Test
+    public void instructionsWhenNegativeThrowsSTB() {
+        assertThrows(STB.class, () -> new Limits().instructions(-1));
+    }
+
+    @Test
+    public void timeWhenUnitIsMissingThrowsSTB() {
+        assertThrows(STB.class, () -> new Limits().time(1, null));
+    }
+
+    @Test
+    public void eachLimitIsSetOnNewInstance() {
+        Limits none = new Limits();
+        CancellationToken token = new CancellationToken();
+
+        Limits limits = none.instructions(10).time(2, TimeUnit.SECONDS).output(3).cancellation(token);
+
+        assertThat(none.maxInstructions()).isEqualTo(Long.MAX_VALUE);
+        assertThat(limits.maxInstructions()).isEqualTo(10);
+        assertThat(limits.maxNanos()).isEqualTo(2000000000L);
+        assertThat(limits.maxOutput()).isEqualTo(3);
+        assertThat(limits.cancellation()).isSameAs(token);
+    }
+
+    @Test
+    public void executeWhenInstructionLimitIsReachedThrowsLimitExceeded() {
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+
+        LimitExceeded thrown = assertThrows(LimitExceeded.class, () -> bf.run(FOREVER, new Limits().instructions(100000)));
+
+        assertThat(thrown.limit()).isEqualTo(LimitExceeded.Limit.INSTRUCTIONS);
+    }
+
+    @Test
+    public void executeWhenScanNeverEndsThrowsLimitExceeded() {
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+
+        LimitExceeded thrown = assertThrows(LimitExceeded.class, () -> bf.run(SCAN_FOREVER, new Limits().instructions(1000000)));
+
+        assertThat(thrown.limit()).isEqualTo(LimitExceeded.Limit.INSTRUCTIONS);
+    }
+
+    @Test
+    public void executeWhenScanNeverEndsAndTimeLimitIsReachedThrowsLimitExceeded() {
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+        long start = System.nanoTime();
+
+        LimitExceeded thrown = assertThrows(LimitExceeded.class, () -> bf.run(SCAN_FOREVER, new Limits().time(50, TimeUnit.MILLISECONDS)));
+
+        assertThat(thrown.limit()).isEqualTo(LimitExceeded.Limit.TIME);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    public void executeWhenScanCountsEachMoveAsInstruction() {
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+
+        bf.run("+>+>+<<[>]", new Limits().instructions(6 + 1 + 3));
+
+        assertThrows(LimitExceeded.class, () -> bf.run("+>+>+<<[>]", new Limits().instructions(6 + 1 + 3 - 1)));
+    }
+
+    @Test
+    public void executeWhenProgramFinishesWithinInstructionLimitRunsToEnd() {
+        Pipe output = new Pipe(true);
+        BF bf = new BF(new NullInput(), output, new Unsigned8BitMemory());
+
+        bf.run("+++[>+<-.]>.", new Limits().instructions(3 + 3 * 7));
+
+        assertThat(new int[] { output.read(), output.read(), output.read(), output.read() }).containsExactly(2, 1, 0, 3);
+        assertThrows(LimitExceeded.class, () -> bf.run("+++[>+<-.]>.", new Limits().instructions(3 + 3 * 7 - 1)));
+    }
+
+    @Test
+    public void executeWhenTimeLimitIsReachedThrowsLimitExceeded() {
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+        long start = System.nanoTime();
+
+        LimitExceeded thrown = assertThrows(LimitExceeded.class, () -> bf.run(FOREVER, new Limits().time(50, TimeUnit.MILLISECONDS)));
+
+        assertThat(thrown.limit()).isEqualTo(LimitExceeded.Limit.TIME);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    public void executeWhenOutputLimitIsReachedWritesUpToLimitAndThrowsLimitExceeded() {
+        Pipe output = new Pipe(true);
+        BF bf = new BF(new NullInput(), output, new Unsigned8BitMemory());
+
+        LimitExceeded thrown = assertThrows(LimitExceeded.class, () -> bf.run("+[.]", new Limits().output(3)));
+
+        assertThat(thrown.limit()).isEqualTo(LimitExceeded.Limit.OUTPUT);
+        assertThat(new int[] { output.read(), output.read(), output.read() }).containsExactly(1, 1, 1);
+        assertThrows(STB.class, output::read);
+    }
+
+    @Test
+    public void executeWhenCancelledFromAnotherThreadThrowsLimitExceeded() throws InterruptedException {
+        CancellationToken token = new CancellationToken();
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+        Thread canceller = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            token.cancel();
+        });
+
+        canceller.start();
+        LimitExceeded thrown = assertThrows(LimitExceeded.class, () -> bf.run(FOREVER, new Limits().cancellation(token)));
+        canceller.join();
+
+        assertThat(thrown.limit()).isEqualTo(LimitExceeded.Limit.CANCELLED);
+    }
+
+    @Test
+    public void executeWhenParentTokenIsCancelledThrowsLimitExceeded() {
+        CancellationToken parent = new CancellationToken();
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+        parent.cancel();
+
+        LimitExceeded thrown = assertThrows(LimitExceeded.class, () -> bf.run("+", new Limits().cancellation(new CancellationToken(parent))));
+
+        assertThat(thrown.limit()).isEqualTo(LimitExceeded.Limit.CANCELLED);
+    }
+
+    @Test
+    public void executeWhenLimitsAreMissingThrowsSTB() {
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+
+        assertThrows(STB.class, () -> bf.execute(bf.compile("+"), null));
+    }
+
+    @Test
+    public void executeInContextWhenInstructionLimitIsReachedThrowsLimitExceeded() {
+        ExecutionContext context = new ExecutionContext(new NullInput(), new NullOutput());
+
+        assertThrows(LimitExceeded.class, () -> context.execute(new BF().compile(FOREVER), new Limits().instructions(10)));
+    }
+
+    @Test
+    public void batchRunnerWhenOneRunReachesLimitFailsOnlyThatRun() {
+        STB thrown = assertThrows(STB.class, () -> BatchRunner.of(",[.,]").limits(new Limits().output(3)).runStrings(Arrays.asList("ab\0", "abcd\0", "c\0")));
+
+        assertThat(thrown.getMessage()).startsWith("Input 1 failed");
+        assertThat(thrown.getCause()).isInstanceOf(LimitExceeded.class);
+    }
+
+    @Test
+    public void pipelineWhenStageReachesLimitStopsBusyStages() {
+        STB thrown = assertThrows(STB.class, () -> Pipeline.of(FOREVER, "+[.]", ",[.,]")
+                .limits(new Limits().output(10))
+                .output(new NullOutput())
+                .run());
+
+        assertThat(thrown.getMessage()).startsWith("Stage 1 failed");
+        assertThat(thrown.getCause()).isInstanceOf(LimitExceeded.class);
+    }
+
+    @Test
+    public void pipelineWhenStageReachesLimitStopsStageStuckInScan() {
+        STB thrown = assertThrows(STB.class, () -> Pipeline.of(SCAN_FOREVER, "+[.]", ",[.,]")
+                .limits(new Limits().output(10))
+                .output(new NullOutput())
+                .run());
+
+        assertThat(thrown.getMessage()).startsWith("Stage 1 failed");
+        assertThat(thrown.getCause()).isInstanceOf(LimitExceeded.class);
+    }
+
+    @Test
+    public void pipelineWhenTokenIsCancelledStopsEveryStage() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        assertThrows(STB.class, () -> Pipeline.of(FOREVER, FOREVER).limits(new Limits().cancellation(token)).output(new NullOutput()).run());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class LoopIndexTest {
+    @Test
+    public void ofWhenCodeIsNullThrowsSTB() {
+        assertThrows(STB.class, () -> LoopIndex.of(null));
+    }
+
+    @Test
+    public void matchOfReturnsPositionOfMatchingCommandForNestedLoops() {
+        LoopIndex index = LoopIndex.of("+[x>[-]<[]]");
+
+        assertThat(index.matchOf(1)).isEqualTo(10);
+        assertThat(index.matchOf(10)).isEqualTo(1);
+        assertThat(index.matchOf(4)).isEqualTo(6);
+        assertThat(index.matchOf(6)).isEqualTo(4);
+        assertThat(index.matchOf(8)).isEqualTo(9);
+        assertThat(index.matchOf(9)).isEqualTo(8);
+    }
+
+    @Test
+    public void matchOfWhenPositionIsNotLoopCommandThrowsSTB() {
+        LoopIndex index = LoopIndex.of("+[]");
+
+        assertThrows(STB.class, () -> index.matchOf(0));
+        assertThrows(STB.class, () -> index.matchOf(-1));
+        assertThrows(STB.class, () -> index.matchOf(3));
+    }
+
+    @Test
+    public void isBalancedWhenEveryLoopCommandHasMatchReturnsTrue() {
+        assertThat(LoopIndex.of("").isBalanced()).isTrue();
+        assertThat(LoopIndex.of("[[]][]").isBalanced()).isTrue();
+    }
+
+    @Test
+    public void validateWhenLoopsAreUnbalancedReportsEveryUnmatchedCommand() {
+        LoopIndex index = LoopIndex.of("]+[[-]]][[");
+
+        assertThat(index.isBalanced()).isFalse();
+        LoopMismatch mismatch = assertThrows(LoopMismatch.class, index::validate);
+        assertThat(mismatch.unmatchedStarts()).containsExactly(8, 9);
+        assertThat(mismatch.unmatchedEnds()).containsExactly(0, 7);
+        assertThat(mismatch.getMessage()).isEqualTo("Loop has no end at positions 8, 9; Loop has no start at positions 0, 7");
+    }
+
+    @Test
+    public void matchOfWhenCommandIsUnmatchedReportsEveryUnmatchedCommand() {
+        LoopIndex index = LoopIndex.of("[]][");
+
+        assertThat(index.matchOf(0)).isEqualTo(1);
+        LoopMismatch mismatch = assertThrows(LoopMismatch.class, () -> index.matchOf(2));
+        assertThat(mismatch.unmatchedStarts()).containsExactly(3);
+        assertThat(mismatch.unmatchedEnds()).containsExactly(2);
+    }
+
+    @Test
+    public void validateWhenManyLoopsAreUnmatchedListsFirstPositionsOnly() {
+        LoopMismatch mismatch = assertThrows(LoopMismatch.class, () -> LoopIndex.of("[[[[[[[[[[[[").validate());
+
+        assertThat(mismatch.unmatchedStarts()).hasSize(12);
+        assertThat(mismatch.getMessage()).isEqualTo("Loop has no end at positions 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 and 2 more");
+    }
+}
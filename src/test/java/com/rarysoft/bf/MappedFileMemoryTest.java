@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class MappedFileMemoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void constructorWhenAddressRangeIsEmptyThrowsSTB() throws IOException {
+        String filename = folder.newFile().getPath();
+
+        assertThrows(STB.class, () -> new MappedFileMemory(filename, 1, 0, 0x00, 0xFF));
+    }
+
+    @Test
+    public void constructorWhenFilenameIsNullThrowsSTB() {
+        STB thrown = assertThrows(STB.class, () -> new MappedFileMemory(null, 0, 99, 0x00, 0xFF));
+
+        assertThat(thrown.getMessage()).isEqualTo("Filename is missing");
+    }
+
+    @Test
+    public void constructorWhenFileCanNotBeOpenedThrowsSTBWithCause() throws IOException {
+        String directory = folder.newFolder().getPath();
+
+        STB thrown = assertThrows(STB.class, () -> new MappedFileMemory(directory, 0, 99, 0x00, 0xFF));
+
+        assertThat(thrown.getCause()).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void constructorExtendsFileToHoldEveryCell() throws IOException {
+        File file = folder.newFile();
+
+        try (MappedFileMemory memory = new MappedFileMemory(file.getPath(), 0, 29999, 0x0000, 0xFFFF)) {
+            assertThat(memory.read(29999)).isEqualTo(0);
+        }
+
+        assertThat(file.length()).isEqualTo(60000);
+    }
+
+    @Test
+    public void readAndWriteWhenAddressIsOutOfRangeThrowsSTB() throws IOException {
+        try (MappedFileMemory memory = new MappedFileMemory(folder.newFile().getPath(), 0, 99, 0x00, 0xFF)) {
+            assertThrows(STB.class, () -> memory.read(-1));
+            assertThrows(STB.class, () -> memory.read(100));
+            assertThrows(STB.class, () -> memory.write(100, 0));
+        }
+    }
+
+    @Test
+    public void writeWhenValueIsOutOfRangeThrowsSTB() throws IOException {
+        try (MappedFileMemory memory = new MappedFileMemory(folder.newFile().getPath(), 0, 99, -0x80, 0x7F)) {
+            assertThrows(STB.class, () -> memory.write(0, -0x81));
+            assertThrows(STB.class, () -> memory.write(0, 0x80));
+        }
+    }
+
+    @Test
+    public void writeStoresSignedAndUnsignedValuesOfEachWidthForSubsequentReads() throws IOException {
+        int[][] ranges = {
+                { 0x00, 0xFF }, { -0x80, 0x7F }, { 0x0000, 0xFFFF }, { -0x8000, 0x7FFF }, { Integer.MIN_VALUE, Integer.MAX_VALUE }
+        };
+        for (int[] range : ranges) {
+            try (MappedFileMemory memory = new MappedFileMemory(folder.newFile().getPath(), -10, 10, range[0], range[1])) {
+                memory.write(-10, range[0]);
+                memory.write(10, range[1]);
+
+                assertThat(memory.read(-10)).isEqualTo(range[0]);
+                assertThat(memory.read(0)).isEqualTo(0);
+                assertThat(memory.read(10)).isEqualTo(range[1]);
+            }
+        }
+    }
+
+    @Test
+    public void constructorWhenFileAlreadyExistsUsesExistingCellValues() throws IOException {
+        String filename = folder.newFile().getPath();
+        try (MappedFileMemory memory = new MappedFileMemory(filename, 0, 29999, 0x00, 0xFF)) {
+            memory.write(1234, 42);
+        }
+
+        try (MappedFileMemory memory = new MappedFileMemory(filename, 0, 29999, 0x00, 0xFF)) {
+            assertThat(memory.read(1234)).isEqualTo(42);
+        }
+    }
+}
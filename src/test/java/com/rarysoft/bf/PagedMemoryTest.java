@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class PagedMemoryTest {
+    private final PagedMemory memory = new PagedMemory(Integer.MIN_VALUE, Integer.MAX_VALUE, 0x00, 0xFF) {};
+
+    @Test
+    public void constructorWhenPageSizeIsNotPowerOfTwoThrowsSTB() {
+        assertThrows(STB.class, () -> new PagedMemory(0, 0xFFFF, 0x00, 0xFF, 1000) {});
+    }
+
+    @Test
+    public void constructorWhenPageSizeIsTooSmallThrowsSTB() {
+        assertThrows(STB.class, () -> new PagedMemory(0, 0xFFFF, 0x00, 0xFF, 8) {});
+    }
+
+    @Test
+    public void constructorWhenAddressRangeIsEmptyThrowsSTB() {
+        assertThrows(STB.class, () -> new PagedMemory(1, 0, 0x00, 0xFF) {});
+    }
+
+    @Test
+    public void readWhenAddressIsOutOfRangeThrowsSTB() {
+        PagedMemory memory = new PagedMemory(0, 0xFFFF, 0x00, 0xFF) {};
+
+        assertThrows(STB.class, () -> memory.read(-1));
+        assertThrows(STB.class, () -> memory.read(0x10000));
+    }
+
+    @Test
+    public void writeWhenValueIsOutOfRangeThrowsSTB() {
+        assertThrows(STB.class, () -> memory.write(0, -1));
+        assertThrows(STB.class, () -> memory.write(0, 256));
+    }
+
+    @Test
+    public void readWhenUninitializedReturnsZeroWithoutAllocatingPage() {
+        assertThat(memory.read(Integer.MIN_VALUE)).isEqualTo(0);
+        assertThat(memory.read(0)).isEqualTo(0);
+        assertThat(memory.read(Integer.MAX_VALUE)).isEqualTo(0);
+        assertThat(memory.pageCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void writeStoresValuesAtWidelyScatteredAddressesForSubsequentReads() {
+        memory.write(Integer.MIN_VALUE, 1);
+        memory.write(-1, 2);
+        memory.write(0, 3);
+        memory.write(1_000_000_000, 4);
+        memory.write(Integer.MAX_VALUE, 5);
+
+        assertThat(memory.read(Integer.MIN_VALUE)).isEqualTo(1);
+        assertThat(memory.read(-1)).isEqualTo(2);
+        assertThat(memory.read(0)).isEqualTo(3);
+        assertThat(memory.read(1_000_000_000)).isEqualTo(4);
+        assertThat(memory.read(Integer.MAX_VALUE)).isEqualTo(5);
+        assertThat(memory.read(1)).isEqualTo(0);
+        assertThat(memory.pageCount()).isEqualTo(5);
+    }
+
+    @Test
+    public void writeWithinSamePageAllocatesOnePage() {
+        for (int address = 0; address < PagedMemory.DEFAULT_PAGE_SIZE; address ++) {
+            memory.write(address, address & 0xFF);
+        }
+
+        assertThat(memory.pageCount()).isEqualTo(1);
+        assertThat(memory.read(PagedMemory.DEFAULT_PAGE_SIZE - 1)).isEqualTo((PagedMemory.DEFAULT_PAGE_SIZE - 1) & 0xFF);
+    }
+
+    @Test
+    public void writeAfterReadOfUnallocatedPageStoresValue() {
+        memory.read(5000);
+        memory.write(5000, 42);
+        memory.read(0);
+
+        assertThat(memory.read(5000)).isEqualTo(42);
+    }
+}
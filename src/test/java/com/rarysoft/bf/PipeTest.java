@@ -93,4 +93,55 @@ public class PipeTest {
 
         assertThat(result).isEqualTo(4);
     }
+
+    @Test
+    public void readReturnsValuesInOrderWrittenWhenBufferWrapsAndGrows() {
+        Pipe pipe = new Pipe(true);
+        int written = 0;
+        int read = 0;
+
+        for (int round = 0; round < 100; round ++) {
+            for (int count = 0; count < 7; count ++) {
+                pipe.write(written ++);
+            }
+            for (int count = 0; count < 5; count ++) {
+                assertThat(pipe.read()).isEqualTo(read ++);
+            }
+        }
+        while (read < written) {
+            assertThat(pipe.read()).isEqualTo(read ++);
+        }
+
+        assertThrows(STB.class, pipe::read);
+    }
+
+    @Test
+    public void constructorWhenCapacityIsNotPositiveThrowsSTB() {
+        assertThrows(STB.class, () -> new Pipe(false, 0));
+    }
+
+    @Test
+    public void writeWhenBoundedPipeIsFullThrowsSTB() {
+        Pipe pipe = new Pipe(true, 20);
+        for (int value = 0; value < 20; value ++) {
+            pipe.write(value);
+        }
+
+        assertThrows(STB.class, () -> pipe.write(20));
+    }
+
+    @Test
+    public void writeWhenBoundedPipeHasBeenReadFromAcceptsMoreValues() {
+        Pipe pipe = new Pipe(true, 3);
+        pipe.write('A');
+        pipe.write('B');
+        pipe.write('C');
+        pipe.read();
+
+        pipe.write('D');
+
+        assertThat(pipe.read()).isEqualTo('B');
+        assertThat(pipe.read()).isEqualTo('C');
+        assertThat(pipe.read()).isEqualTo('D');
+    }
 }
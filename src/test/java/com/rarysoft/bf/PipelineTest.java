@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class PipelineTest {
+    private static final String WRITE_ABC = "++++++++[>++++++++<-]>+.+.+.";
+    private static final String ADD_ONE = ",[+.,]";
+
+    @Test
+    public void ofWhenNoCodeProvidedThrowsSTB() {
+        assertThrows(STB.class, Pipeline::of);
+    }
+
+    @Test
+    public void ofWhenAnyCodeIsNullThrowsSTB() {
+        assertThrows(STB.class, () -> Pipeline.of(WRITE_ABC, null));
+    }
+
+    @Test
+    public void runPassesOutputOfEachStageToNextStage() {
+        Pipe result = new Pipe(true);
+
+        Pipeline.of(WRITE_ABC, ADD_ONE, ADD_ONE).output(result).run();
+
+        assertThat(new int[] { result.read(), result.read(), result.read() }).containsExactly('C', 'D', 'E');
+        assertThrows(STB.class, result::read);
+    }
+
+    @Test
+    public void runReturnsStatisticsOfEachStage() {
+        List<StageStatistics> statistics = Pipeline.of(WRITE_ABC, ADD_ONE).output(new NullOutput()).run();
+
+        assertThat(statistics).hasSize(2);
+        assertThat(statistics.get(0).stage()).isEqualTo(0);
+        assertThat(statistics.get(0).valuesRead()).isEqualTo(0);
+        assertThat(statistics.get(0).valuesWritten()).isEqualTo(3);
+        assertThat(statistics.get(1).stage()).isEqualTo(1);
+        assertThat(statistics.get(1).valuesRead()).isEqualTo(4);
+        assertThat(statistics.get(1).valuesWritten()).isEqualTo(3);
+    }
+
+    @Test
+    public void runReadsInputInFirstStage() {
+        Pipe result = new Pipe(true);
+
+        Pipeline.of(",+.", ADD_ONE).input(new StringInput("A", true)).output(result).run();
+
+        assertThat(result.read()).isEqualTo('C');
+    }
+
+    @Test
+    public void runWhenCapacityIsSmallPassesEveryValue() {
+        Pipe result = new Pipe(true);
+        String writeThousand = "+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++" +
+                ">++++++++++[>++++++++++[>++++++++++[<<<.>>>-]<-]<-]";
+
+        List<StageStatistics> statistics = Pipeline.of(writeThousand, ",[.,]").capacity(1).output(result).run();
+
+        assertThat(statistics.get(1).valuesWritten()).isEqualTo(1000);
+        for (int count = 0; count < 1000; count ++) {
+            assertThat(result.read()).isEqualTo('A');
+        }
+    }
+
+    @Test
+    public void runWhenCodeIsInvalidThrowsSTBWithoutRunningAnyStage() {
+        Pipe result = new Pipe();
+
+        assertThrows(STB.class, () -> Pipeline.of(WRITE_ABC, ",[.,]]").output(result).run());
+        assertThat(result.read()).isEqualTo(0);
+    }
+
+    @Test
+    public void runWhenStageFailsCancelsOtherStagesAndThrowsSTB() {
+        Output broken = value -> {
+            throw new STB("Broken");
+        };
+
+        STB thrown = assertThrows(STB.class, () -> Pipeline.of("+[.]", ",[.,]").capacity(4).output(broken).run());
+
+        assertThat(thrown.getMessage()).contains("Broken");
+        assertThat(thrown.getCause()).hasMessage("Broken");
+    }
+
+    @Test
+    public void runWhenStageFailsDoesNotInterruptOtherStagesWhileTheyUseTheirOutput() {
+        CountDownLatch writing = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Input broken = () -> {
+            try {
+                writing.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new STB("Broken");
+        };
+        Output slow = value -> {
+            if (writing.getCount() == 0) {
+                return;
+            }
+            writing.countDown();
+            try {
+                Thread.sleep(200);
+            }
+            catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        };
+
+        STB thrown = assertThrows(STB.class, () -> Pipeline.of(",", "+[.]").input(broken).output(slow).run());
+
+        assertThat(thrown.getCause()).hasMessage("Broken");
+        assertThat(interrupted.get()).isFalse();
+    }
+
+    @Test
+    public void runWhenLimitsAreSetStopsBusyStageWhenAnotherStageFails() {
+        Input broken = () -> {
+            throw new STB("Broken");
+        };
+
+        STB thrown = assertThrows(STB.class, () -> Pipeline.of(",", "+[]").input(broken).limits(new Limits()).output(new NullOutput()).run());
+
+        assertThat(thrown.getCause()).hasMessage("Broken");
+    }
+
+    @Test
+    public void runCreatesEachStageThreadWithThreadFactory() {
+        AtomicInteger threads = new AtomicInteger();
+
+        Pipeline.of(WRITE_ABC, ADD_ONE, ADD_ONE).output(new NullOutput()).threads(runnable -> {
+            threads.incrementAndGet();
+            return new Thread(runnable);
+        }).run();
+
+        assertThat(threads.get()).isEqualTo(3);
+    }
+}
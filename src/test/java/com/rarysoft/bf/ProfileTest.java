@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class ProfileTest {
+    @Test
+    public void profileWhenProgramIsMissingThrowsSTB() {
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+
+        assertThrows(STB.class, () -> bf.profile(null));
+    }
+
+    @Test
+    public void profileCountsEachOpcodeAndPosition() {
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+
+        Profile profile = bf.profile(bf.compile("+++[>++<.-]>."));
+
+        assertThat(profile.countOf(Opcode.ADD)).isEqualTo(4);
+        assertThat(profile.countOf(Opcode.START_LOOP)).isEqualTo(3);
+        assertThat(profile.countOf(Opcode.END_LOOP)).isEqualTo(3);
+        assertThat(profile.countOf(Opcode.OUTPUT)).isEqualTo(4);
+        assertThat(profile.countAtPosition(0)).isEqualTo(1);
+        assertThat(profile.countAtPosition(1)).isEqualTo(0);
+        assertThat(profile.countAtPosition(5)).isEqualTo(3);
+        assertThat(profile.instructions()).isEqualTo(1 + 3 + 3 * 6 + 2);
+    }
+
+    @Test
+    public void profileCountsEntriesAndIterationsOfEachLoop() {
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+
+        Profile profile = bf.profile(bf.compile("+++[>++++[>+<.-]<-]>>[-<<+>>.]"));
+
+        List<LoopProfile> loops = profile.loops();
+        assertThat(loops).hasSize(3);
+        assertThat(loops.get(0).startPosition()).isEqualTo(3);
+        assertThat(loops.get(0).endPosition()).isEqualTo(18);
+        assertThat(loops.get(0).entries()).isEqualTo(1);
+        assertThat(loops.get(0).iterations()).isEqualTo(3);
+        assertThat(loops.get(1).entries()).isEqualTo(3);
+        assertThat(loops.get(1).iterations()).isEqualTo(12);
+        assertThat(loops.get(2).entries()).isEqualTo(1);
+        assertThat(loops.get(2).iterations()).isEqualTo(12);
+        assertThat(loops.get(0).elapsedNanos()).isGreaterThanOrEqualTo(loops.get(1).elapsedNanos());
+    }
+
+    @Test
+    public void profileCountsLoopThatIsSkippedAsEnteredWithoutIterations() {
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+
+        Profile profile = bf.profile(bf.compile("[>.<]"));
+
+        assertThat(profile.loops().get(0).entries()).isEqualTo(1);
+        assertThat(profile.loops().get(0).iterations()).isEqualTo(0);
+    }
+
+    @Test
+    public void hottestLoopsReturnsLoopsWithMostIterationsFirst() {
+        BF bf = new BF(new NullInput(), new NullOutput(), new Unsigned8BitMemory());
+
+        Profile profile = bf.profile(bf.compile("++[>+++++[>.<-]<-]+++[.-]"));
+
+        List<LoopProfile> hottest = profile.hottestLoops(2);
+        assertThat(hottest).extracting(LoopProfile::iterations).containsExactly(10L, 3L);
+        assertThat(hottest.get(0).startPosition()).isEqualTo(9);
+        assertThat(profile.hottestLoops(10)).hasSize(3);
+    }
+
+    @Test
+    public void profileRunsProgramInSameWayAsExecute() {
+        Pipe profiled = new Pipe(true);
+        Pipe executed = new Pipe(true);
+        String code = "++++++++[>++++++++<-]>+.+.[-].";
+        BF profiling = new BF(new NullInput(), profiled, new Unsigned8BitMemory());
+        BF executing = new BF(new NullInput(), executed, new Unsigned8BitMemory());
+
+        profiling.profile(profiling.compile(code));
+        executing.execute(executing.compile(code));
+
+        assertThat(new int[] { profiled.read(), profiled.read(), profiled.read() })
+                .containsExactly(executed.read(), executed.read(), executed.read());
+    }
+
+    @Test
+    public void profileInExecutionContextUsesContextMemory() {
+        ExecutionContext context = new ExecutionContext(new NullInput(), new NullOutput());
+
+        Profile profile = context.profile(new BF().compile("+++[>+<.-]"));
+
+        assertThat(profile.loops().get(0).iterations()).isEqualTo(3);
+        assertThat(context.memory().read(1)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class ProgramCacheTest {
+    @Test
+    public void constructorWhenCapacityIsNotPositiveThrowsSTB() {
+        assertThrows(STB.class, () -> new ProgramCache(0));
+    }
+
+    @Test
+    public void constructorWhenCompilerIsNullThrowsSTB() {
+        assertThrows(STB.class, () -> new ProgramCache(1, null));
+    }
+
+    @Test
+    public void compileWhenCodeIsNullThrowsSTB() {
+        assertThrows(STB.class, () -> new ProgramCache(1).compile(null));
+    }
+
+    @Test
+    public void compileWhenCodeIsCachedReturnsSameProgramWithoutCompilingAgain() {
+        BFCompiler compiler = spy(new BFCompiler(new IndexedLooper()));
+        ProgramCache cache = new ProgramCache(10, compiler);
+
+        Program first = cache.compile("+.");
+        Program second = cache.compile(new String("+."));
+
+        assertThat(second).isSameAs(first);
+        verify(compiler, times(1)).compile("+.");
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void compileWhenCacheIsFullEvictsLeastRecentlyUsedProgram() {
+        ProgramCache cache = new ProgramCache(2);
+        Program first = cache.compile("+");
+        Program second = cache.compile("-");
+        cache.compile("+");
+
+        cache.compile(">");
+
+        assertThat(cache.evictions()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.compile("+")).isSameAs(first);
+        assertThat(cache.compile("-")).isNotSameAs(second);
+    }
+
+    @Test
+    public void compileWhenCacheIsSegmentedKeepsNoMoreThanCapacity() {
+        ProgramCache cache = new ProgramCache(1000);
+
+        for (int code = 0; code < 5000; code ++) {
+            cache.compile(Integer.toString(code));
+        }
+
+        assertThat(cache.segments()).isEqualTo(8);
+        assertThat(cache.size()).isLessThanOrEqualTo(1000).isGreaterThan(900);
+        assertThat(cache.misses()).isEqualTo(5000);
+        assertThat(cache.evictions()).isEqualTo(5000 - cache.size());
+    }
+
+    @Test
+    public void compileWhenCapacityIsSmallUsesSingleSegment() {
+        assertThat(new ProgramCache(127).segments()).isEqualTo(1);
+        assertThat(new ProgramCache(128).segments()).isEqualTo(2);
+        assertThat(new ProgramCache(1000000).segments()).isEqualTo(16);
+    }
+
+    @Test
+    public void compileOnManyThreadsCountsEveryLookup() throws Exception {
+        ProgramCache cache = new ProgramCache(1000);
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread ++) {
+                results.add(threads.submit(() -> {
+                    for (int lookup = 0; lookup < 10000; lookup ++) {
+                        cache.compile("+[->+<]" + lookup % 100);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+        finally {
+            threads.shutdown();
+        }
+
+        assertThat(cache.hits() + cache.misses()).isEqualTo(40000);
+        assertThat(cache.size()).isEqualTo(100);
+    }
+
+    @Test
+    public void compileWhenCodeIsInvalidCachesNothing() {
+        ProgramCache cache = new ProgramCache(2);
+
+        assertThrows(LoopMismatch.class, () -> cache.compile("[+"));
+
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    public void compileReturnsProgramThatRunsLikeCompiledCode() {
+        ProgramCache cache = new ProgramCache(2);
+        Output output = mock(Output.class);
+
+        new ExecutionContext(new NullInput(), output, new Unsigned8BitMemory()).execute(cache.compile("+++."));
+
+        verify(output).write(3);
+    }
+
+    @Test
+    public void clearDropsProgramsButKeepsCounts() {
+        ProgramCache cache = new ProgramCache(2);
+        cache.compile("+");
+        cache.compile("+");
+
+        cache.clear();
+
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.toString()).isEqualTo("Cache: 0 of 2 programs, 1 hits, 1 misses, 0 evictions");
+    }
+}
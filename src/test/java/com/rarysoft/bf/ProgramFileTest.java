@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+public class ProgramFileTest {
+    private static final String CODE = "++++++++[>++++[>++>+++<<-]>[>]<<-]>>.>+.[-]<<[.>]";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void loadWhenProgramWasSavedReturnsSameInstructions() throws IOException {
+        Program program = new BFCompiler(new IndexedLooper(), new BFOptimizer()).compile(CODE);
+        Path path = folder.newFile("program.bfp").toPath();
+
+        program.save(path);
+        Program loaded = Program.load(path);
+
+        assertThat(loaded.size()).isEqualTo(program.size());
+        for (int index = 0; index < program.size(); index ++) {
+            assertThat(loaded.opcode(index)).isEqualTo(program.opcode(index));
+            assertThat(loaded.operand(index)).isEqualTo(program.operand(index));
+            assertThat(loaded.position(index)).isEqualTo(program.position(index));
+            if (program.opcode(index) == Opcode.MULTIPLY) {
+                assertThat(loaded.offsets(index)).containsExactly(program.offsets(index));
+                assertThat(loaded.factors(index)).containsExactly(program.factors(index));
+            }
+        }
+    }
+
+    @Test
+    public void loadWhenProgramWasSavedRunsWithSameOutput() throws IOException {
+        Program program = new BFCompiler(new IndexedLooper(), new BFOptimizer()).compile(CODE);
+        Path path = folder.newFile("program.bfp").toPath();
+        program.save(path);
+        StringBuilder expected = new StringBuilder();
+        StringBuilder actual = new StringBuilder();
+
+        new ExecutionContext(new NullInput(), value -> expected.append((char) value), new Unsigned8BitMemory()).execute(program);
+        new ExecutionContext(new NullInput(), value -> actual.append((char) value), new Unsigned8BitMemory()).execute(Program.load(path));
+
+        assertThat(actual.toString()).isEqualTo(expected.toString());
+    }
+
+    @Test
+    public void loadWhenPathIsNullThrowsSTB() {
+        assertThrows(STB.class, () -> Program.load(null));
+    }
+
+    @Test
+    public void loadWhenFileIsMissingThrowsSTB() {
+        STB stb = assertThrows(STB.class, () -> Program.load(folder.getRoot().toPath().resolve("missing.bfp")));
+
+        assertThat(stb.getMessage()).isEqualTo("File not found");
+    }
+
+    @Test
+    public void loadWhenFileIsDamagedThrowsSTB() throws IOException {
+        Path path = folder.newFile("program.bfp").toPath();
+        new BFCompiler(new IndexedLooper()).compile(CODE).save(path);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[30] ^= 1;
+        Files.write(path, bytes);
+
+        STB stb = assertThrows(STB.class, () -> Program.load(path));
+
+        assertThat(stb.getMessage()).isEqualTo("Program file is corrupt");
+    }
+
+    @Test
+    public void loadWhenFileIsTooShortThrowsSTB() throws IOException {
+        Path path = folder.newFile("program.bfp").toPath();
+        Files.write(path, new byte[] { 0x42, 0x46 });
+
+        STB stb = assertThrows(STB.class, () -> Program.load(path));
+
+        assertThat(stb.getMessage()).isEqualTo("Program file is invalid");
+    }
+
+    @Test
+    public void loadWhenVersionIsUnknownThrowsSTB() throws IOException {
+        Path path = folder.newFile("program.bfp").toPath();
+        Files.write(path, programFile(0x42465047, 2, 0, new byte[0]));
+
+        STB stb = assertThrows(STB.class, () -> Program.load(path));
+
+        assertThat(stb.getMessage()).isEqualTo("Program file version is not supported");
+    }
+
+    @Test
+    public void loadWhenFileIsNotProgramFileThrowsSTB() throws IOException {
+        Path path = folder.newFile("program.bfp").toPath();
+        Files.write(path, programFile(0x12345678, 1, 0, new byte[0]));
+
+        STB stb = assertThrows(STB.class, () -> Program.load(path));
+
+        assertThat(stb.getMessage()).isEqualTo("Program file is invalid");
+    }
+
+    @Test
+    public void loadWhenLoopTargetIsOutOfRangeThrowsSTB() throws IOException {
+        Path path = folder.newFile("program.bfp").toPath();
+        Files.write(path, programFile(0x42465047, 1, 1, ByteBuffer.allocate(9).put((byte) Opcode.START_LOOP).putInt(5).putInt(0).array()));
+
+        STB stb = assertThrows(STB.class, () -> Program.load(path));
+
+        assertThat(stb.getMessage()).isEqualTo("Loop target out of range");
+    }
+
+    private byte[] programFile(int magic, int version, int size, byte[] instructions) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(magic);
+        data.writeInt(version);
+        data.writeInt(Opcode.COUNT);
+        data.writeInt(size);
+        data.writeInt(0);
+        data.write(instructions);
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        data.writeInt((int) crc.getValue());
+        return bytes.toByteArray();
+    }
+}
@@ -25,6 +25,8 @@ package com.rarysoft.bf;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertThrows;
 
@@ -119,4 +121,28 @@ public class StringInputTest {
 
         assertThrows(STB.class, stringInput::read);
     }
+
+    @Test
+    public void readBlockReturnsHeaderThenCharactersUntilEndOfString() {
+        StringInput stringInput = new StringInput("abc");
+        int[] values = new int[8];
+
+        int count = stringInput.read(values, 1, 6);
+
+        assertThat(count).isEqualTo(4);
+        assertThat(values).containsExactly(0, 3, 'a', 'b', 'c', 0, 0, 0);
+        assertThat(stringInput.read(values, 0, 8)).isEqualTo(0);
+    }
+
+    @Test
+    public void readBufferReadsEveryRemainingCharacter() {
+        StringInput stringInput = new StringInput("abc", true);
+        ByteBuffer values = ByteBuffer.allocate(2);
+
+        int count = stringInput.read(values);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(values.array()).containsExactly('a', 'b');
+        assertThat(stringInput.read()).isEqualTo('c');
+    }
 }
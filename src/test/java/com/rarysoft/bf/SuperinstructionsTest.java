@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Rarysoft Enterprises
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.rarysoft.bf;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SuperinstructionsTest {
+    private static final int SLOT = Superinstructions.SLOT_SIZE;
+
+    @Test
+    public void translateFusesMoveAddMove() {
+        int[] code = Superinstructions.translate(optimized(">>+++<<"));
+
+        assertThat(code).containsExactly(Superinstructions.MOVE_ADD_MOVE, 2, 3, -2);
+    }
+
+    @Test
+    public void translateFusesPairsAndLeavesSingleInstructions() {
+        int[] code = Superinstructions.translate(optimized("+++.>.,"));
+
+        assertThat(code).containsExactly(
+                Superinstructions.ADD_OUTPUT, 3, 0, 0,
+                Superinstructions.MOVE_OUTPUT, 1, 0, 0,
+                Superinstructions.INPUT, 0, 0, 0
+        );
+    }
+
+    @Test
+    public void translateJumpsPastMatchingLoopInstructionsAndFusesMoveBeforeLoopEnd() {
+        int[] code = Superinstructions.translate(optimized("+[.>]+"));
+
+        assertThat(code).containsExactly(
+                Superinstructions.ADD, 1, 0, 0,
+                Superinstructions.START_LOOP, 4 * SLOT, 0, 0,
+                Superinstructions.OUTPUT, 0, 0, 0,
+                Superinstructions.MOVE_END_LOOP, 1, 2 * SLOT, 0,
+                Superinstructions.ADD, 1, 0, 0
+        );
+    }
+
+    @Test
+    public void translateNeverFusesInstructionThatIsJumpedTo() {
+        int[] opcodes = { Opcode.START_LOOP, Opcode.MOVE, Opcode.ADD, Opcode.END_LOOP };
+        int[] operands = { 2, 1, 5, 0 };
+
+        int[] code = Superinstructions.translate(new Program(opcodes, operands, new int[4]));
+
+        assertThat(code).containsExactly(
+                Superinstructions.START_LOOP, 2 * SLOT, 0, 0,
+                Superinstructions.MOVE, 1, 0, 0,
+                Superinstructions.ADD, 5, 0, 0,
+                Superinstructions.END_LOOP, SLOT, 0, 0
+        );
+    }
+
+    @Test
+    public void interpretWhenLoopJumpsToInstructionThatIsNotLoopRunsThatInstruction() {
+        int[] opcodes = { Opcode.START_LOOP, Opcode.ADD, Opcode.OUTPUT, Opcode.END_LOOP };
+        int[] operands = { 2, 7, 0, 0 };
+        Program program = new Program(opcodes, operands, new int[4]);
+
+        assertThat(fast(program)).isEqualTo(reference(program)).containsExactly(0);
+    }
+
+    @Test
+    public void interpretProducesSameOutputAsExecutorForRandomPrograms() {
+        Random random = new Random(25);
+        BFCompiler compiler = new BFCompiler(new IndexedLooper(), new BFOptimizer());
+        int compared = 0;
+        for (int attempt = 0; attempt < 500; attempt ++) {
+            Program program = compiler.compile(randomCode(random, 3));
+            List<Integer> expected;
+            try {
+                expected = reference(program);
+            }
+            catch (LimitExceeded e) {
+                continue;
+            }
+            assertThat(fast(program)).isEqualTo(expected);
+            compared ++;
+        }
+        assertThat(compared).isGreaterThan(100);
+    }
+
+    private Program optimized(String code) {
+        return new BFCompiler(new IndexedLooper(), new BFOptimizer()).compile(code);
+    }
+
+    private List<Integer> fast(Program program) {
+        List<Integer> values = new ArrayList<>();
+        new ExecutionContext(new NullInput(), values::add, new ByteArrayMemory(0, 15, 0, 255) {}).execute(program);
+        return values;
+    }
+
+    private List<Integer> reference(Program program) {
+        List<Integer> values = new ArrayList<>();
+        Memory memory = new ByteArrayMemory(0, 15, 0, 255) {};
+        new BF(new BFExecutor(new NullInput(), values::add, memory, 0), new IndexedLooper()).execute(program, new Limits().instructions(20000));
+        return values;
+    }
+
+    private String randomCode(Random random, int depth) {
+        String commands = "+++--->>><<.";
+        StringBuilder code = new StringBuilder();
+        int length = 1 + random.nextInt(12);
+        for (int command = 0; command < length; command ++) {
+            if (depth > 0 && random.nextInt(6) == 0) {
+                code.append('[').append(randomCode(random, depth - 1)).append(']');
+            }
+            else {
+                code.append(commands.charAt(random.nextInt(commands.length())));
+            }
+        }
+        return code.toString();
+    }
+}